@@ -0,0 +1,25 @@
+package com.i2i.project_management.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMembershipResultDto {
+
+    private UUID projectId;
+
+    private int changed;
+
+    private int unchanged;
+
+    private int notFound;
+
+    private List<MembershipOutcomeDto> outcomes;
+
+}
@@ -0,0 +1,19 @@
+package com.i2i.project_management.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRoleAssignmentDto {
+
+    private List<UUID> userIds;
+
+    private List<UUID> roleIds;
+
+}
@@ -0,0 +1,25 @@
+package com.i2i.project_management.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRoleResultDto {
+
+    private List<UUID> roleIds;
+
+    private int affectedUsers;
+
+    private int unchangedUsers;
+
+    private int notFound;
+
+    private int assignmentsChanged;
+
+}
@@ -0,0 +1,27 @@
+package com.i2i.project_management.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a delta sync. Clients upsert {@code updated}, drop
+ * {@code deleted}, and send {@code watermark} back as {@code since} on the
+ * next call; while {@code hasMore} is set the next page is already waiting.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedDto<T> {
+
+    private List<T> updated;
+
+    private List<TombstoneDto> deleted;
+
+    private String watermark;
+
+    private boolean hasMore;
+
+}
@@ -0,0 +1,23 @@
+package com.i2i.project_management.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a listing that orders by more than the id. The cursor is
+ * opaque and only valid for the ordering it came from; it is null on the
+ * last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPageDto<T> {
+
+    private List<T> items;
+
+    private String nextCursor;
+
+}
@@ -0,0 +1,25 @@
+package com.i2i.project_management.Dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A project member as the member listing shows it: who they are and what
+ * roles they hold, without the rest of the user.
+ */
+@Data
+public class MemberDto {
+
+    private UUID id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private List<RoleDto> roles;
+
+}
@@ -0,0 +1,25 @@
+package com.i2i.project_management.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of a project's members. {@code memberCount} is only sent with
+ * the first page; later pages leave it null rather than count again.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberPageDto {
+
+    private List<MemberDto> items;
+
+    private UUID nextCursor;
+
+    private Long memberCount;
+
+}
@@ -0,0 +1,26 @@
+package com.i2i.project_management.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MembershipOutcomeDto {
+
+    private UUID userId;
+
+    private Outcome outcome;
+
+    public enum Outcome {
+        ASSIGNED,
+        REMOVED,
+        ALREADY_MEMBER,
+        NOT_MEMBER,
+        USER_NOT_FOUND
+    }
+
+}
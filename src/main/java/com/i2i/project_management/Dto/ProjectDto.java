@@ -1,5 +1,6 @@
 package com.i2i.project_management.Dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 import java.util.Set;
@@ -14,6 +15,21 @@ public class ProjectDto {
 
     private String description;
 
+    /**
+     * Whether the project is active. A new project is active unless this
+     * says otherwise; null when the DTO was built from a projection.
+     */
+    private Boolean active;
+
     private Set<UUID> userIds;
 
+    private Long memberCount;
+
+    /**
+     * Row version of the entity, sent as the ETag header rather than in
+     * the body. Null when the DTO was built from a projection.
+     */
+    @JsonIgnore
+    private Long version;
+
 }
@@ -0,0 +1,25 @@
+package com.i2i.project_management.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of ranked search results. Ranks are not stable under writes, so
+ * search pages by number rather than by cursor; {@code hasNext} tells
+ * whether asking for {@code page + 1} returns anything.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchPageDto<T> {
+
+    private List<T> items;
+
+    private int page;
+
+    private boolean hasNext;
+
+}
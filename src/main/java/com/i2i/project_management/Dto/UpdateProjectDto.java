@@ -9,4 +9,6 @@ public class UpdateProjectDto {
 
     private String description;
 
+    private Boolean active;
+
 }
@@ -1,5 +1,6 @@
 package com.i2i.project_management.Dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
@@ -27,4 +28,11 @@ public class UserDto {
 
     private List<ProjectDto> projects;
 
+    /**
+     * Row version of the entity, sent as the ETag header rather than in
+     * the body. Null when the DTO was built from a projection.
+     */
+    @JsonIgnore
+    private Long version;
+
 }
@@ -0,0 +1,31 @@
+package com.i2i.project_management.Dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class UserImportReportDto {
+
+    private long processed;
+
+    private long imported;
+
+    private long skipped;
+
+    private long failed;
+
+    /**
+     * Last record number whose chunk was committed; pass it back as
+     * {@code resumeFrom} to continue an interrupted import.
+     */
+    private long resumeFrom;
+
+    private boolean completed;
+
+    private String abortReason;
+
+    private List<UserImportErrorDto> errors = new ArrayList<>();
+
+}
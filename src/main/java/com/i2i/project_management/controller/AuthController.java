@@ -2,21 +2,32 @@ package com.i2i.project_management.controller;
 
 import com.i2i.project_management.Dto.AuthRequest;
 import com.i2i.project_management.Dto.AuthResponse;
+import com.i2i.project_management.exception.ValidationException;
+import com.i2i.project_management.security.PasswordHashingExecutor;
+import com.i2i.project_management.security.TokenRevocationRegistry;
+import com.i2i.project_management.security.VerifiedTokenCache;
 import com.i2i.project_management.service.impl.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
@@ -25,10 +36,21 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
+    /**
+     * Password verification runs on the bounded hashing pool so the servlet
+     * worker is released while BCrypt runs. A full pool answers 503.
+     */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest authRequest) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody AuthRequest authRequest) {
         log.info("Login attempt for {}", authRequest.getEmail());
+        return passwordHashingExecutor.submit(() -> authenticate(authRequest));
+    }
+
+    private ResponseEntity<AuthResponse> authenticate(AuthRequest authRequest) {
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -44,5 +66,23 @@ public class AuthController {
             throw e;
         }
     }
-}
 
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader)
+            throws ValidationException {
+        if (!StringUtils.hasText(authHeader) || !authHeader.startsWith("Bearer ")) {
+            throw new ValidationException("Bearer token is required");
+        }
+        String token = authHeader.substring(7);
+        try {
+            Claims claims = jwtService.extractAllClaims(token);
+            log.info("Logout for {}", claims.getSubject());
+            tokenRevocationRegistry.revokeToken(claims.getId(), claims.getExpiration());
+            verifiedTokenCache.invalidate(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new ValidationException("Invalid token");
+        }
+        return ResponseEntity.ok("Logged out successfully");
+    }
+}
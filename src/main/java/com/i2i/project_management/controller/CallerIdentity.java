@@ -0,0 +1,28 @@
+package com.i2i.project_management.controller;
+
+import com.i2i.project_management.security.CustomUserDetails;
+import com.i2i.project_management.security.JwtPrincipal;
+import org.springframework.security.core.Authentication;
+
+import java.util.UUID;
+
+/**
+ * Id of the authenticated user, whichever of the two principal types the
+ * JWT filter put in place. Neither needs a query.
+ */
+final class CallerIdentity {
+
+    private CallerIdentity() {
+    }
+
+    static UUID userId(Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return jwtPrincipal.getUserId();
+        }
+        if (principal instanceof CustomUserDetails userDetails) {
+            return userDetails.getUser().getId();
+        }
+        throw new IllegalStateException("Unsupported principal " + principal.getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,84 @@
+package com.i2i.project_management.controller;
+
+import com.i2i.project_management.Dto.CursorPageDto;
+import com.i2i.project_management.Dto.ProjectDto;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Strong ETags built from entity versions, and the reverse for If-Match.
+ */
+final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Tag of a page of projects: a digest of each project's id and version,
+     * in order, and of where the next page starts. Editing a project on the
+     * page, or one joining or leaving it, changes the tag.
+     */
+    static String of(CursorPageDto<ProjectDto> page) {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(3 * Long.BYTES);
+        for (ProjectDto project : page.getItems()) {
+            buffer.clear();
+            buffer.putLong(project.getId().getMostSignificantBits())
+                    .putLong(project.getId().getLeastSignificantBits())
+                    .putLong(project.getVersion() == null ? -1 : project.getVersion());
+            digest.update(buffer.array());
+        }
+        UUID nextCursor = page.getNextCursor();
+        if (nextCursor != null) {
+            buffer.clear();
+            buffer.putLong(nextCursor.getMostSignificantBits()).putLong(nextCursor.getLeastSignificantBits());
+            digest.update(buffer.array(), 0, 2 * Long.BYTES);
+        }
+        byte[] hash = digest.digest();
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + "\"";
+    }
+
+    /**
+     * Versions named by an If-Match header, or null when the header is
+     * absent or {@code *}, in which case the write is unconditional. Weak
+     * and unparseable tags never pass the strong comparison If-Match uses,
+     * so they are skipped; a header made only of those yields an empty
+     * list, which no version matches.
+     */
+    static Collection<Long> versions(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        List<Long> versions = new ArrayList<>();
+        for (String tag : ifMatch.split(",")) {
+            String trimmed = tag.trim();
+            if (trimmed.length() > 2 && trimmed.startsWith("\"") && trimmed.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(trimmed.substring(1, trimmed.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // Not one of ours, so it cannot match.
+                }
+            }
+        }
+        return versions;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
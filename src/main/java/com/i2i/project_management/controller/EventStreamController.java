@@ -0,0 +1,56 @@
+package com.i2i.project_management.controller;
+
+import com.i2i.project_management.event.ChangeEventHub;
+import com.i2i.project_management.security.VerifiedTokenCache;
+import com.i2i.project_management.service.impl.JwtService;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/events")
+@Slf4j
+public class EventStreamController {
+
+    private final ChangeEventHub changeEventHub;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final JwtService jwtService;
+
+    public EventStreamController(ChangeEventHub changeEventHub, VerifiedTokenCache verifiedTokenCache,
+                                 JwtService jwtService) {
+        this.changeEventHub = changeEventHub;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.jwtService = jwtService;
+    }
+
+    /**
+     * The stream is tied to the bearer token, already verified by the JWT
+     * filter, so it is closed once that token is revoked.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("isAuthenticated()")
+    public SseEmitter streamEvents(Authentication authentication,
+                                   @RequestHeader(HttpHeaders.AUTHORIZATION) String authHeader) {
+        UUID userId = CallerIdentity.userId(authentication);
+        Claims claims = verifiedTokenCache.verify(authHeader.substring(7));
+        Integer tokenVersion = jwtService.extractTokenVersion(claims);
+        boolean admin = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .anyMatch("ADMIN"::equals);
+        log.debug("Opening event stream for user {}", userId);
+        return changeEventHub.subscribe(userId, admin, claims.getId(), tokenVersion == null ? 0 : tokenVersion);
+    }
+}
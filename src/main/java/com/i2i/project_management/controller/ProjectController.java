@@ -1,16 +1,38 @@
 package com.i2i.project_management.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.i2i.project_management.Dto.BulkMembershipResultDto;
+import com.i2i.project_management.Dto.ChangeFeedDto;
+import com.i2i.project_management.Dto.CursorPageDto;
+import com.i2i.project_management.Dto.KeysetPageDto;
+import com.i2i.project_management.Dto.MemberPageDto;
 import com.i2i.project_management.Dto.ProjectDto;
+import com.i2i.project_management.Dto.SearchPageDto;
 import com.i2i.project_management.Dto.UpdateProjectDto;
 import com.i2i.project_management.exception.DatabaseException;
 import com.i2i.project_management.exception.NotFoundException;
+import com.i2i.project_management.exception.PreconditionFailedException;
 import com.i2i.project_management.exception.ValidationException;
 import com.i2i.project_management.service.ProjectService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,10 +43,15 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ProjectController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private final ProjectService projectService;
 
-    public ProjectController(ProjectService projectService) {
+    private final ObjectMapper objectMapper;
+
+    public ProjectController(ProjectService projectService, ObjectMapper objectMapper) {
         this.projectService = projectService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -41,35 +68,152 @@ public class ProjectController {
     @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER')")
     public ResponseEntity<ProjectDto> updateProject(
             @PathVariable UUID id,
-            @RequestBody UpdateProjectDto updateProjectDto)
-            throws ValidationException, DatabaseException, NotFoundException {
+            @RequestBody UpdateProjectDto updateProjectDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws ValidationException, DatabaseException, NotFoundException, PreconditionFailedException {
 
         log.info("Updating project {}", id);
-        ProjectDto updatedProject = projectService.updateProject(id, updateProjectDto);
-        return ResponseEntity.ok(updatedProject);
+        ProjectDto updatedProject = projectService.updateProject(id, updateProjectDto, EntityTags.versions(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(updatedProject.getVersion()))
+                .body(updatedProject);
     }
 
+    /**
+     * With If-None-Match only the project's version is looked up, and a
+     * match is answered with 304 before the project is loaded or mapped.
+     */
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER','EMPLOYEE')")
-    public ResponseEntity<ProjectDto> findById(@PathVariable UUID id)
+    public ResponseEntity<ProjectDto> findById(@PathVariable UUID id, WebRequest request)
             throws ValidationException, NotFoundException, DatabaseException {
 
         log.debug("Fetching project {}", id);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(EntityTags.of(projectService.findVersionById(id)))) {
+            return null;
+        }
         ProjectDto project = projectService.findById(id);
 
-        return ResponseEntity.ok(project);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(project.getVersion()))
+                .body(project);
     }
 
     @GetMapping
     @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER','EMPLOYEE')")
-    public ResponseEntity<List<ProjectDto>> findAllProjects()
-            throws DatabaseException {
+    public ResponseEntity<CursorPageDto<ProjectDto>> findAllProjects(
+            @RequestParam(required = false) UUID cursor,
+            @RequestParam(required = false) Integer size)
+            throws ValidationException, DatabaseException {
 
-        log.debug("Fetching all projects");
-        List<ProjectDto> projects = projectService.findAllProjects();
+        log.debug("Fetching projects after {}", cursor);
+        CursorPageDto<ProjectDto> projects = projectService.findAllProjects(cursor, size);
         return ResponseEntity.ok(projects);
     }
 
+    /**
+     * Projects the caller belongs to, identified by the token alone. The
+     * ETag covers the page, so a client polling an unchanged page gets 304
+     * and no body.
+     */
+    @GetMapping("/mine")
+    @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER','EMPLOYEE')")
+    public ResponseEntity<CursorPageDto<ProjectDto>> findMyProjects(
+            @RequestParam(required = false) UUID cursor,
+            @RequestParam(required = false) Integer size,
+            Authentication authentication,
+            WebRequest request)
+            throws ValidationException, DatabaseException {
+
+        UUID userId = CallerIdentity.userId(authentication);
+        log.debug("Fetching projects of user {} after {}", userId, cursor);
+        CursorPageDto<ProjectDto> projects = projectService.findProjectsOfMember(userId, cursor, size);
+        String eTag = EntityTags.of(projects);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .body(projects);
+    }
+
+    /**
+     * Projects filtered by status, member and name prefix, in one of the
+     * orders {@code name}, {@code -name}, {@code updatedAt} or
+     * {@code -updatedAt}. The next page continues from {@code nextCursor},
+     * passed back with the same sort.
+     */
+    @GetMapping("/query")
+    @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER','EMPLOYEE')")
+    public ResponseEntity<KeysetPageDto<ProjectDto>> queryProjects(
+            @RequestParam(required = false) Boolean active,
+            @RequestParam(required = false) UUID memberId,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size)
+            throws ValidationException, DatabaseException {
+
+        log.debug("Querying projects by active={}, member={}, name='{}', sort={}", active, memberId, name, sort);
+        return ResponseEntity.ok(projectService.queryProjects(active, memberId, name, sort, cursor, size));
+    }
+
+    /**
+     * Ranked search over names and descriptions. Every word of {@code q}
+     * has to match, as a prefix once it is three characters long.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER','EMPLOYEE')")
+    public ResponseEntity<SearchPageDto<ProjectDto>> searchProjects(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size)
+            throws ValidationException, DatabaseException {
+
+        log.debug("Searching projects for '{}'", q);
+        return ResponseEntity.ok(projectService.searchProjects(q, page, size));
+    }
+
+    /**
+     * Delta sync: projects changed since the watermark returned by the
+     * previous call, deleted ones as tombstones. Without {@code since} the
+     * feed starts from the beginning.
+     */
+    @GetMapping("/changes")
+    @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER','EMPLOYEE')")
+    public ResponseEntity<ChangeFeedDto<ProjectDto>> findProjectChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer size)
+            throws ValidationException, DatabaseException {
+
+        log.debug("Fetching project changes since {}", since);
+        return ResponseEntity.ok(projectService.findProjectChanges(since, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER','EMPLOYEE')")
+    public ResponseEntity<StreamingResponseBody> streamAllProjects() {
+        log.debug("Streaming all projects");
+        StreamingResponseBody body = outputStream -> {
+            try {
+                projectService.streamAllProjects(projectDto -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(projectDto));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (DatabaseException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<String> deleteProject(@PathVariable UUID id)
@@ -81,6 +225,22 @@ public class ProjectController {
         return ResponseEntity.ok("Project deleted successfully");
     }
 
+    /**
+     * Members of the project a page at a time, each with their roles. The
+     * member count comes with the first page only.
+     */
+    @GetMapping("/{projectId}/members")
+    @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER')")
+    public ResponseEntity<MemberPageDto> findMembers(
+            @PathVariable UUID projectId,
+            @RequestParam(required = false) UUID cursor,
+            @RequestParam(required = false) Integer size)
+            throws ValidationException, NotFoundException, DatabaseException {
+
+        log.debug("Fetching members of project {} after {}", projectId, cursor);
+        return ResponseEntity.ok(projectService.findMembers(projectId, cursor, size));
+    }
+
     @PostMapping("/{projectId}/assign/{userId}")
     @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER')")
     public ResponseEntity<ProjectDto> assignProjectToEmployee(
@@ -104,4 +264,86 @@ public class ProjectController {
         ProjectDto updatedProject = projectService.removeProjectFromEmployee(projectId, userId);
         return ResponseEntity.ok(updatedProject);
     }
+
+    @PostMapping(value = "/{projectId}/assign", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER')")
+    public ResponseEntity<BulkMembershipResultDto> assignUsersToProject(
+            @PathVariable UUID projectId,
+            @RequestBody List<UUID> userIds)
+            throws ValidationException, NotFoundException, DatabaseException {
+        log.info("Bulk assigning {} users to project {}", userIds == null ? 0 : userIds.size(), projectId);
+        return ResponseEntity.ok(projectService.assignUsersToProject(projectId, userIds));
+    }
+
+    @PostMapping(value = "/{projectId}/assign", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER')")
+    public ResponseEntity<BulkMembershipResultDto> assignUsersToProjectFromStream(
+            @PathVariable UUID projectId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body)
+            throws ValidationException, NotFoundException, DatabaseException, IOException {
+        return assignUsersToProject(projectId, readUserIds(body, contentType));
+    }
+
+    @PostMapping(value = "/{projectId}/remove", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER')")
+    public ResponseEntity<BulkMembershipResultDto> removeUsersFromProject(
+            @PathVariable UUID projectId,
+            @RequestBody List<UUID> userIds)
+            throws ValidationException, NotFoundException, DatabaseException {
+        log.info("Bulk removing {} users from project {}", userIds == null ? 0 : userIds.size(), projectId);
+        return ResponseEntity.ok(projectService.removeUsersFromProject(projectId, userIds));
+    }
+
+    @PostMapping(value = "/{projectId}/remove", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER')")
+    public ResponseEntity<BulkMembershipResultDto> removeUsersFromProjectFromStream(
+            @PathVariable UUID projectId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body)
+            throws ValidationException, NotFoundException, DatabaseException, IOException {
+        return removeUsersFromProject(projectId, readUserIds(body, contentType));
+    }
+
+    /**
+     * Reads user ids from a CSV body (ids separated by commas or new lines,
+     * optional "userId" header) or an NDJSON body (one id string or one
+     * {"userId": ...} object per line).
+     */
+    private List<UUID> readUserIds(InputStream body, String contentType) throws IOException, ValidationException {
+        boolean ndjson = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        List<UUID> userIds = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (ndjson) {
+                JsonNode node;
+                try {
+                    node = objectMapper.readTree(line);
+                } catch (JsonProcessingException e) {
+                    throw new ValidationException("Invalid NDJSON line: " + line);
+                }
+                userIds.add(parseUserId(node.isObject() ? node.path("userId").asText() : node.asText()));
+            } else {
+                for (String value : line.split(",")) {
+                    String trimmed = value.trim();
+                    if (!trimmed.isEmpty() && !"userId".equalsIgnoreCase(trimmed)) {
+                        userIds.add(parseUserId(trimmed));
+                    }
+                }
+            }
+        }
+        return userIds;
+    }
+
+    private UUID parseUserId(String value) throws ValidationException {
+        try {
+            return UUID.fromString(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid user ID: " + value);
+        }
+    }
 }
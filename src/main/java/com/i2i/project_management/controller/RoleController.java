@@ -1,5 +1,7 @@
 package com.i2i.project_management.controller;
 
+import com.i2i.project_management.Dto.BulkRoleAssignmentDto;
+import com.i2i.project_management.Dto.BulkRoleResultDto;
 import com.i2i.project_management.Dto.RoleDto;
 import com.i2i.project_management.Dto.UserDto;
 import com.i2i.project_management.exception.DatabaseException;
@@ -90,5 +92,24 @@ public class RoleController {
         return ResponseEntity.ok(updatedUser);
     }
 
+    @PostMapping("/grant")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<BulkRoleResultDto> grantRoles(@RequestBody BulkRoleAssignmentDto request)
+            throws ValidationException, DatabaseException {
+        log.info("Granting roles {} to {} users", request.getRoleIds(), sizeOf(request.getUserIds()));
+        return ResponseEntity.ok(roleService.grantRoles(request.getUserIds(), request.getRoleIds()));
+    }
+
+    @PostMapping("/revoke")
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<BulkRoleResultDto> revokeRoles(@RequestBody BulkRoleAssignmentDto request)
+            throws ValidationException, DatabaseException {
+        log.info("Revoking roles {} from {} users", request.getRoleIds(), sizeOf(request.getUserIds()));
+        return ResponseEntity.ok(roleService.revokeRoles(request.getUserIds(), request.getRoleIds()));
+    }
+
+    private int sizeOf(List<UUID> ids) {
+        return ids == null ? 0 : ids.size();
+    }
 
 }
@@ -1,17 +1,30 @@
 package com.i2i.project_management.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.i2i.project_management.Dto.ChangeFeedDto;
+import com.i2i.project_management.Dto.SearchPageDto;
 import com.i2i.project_management.Dto.UserDto;
+import com.i2i.project_management.Dto.UserImportReportDto;
 import com.i2i.project_management.Dto.UserUpdateDto;
 import com.i2i.project_management.exception.DatabaseException;
 import com.i2i.project_management.exception.NotFoundException;
+import com.i2i.project_management.exception.PreconditionFailedException;
 import com.i2i.project_management.exception.ValidationException;
+import com.i2i.project_management.service.UserImportService;
 import com.i2i.project_management.service.UserService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,8 +37,14 @@ public class UserController {
 
     private final UserService userService;
 
-    public UserController(UserService userService) {
+    private final UserImportService userImportService;
+
+    private final ObjectMapper objectMapper;
+
+    public UserController(UserService userService, UserImportService userImportService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.userImportService = userImportService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -38,26 +57,52 @@ public class UserController {
         return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAuthority('ADMIN')")
+    public ResponseEntity<UserImportReportDto> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestParam(defaultValue = "0") long resumeFrom,
+            InputStream body) throws ValidationException {
+        UserImportService.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))
+                ? UserImportService.Format.NDJSON
+                : UserImportService.Format.CSV;
+        log.info("Received {} user import, resuming after record {}", format, resumeFrom);
+        return ResponseEntity.ok(userImportService.importUsers(body, format, resumeFrom));
+    }
+
     @PutMapping("/{userId}")
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseEntity<UserDto> updateUser(
             @PathVariable UUID userId,
-            @RequestBody UserUpdateDto userUpdateDto)
-            throws ValidationException, NotFoundException {
+            @RequestBody UserUpdateDto userUpdateDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws ValidationException, NotFoundException, PreconditionFailedException {
 
         log.info("Received request to update user {}", userId);
-        UserDto updatedUser = userService.updateUser(userId, userUpdateDto);
-        return ResponseEntity.ok(updatedUser);
+        UserDto updatedUser = userService.updateUser(userId, userUpdateDto, EntityTags.versions(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(updatedUser.getVersion()))
+                .body(updatedUser);
     }
 
+    /**
+     * With If-None-Match only the user's version is looked up, and a match
+     * is answered with 304 before the user, roles and projects are loaded.
+     */
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER')")
-    public ResponseEntity<UserDto> findUserById(@PathVariable UUID id)
-            throws ValidationException, DatabaseException {
+    public ResponseEntity<UserDto> findUserById(@PathVariable UUID id, WebRequest request)
+            throws ValidationException, NotFoundException, DatabaseException {
 
         log.debug("Fetching user with id {}", id);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(EntityTags.of(userService.findUserVersionById(id)))) {
+            return null;
+        }
         UserDto userDto = userService.findUserById(id);
-        return ResponseEntity.ok(userDto);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(userDto.getVersion()))
+                .body(userDto);
     }
 
     @GetMapping
@@ -71,6 +116,61 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Ranked search over names and email addresses. Every word of {@code q}
+     * has to match, as a prefix once it is three characters long.
+     */
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER')")
+    public ResponseEntity<SearchPageDto<UserDto>> searchUsers(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size)
+            throws ValidationException, DatabaseException {
+
+        log.debug("Searching users for '{}'", q);
+        return ResponseEntity.ok(userService.searchUsers(q, page, size));
+    }
+
+    /**
+     * Delta sync: users changed since the watermark returned by the
+     * previous call, deleted ones as tombstones. Without {@code since} the
+     * feed starts from the beginning.
+     */
+    @GetMapping("/changes")
+    @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER')")
+    public ResponseEntity<ChangeFeedDto<UserDto>> findUserChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer size)
+            throws ValidationException, DatabaseException {
+
+        log.debug("Fetching user changes since {}", since);
+        return ResponseEntity.ok(userService.findUserChanges(since, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyAuthority('ADMIN','PROJECT_MANAGER')")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        log.debug("Streaming all users");
+        StreamingResponseBody body = outputStream -> {
+            try {
+                userService.streamAllUsers(userDto -> {
+                    try {
+                        outputStream.write(objectMapper.writeValueAsBytes(userDto));
+                        outputStream.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (DatabaseException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @PutMapping("/me")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<UserDto> updateOwnProfile(
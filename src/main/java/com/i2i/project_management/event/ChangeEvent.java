@@ -0,0 +1,56 @@
+package com.i2i.project_management.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A committed write that connected clients may want to react to. Only
+ * {@code type} and the ids of what changed are sent; clients fetch the
+ * current state themselves. Each event goes to the users it concerns and
+ * to every admin.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ChangeEvent(Type type, UUID projectId, UUID roleId, @JsonIgnore Set<UUID> recipients) {
+
+    public enum Type {
+        MEMBER_ADDED,
+        MEMBER_REMOVED,
+        PROJECT_UPDATED,
+        PROJECT_DELETED,
+        ROLES_CHANGED,
+        ROLE_UPDATED,
+        ROLE_DELETED
+    }
+
+    public static ChangeEvent membersAdded(UUID projectId, Collection<UUID> userIds) {
+        return new ChangeEvent(Type.MEMBER_ADDED, projectId, null, Set.copyOf(userIds));
+    }
+
+    public static ChangeEvent membersRemoved(UUID projectId, Collection<UUID> userIds) {
+        return new ChangeEvent(Type.MEMBER_REMOVED, projectId, null, Set.copyOf(userIds));
+    }
+
+    public static ChangeEvent projectUpdated(UUID projectId, Collection<UUID> memberIds) {
+        return new ChangeEvent(Type.PROJECT_UPDATED, projectId, null, Set.copyOf(memberIds));
+    }
+
+    public static ChangeEvent projectDeleted(UUID projectId, Collection<UUID> memberIds) {
+        return new ChangeEvent(Type.PROJECT_DELETED, projectId, null, Set.copyOf(memberIds));
+    }
+
+    public static ChangeEvent rolesChanged(Collection<UUID> userIds) {
+        return new ChangeEvent(Type.ROLES_CHANGED, null, null, Set.copyOf(userIds));
+    }
+
+    public static ChangeEvent roleUpdated(UUID roleId, Collection<UUID> holderIds) {
+        return new ChangeEvent(Type.ROLE_UPDATED, null, roleId, Set.copyOf(holderIds));
+    }
+
+    public static ChangeEvent roleDeleted(UUID roleId, Collection<UUID> holderIds) {
+        return new ChangeEvent(Type.ROLE_DELETED, null, roleId, Set.copyOf(holderIds));
+    }
+}
@@ -0,0 +1,227 @@
+package com.i2i.project_management.event;
+
+import com.i2i.project_management.security.TokenRevocationEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed {@link ChangeEvent}s out to open event streams. An idle
+ * subscriber is an emitter plus an empty bounded buffer: no thread and no
+ * query. Events are written by a virtual thread that exists only while a
+ * buffer has something in it, so a slow client never holds up the
+ * transaction that published. A client that lets its buffer fill up is
+ * disconnected instead of being waited for; it reconnects and catches up
+ * from the change feeds.
+ * <p>
+ * Each event goes to its recipients and to every admin. A stream is closed
+ * as soon as the token it was opened with is revoked, so logging out,
+ * losing a role or being deleted also ends the user's open streams.
+ */
+@Component
+@Slf4j
+public class ChangeEventHub implements DisposableBean {
+
+    private final Map<UUID, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final Set<Subscriber> admins = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicLong droppedSubscribers = new AtomicLong();
+
+    private final int bufferSize;
+
+    private final long timeoutMillis;
+
+    public ChangeEventHub(@Value("${event-stream.buffer-size}") int bufferSize,
+                          @Value("${event-stream.timeout-ms}") long timeoutMillis) {
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Opens a stream for the given user, tied to the token the request was
+     * authenticated with. The leading comment makes the response headers go
+     * out straight away, so the client sees the stream as open before the
+     * first event.
+     */
+    public SseEmitter subscribe(UUID userId, boolean admin, String tokenId, int tokenVersion) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        register(new Subscriber(userId, admin, tokenId, tokenVersion, emitter, new ArrayBlockingQueue<>(bufferSize)));
+        try {
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    void register(UUID userId, boolean admin, String tokenId, int tokenVersion, SseEmitter emitter) {
+        register(new Subscriber(userId, admin, tokenId, tokenVersion, emitter, new ArrayBlockingQueue<>(bufferSize)));
+    }
+
+    private void register(Subscriber subscriber) {
+        subscribers.computeIfAbsent(subscriber.userId(), id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        if (subscriber.admin()) {
+            admins.add(subscriber);
+        }
+        SseEmitter emitter = subscriber.emitter();
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+    }
+
+    /**
+     * Runs after the publishing transaction commits, or straight away when
+     * there is none, so clients are never told about a rolled-back write.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(ChangeEvent event) {
+        for (UUID userId : event.recipients()) {
+            Set<Subscriber> streams = subscribers.get(userId);
+            if (streams != null) {
+                streams.forEach(subscriber -> offer(subscriber, event));
+            }
+        }
+        for (Subscriber admin : admins) {
+            if (!event.recipients().contains(admin.userId())) {
+                offer(admin, event);
+            }
+        }
+    }
+
+    /**
+     * Closes the streams opened with a token that is no longer accepted. The
+     * client's reconnect is then refused by the JWT filter.
+     */
+    @EventListener
+    public void closeRevoked(TokenRevocationEvent event) {
+        if (event.tokenIds().isEmpty()) {
+            event.minimumTokenVersions().keySet().forEach(userId -> closeRevoked(subscribers.get(userId), event));
+        } else {
+            subscribers.values().forEach(streams -> closeRevoked(streams, event));
+        }
+    }
+
+    private void closeRevoked(Set<Subscriber> streams, TokenRevocationEvent event) {
+        if (streams == null) {
+            return;
+        }
+        streams.stream()
+                .filter(subscriber -> event.revokes(subscriber.userId(), subscriber.tokenVersion(), subscriber.tokenId()))
+                .forEach(subscriber -> {
+                    if (close(subscriber)) {
+                        log.debug("Closing event stream of user {}: its token was revoked", subscriber.userId());
+                    }
+                });
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    public long droppedSubscribers() {
+        return droppedSubscribers.get();
+    }
+
+    private void offer(Subscriber subscriber, ChangeEvent event) {
+        if (!subscriber.buffer().offer(event)) {
+            drop(subscriber);
+            return;
+        }
+        if (subscriber.draining().compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                ChangeEvent event = subscriber.buffer().poll();
+                if (event == null) {
+                    subscriber.draining().set(false);
+                    // An offer that landed after the poll saw the flag still set and left its event to us.
+                    if (subscriber.buffer().isEmpty() || !subscriber.draining().compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                if (subscriber.closed().get()) {
+                    return;
+                }
+                subscriber.emitter().send(SseEmitter.event()
+                        .name(event.type().name())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed.
+            log.debug("Event stream of user {} closed: {}", subscriber.userId(), e.getMessage());
+            remove(subscriber);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (close(subscriber)) {
+            droppedSubscribers.incrementAndGet();
+            log.warn("Dropping event stream of user {}: {} events not yet delivered", subscriber.userId(), bufferSize);
+        }
+    }
+
+    /**
+     * Ends the stream unless it is already closing; tells whether this call
+     * closed it.
+     */
+    private boolean close(Subscriber subscriber) {
+        if (!subscriber.closed().compareAndSet(false, true)) {
+            return false;
+        }
+        remove(subscriber);
+        subscriber.buffer().clear();
+        // Completing may wait on a send in progress, so it must not run on the publishing thread.
+        senders.execute(() -> subscriber.emitter().complete());
+        return true;
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId(), (id, streams) -> {
+            streams.remove(subscriber);
+            return streams.isEmpty() ? null : streams;
+        });
+        admins.remove(subscriber);
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.values().forEach(streams -> streams.forEach(subscriber -> subscriber.emitter().complete()));
+        subscribers.clear();
+        admins.clear();
+        senders.shutdownNow();
+    }
+
+    private record Subscriber(UUID userId, boolean admin, String tokenId, int tokenVersion, SseEmitter emitter,
+                              Queue<ChangeEvent> buffer, AtomicBoolean draining, AtomicBoolean closed) {
+
+        Subscriber(UUID userId, boolean admin, String tokenId, int tokenVersion, SseEmitter emitter,
+                   Queue<ChangeEvent> buffer) {
+            this(userId, admin, tokenId, tokenVersion, emitter, buffer, new AtomicBoolean(), new AtomicBoolean());
+        }
+    }
+}
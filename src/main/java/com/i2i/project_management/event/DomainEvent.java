@@ -0,0 +1,13 @@
+package com.i2i.project_management.event;
+
+import java.util.UUID;
+
+/**
+ * In-process copy of an outbox row, published by {@link OutboxRecorder}
+ * when it records one. Listeners that keep derived state in memory use it
+ * through {@code @TransactionalEventListener}, so they only see writes
+ * that committed. The payload is the object that was serialised into the
+ * row, not a copy, and must not be modified.
+ */
+public record DomainEvent(DomainEventType type, UUID aggregateId, Object payload) {
+}
@@ -0,0 +1,34 @@
+package com.i2i.project_management.event;
+
+/**
+ * Kinds of mutation recorded in the outbox, each tied to the aggregate
+ * whose id goes into {@code aggregate_id}. Events that span several
+ * aggregates leave the id empty and list them in the payload.
+ */
+public enum DomainEventType {
+
+    PROJECT_CREATED("project"),
+    PROJECT_UPDATED("project"),
+    PROJECT_DELETED("project"),
+    PROJECT_MEMBERS_ADDED("project"),
+    PROJECT_MEMBERS_REMOVED("project"),
+    USER_CREATED("user"),
+    USER_UPDATED("user"),
+    USER_DELETED("user"),
+    USERS_IMPORTED("user"),
+    USER_ROLES_GRANTED("user"),
+    USER_ROLES_REVOKED("user"),
+    ROLE_CREATED("role"),
+    ROLE_UPDATED("role"),
+    ROLE_DELETED("role");
+
+    private final String aggregateType;
+
+    DomainEventType(String aggregateType) {
+        this.aggregateType = aggregateType;
+    }
+
+    public String aggregateType() {
+        return aggregateType;
+    }
+}
@@ -0,0 +1,50 @@
+package com.i2i.project_management.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.i2i.project_management.model.OutboxEvent;
+import com.i2i.project_management.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Writes an outbox row for a mutation. It must run inside the mutation's
+ * own transaction, so the row commits or rolls back together with the
+ * change; calling it without one fails instead of recording an event that
+ * might describe a write that never happened. The same event is also
+ * published in-process as a {@link DomainEvent}.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxRecorder {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(DomainEventType type, UUID aggregateId, Object payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(type.aggregateType())
+                .aggregateId(aggregateId)
+                .eventType(type.name())
+                .payload(payload == null ? null : toJson(payload))
+                .build());
+        eventPublisher.publishEvent(new DomainEvent(type, aggregateId, payload));
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload cannot be serialised: " + payload.getClass(), e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.i2i.project_management.event;
+
+import com.i2i.project_management.model.OutboxEvent;
+import com.i2i.project_management.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves outbox rows to the {@link OutboxSink}. Each batch is read, handed
+ * over and deleted in one transaction: a sink failure or a crash before
+ * the commit leaves the batch in place to be delivered again, so delivery
+ * is at least once and always in id order.
+ * <p>
+ * An id is taken when the row is inserted, not when its transaction
+ * commits, so a slow writer can still hold a lower id than rows already
+ * visible. Rows are therefore held back until they are older than twice
+ * {@code spring.transaction.default-timeout}: created_at is when the
+ * inserting transaction started, and every writer is bound by that
+ * timeout, so by then every lower id has been committed or rolled back.
+ * The relay's clock should not run ahead of the database's.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    private final OutboxSink outboxSink;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final Duration settleDelay;
+
+    private final AtomicLong backlog = new AtomicLong();
+
+    private final Timer batchTimer;
+
+    private final Counter deliveredCounter;
+
+    private final Counter failureCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink outboxSink,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size}") int batchSize,
+                       @Value("${spring.transaction.default-timeout}") Duration transactionTimeout) {
+        if (transactionTimeout.isZero() || transactionTimeout.isNegative()) {
+            throw new IllegalStateException(
+                    "spring.transaction.default-timeout must be positive for the outbox relay to deliver in order");
+        }
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.settleDelay = transactionTimeout.multipliedBy(2);
+        Gauge.builder("outbox.backlog", backlog, AtomicLong::get)
+                .description("Outbox events not yet delivered, as of the last poll")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to read, deliver and delete one outbox batch")
+                .register(meterRegistry);
+        this.deliveredCounter = Counter.builder("outbox.relay.delivered").register(meterRegistry);
+        this.failureCounter = Counter.builder("outbox.relay.failures").register(meterRegistry);
+    }
+
+    /**
+     * Sends full batches back to back so a burst is cleared in one poll,
+     * and stops at the first short batch or failure.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms}")
+    public void relay() {
+        try {
+            int delivered;
+            do {
+                delivered = relayBatch();
+            } while (delivered == batchSize);
+        } catch (Exception e) {
+            failureCounter.increment();
+            log.warn("Outbox relay failed; the batch stays queued for the next poll", e);
+        }
+        try {
+            backlog.set(outboxEventRepository.count());
+        } catch (Exception e) {
+            log.warn("Failed to count the outbox backlog", e);
+        }
+    }
+
+    private int relayBatch() {
+        long start = System.nanoTime();
+        Integer delivered = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.findNextBatch(
+                    Instant.now().minus(settleDelay), Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            try {
+                outboxSink.deliver(batch);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            outboxEventRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+            return batch.size();
+        });
+        if (delivered == null || delivered == 0) {
+            return 0;
+        }
+        batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        deliveredCounter.increment(delivered);
+        log.debug("Relayed {} outbox events", delivered);
+        return delivered;
+    }
+}
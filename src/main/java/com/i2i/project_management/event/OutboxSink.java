@@ -0,0 +1,22 @@
+package com.i2i.project_management.event;
+
+import com.i2i.project_management.model.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of the outbox relay. Exactly one implementation is active,
+ * chosen with the {@code outbox.sink} property.
+ */
+public interface OutboxSink {
+
+    /**
+     * Hands over a batch in id order; a later batch never holds a lower id
+     * than an earlier one. Returning means the whole batch is durably
+     * stored downstream; throwing leaves it in the outbox to be sent again,
+     * so a sink can see an event more than once and consumers should
+     * de-duplicate on its id. The events must not be modified.
+     */
+    void deliver(List<OutboxEvent> events) throws IOException;
+}
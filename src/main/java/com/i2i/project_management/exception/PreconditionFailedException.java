@@ -0,0 +1,8 @@
+package com.i2i.project_management.exception;
+
+public class PreconditionFailedException extends Exception {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
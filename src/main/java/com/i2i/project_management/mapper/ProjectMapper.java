@@ -2,6 +2,8 @@ package com.i2i.project_management.mapper;
 
 import com.i2i.project_management.Dto.ProjectDto;
 import com.i2i.project_management.model.Project;
+import com.i2i.project_management.repository.projection.ProjectSummary;
+import com.i2i.project_management.repository.projection.UserProjectRow;
 
 public class ProjectMapper {
 
@@ -10,6 +12,25 @@ public class ProjectMapper {
         projectDto.setId(project.getId());
         projectDto.setName(project.getName());
         projectDto.setDescription(project.getDescription());
+        projectDto.setActive(project.isActive());
+        projectDto.setVersion(project.getVersion());
+        return projectDto;
+    }
+
+    public static ProjectDto toDto(ProjectSummary summary) {
+        ProjectDto projectDto = new ProjectDto();
+        projectDto.setId(summary.getId());
+        projectDto.setName(summary.getName());
+        projectDto.setDescription(summary.getDescription());
+        projectDto.setMemberCount(summary.getMemberCount());
+        return projectDto;
+    }
+
+    public static ProjectDto toDto(UserProjectRow row) {
+        ProjectDto projectDto = new ProjectDto();
+        projectDto.setId(row.getProjectId());
+        projectDto.setName(row.getName());
+        projectDto.setDescription(row.getDescription());
         return projectDto;
     }
 
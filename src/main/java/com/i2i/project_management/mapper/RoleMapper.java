@@ -2,6 +2,7 @@ package com.i2i.project_management.mapper;
 
 import com.i2i.project_management.Dto.RoleDto;
 import com.i2i.project_management.model.Role;
+import com.i2i.project_management.repository.projection.UserRoleRow;
 
 public class RoleMapper {
 
@@ -15,4 +16,12 @@ public class RoleMapper {
 
     }
 
+    public static RoleDto toDto(UserRoleRow row) {
+        RoleDto roleDto = new RoleDto();
+        roleDto.setId(row.getRoleId());
+        roleDto.setName(row.getName());
+        roleDto.setDescription(row.getDescription());
+        return roleDto;
+    }
+
 }
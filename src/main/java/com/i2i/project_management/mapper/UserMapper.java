@@ -1,11 +1,19 @@
 package com.i2i.project_management.mapper;
 
+import com.i2i.project_management.Dto.MemberDto;
 import com.i2i.project_management.Dto.ProjectDto;
 import com.i2i.project_management.Dto.RoleDto;
 import com.i2i.project_management.Dto.UserDto;
 import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.projection.MemberSummary;
+import com.i2i.project_management.repository.projection.UserProjectRow;
+import com.i2i.project_management.repository.projection.UserRoleRow;
+import com.i2i.project_management.repository.projection.UserSummary;
 
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 public class UserMapper {
 
@@ -17,6 +25,7 @@ public class UserMapper {
         userDto.setLastName(user.getLastName());
         userDto.setPhoneNumber(user.getPhoneNumber());
         userDto.setAddress(user.getAddress());
+        userDto.setVersion(user.getVersion());
 
         if (user.getProjects() != null) {
             List<ProjectDto> projectDtos = user.getProjects().stream()
@@ -34,4 +43,58 @@ public class UserMapper {
         return userDto;
     }
 
+    public static UserDto toDto(UserSummary user, List<RoleDto> roles, List<ProjectDto> projects) {
+        UserDto userDto = new UserDto();
+        userDto.setId(user.getId());
+        userDto.setEmail(user.getEmail());
+        userDto.setFirstName(user.getFirstName());
+        userDto.setLastName(user.getLastName());
+        userDto.setPhoneNumber(user.getPhoneNumber());
+        userDto.setAddress(user.getAddress());
+        userDto.setRoles(roles);
+        userDto.setProjects(projects);
+        return userDto;
+    }
+
+    /**
+     * Member DTOs in the order given, with roles taken from rows read for
+     * just those members.
+     */
+    public static List<MemberDto> toMemberDtos(List<? extends MemberSummary> members, List<UserRoleRow> roles) {
+        Map<UUID, List<RoleDto>> rolesByUser = roles.stream()
+                .collect(Collectors.groupingBy(UserRoleRow::getUserId,
+                        Collectors.mapping(RoleMapper::toDto, Collectors.toList())));
+        return members.stream()
+                .map(member -> {
+                    MemberDto memberDto = new MemberDto();
+                    memberDto.setId(member.getId());
+                    memberDto.setFirstName(member.getFirstName());
+                    memberDto.setLastName(member.getLastName());
+                    memberDto.setEmail(member.getEmail());
+                    memberDto.setRoles(rolesByUser.getOrDefault(member.getId(), List.of()));
+                    return memberDto;
+                })
+                .toList();
+    }
+
+    /**
+     * DTOs for a page of users, in the order given, with roles and projects
+     * taken from rows read for just those users.
+     */
+    public static List<UserDto> toDtos(List<? extends UserSummary> users, List<UserRoleRow> roles,
+                                       List<UserProjectRow> projects) {
+        Map<UUID, List<RoleDto>> rolesByUser = roles.stream()
+                .collect(Collectors.groupingBy(UserRoleRow::getUserId,
+                        Collectors.mapping(RoleMapper::toDto, Collectors.toList())));
+        Map<UUID, List<ProjectDto>> projectsByUser = projects.stream()
+                .collect(Collectors.groupingBy(UserProjectRow::getUserId,
+                        Collectors.mapping(ProjectMapper::toDto, Collectors.toList())));
+        return users.stream()
+                .map(user -> toDto(
+                        user,
+                        rolesByUser.getOrDefault(user.getId(), List.of()),
+                        projectsByUser.getOrDefault(user.getId(), List.of())))
+                .toList();
+    }
+
 }
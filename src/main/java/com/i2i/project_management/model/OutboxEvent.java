@@ -0,0 +1,53 @@
+package com.i2i.project_management.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SourceType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A mutation waiting to be relayed downstream. Ids come from the table's
+ * identity column, so they follow insert order and the relay can hand
+ * events out in that order once no lower id can still be committed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String aggregateType;
+
+    private UUID aggregateId;
+
+    @Column(nullable = false)
+    private String eventType;
+
+    /**
+     * JSON body of the event, or null when the aggregate id says it all.
+     */
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    @CreationTimestamp(source = SourceType.DB)
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+}
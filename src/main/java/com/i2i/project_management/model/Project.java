@@ -1,17 +1,25 @@
 package com.i2i.project_management.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.Set;
 import java.util.UUID;
 
@@ -20,7 +28,7 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "projects")
+@Table(name = "projects", indexes = @Index(name = "idx_projects_updated_at_id", columnList = "updated_at, id"))
 public class Project {
 
     @Id
@@ -35,12 +43,22 @@ public class Project {
     @JoinTable(
             name = "project_employee",
             joinColumns = @JoinColumn(name = "project_id"),
-            inverseJoinColumns = @JoinColumn(name = "employee_id")
+            inverseJoinColumns = @JoinColumn(name = "employee_id"),
+            indexes = @Index(name = "idx_project_employee_employee_project", columnList = "employee_id, project_id")
     )
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Set<User> users;
 
     private boolean isDeleted;
 
     private boolean isActive;
 
+    @Version
+    private long version;
+
+    @UpdateTimestamp(source = SourceType.DB)
+    @Column(nullable = false)
+    private Instant updatedAt;
+
 }
@@ -1,17 +1,25 @@
 package com.i2i.project_management.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.Set;
 import java.util.UUID;
 
@@ -20,7 +28,7 @@ import java.util.UUID;
 @Data
 @Builder
 @Entity
-@Table(name = "pm_users")
+@Table(name = "pm_users", indexes = @Index(name = "idx_pm_users_updated_at_id", columnList = "updated_at, id"))
 public class User {
 
     @Id
@@ -43,12 +51,9 @@ public class User {
     )
     private Set<Role> roles;
 
-    @ManyToMany
-    @JoinTable(
-            name = "user_projects",
-            joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "project_id")
-    )
+    @ManyToMany(mappedBy = "users")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Set<Project> projects;
 
     private String phoneNumber;
@@ -57,5 +62,13 @@ public class User {
 
     private boolean isDeleted;
 
+    private int tokenVersion;
+
+    @Version
+    private long version;
+
+    @UpdateTimestamp(source = SourceType.DB)
+    @Column(nullable = false)
+    private Instant updatedAt;
 
 }
@@ -0,0 +1,27 @@
+package com.i2i.project_management.repository;
+
+import com.i2i.project_management.model.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest undelivered events created before {@code before}, locked
+     * until the calling transaction ends. A second relay instance waits on
+     * the lock rather than skipping ahead, so events never overtake each
+     * other across instances.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.createdAt < :before ORDER BY e.id")
+    List<OutboxEvent> findNextBatch(@Param("before") Instant before, Limit limit);
+}
@@ -0,0 +1,25 @@
+package com.i2i.project_management.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Set-based access to the project_employee membership table for bulk
+ * operations, written with plain JDBC batches instead of entity saves.
+ */
+public interface ProjectMembershipRepository {
+
+    /**
+     * Returns the active users among {@code userIds}, each mapped to whether
+     * it is already a member of the project. Unknown or deleted users are
+     * absent from the map.
+     */
+    Map<UUID, Boolean> findMembershipCandidates(UUID projectId, Collection<UUID> userIds);
+
+    int[] batchAddMembers(UUID projectId, List<UUID> userIds);
+
+    int[] batchRemoveMembers(UUID projectId, List<UUID> userIds);
+
+}
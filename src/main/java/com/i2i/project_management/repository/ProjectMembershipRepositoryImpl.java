@@ -0,0 +1,80 @@
+package com.i2i.project_management.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class ProjectMembershipRepositoryImpl implements ProjectMembershipRepository {
+
+    private static final String CANDIDATES_SQL = """
+            SELECT u.id, pe.employee_id IS NOT NULL AS is_member
+            FROM pm_users u
+            LEFT JOIN project_employee pe ON pe.employee_id = u.id AND pe.project_id = :projectId
+            WHERE u.id IN (:userIds) AND NOT u.is_deleted""";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO project_employee (project_id, employee_id) VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM project_employee WHERE project_id = ? AND employee_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final int batchSize;
+
+    ProjectMembershipRepositoryImpl(JdbcTemplate jdbcTemplate,
+                                    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Map<UUID, Boolean> findMembershipCandidates(UUID projectId, Collection<UUID> userIds) {
+        Map<UUID, Boolean> candidates = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return candidates;
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("projectId", projectId)
+                .addValue("userIds", userIds);
+        namedParameterJdbcTemplate.query(CANDIDATES_SQL, parameters, resultSet -> {
+            candidates.put(resultSet.getObject("id", UUID.class), resultSet.getBoolean("is_member"));
+        });
+        return candidates;
+    }
+
+    @Override
+    public int[] batchAddMembers(UUID projectId, List<UUID> userIds) {
+        return batch(INSERT_SQL, projectId, userIds);
+    }
+
+    @Override
+    public int[] batchRemoveMembers(UUID projectId, List<UUID> userIds) {
+        return batch(DELETE_SQL, projectId, userIds);
+    }
+
+    private int[] batch(String sql, UUID projectId, List<UUID> userIds) {
+        int[][] batches = jdbcTemplate.batchUpdate(sql, userIds, batchSize, (statement, userId) -> {
+            statement.setObject(1, projectId);
+            statement.setObject(2, userId);
+        });
+        int[] counts = new int[userIds.size()];
+        int index = 0;
+        for (int[] batch : batches) {
+            for (int count : batch) {
+                counts[index++] = count;
+            }
+        }
+        return counts;
+    }
+}
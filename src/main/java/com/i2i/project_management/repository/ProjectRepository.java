@@ -1,31 +1,155 @@
 package com.i2i.project_management.repository;
 
 import com.i2i.project_management.model.Project;
+import com.i2i.project_management.repository.projection.MemberSummary;
+import com.i2i.project_management.repository.projection.ProjectSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, UUID> {
+public interface ProjectRepository extends JpaRepository<Project, UUID>, JpaSpecificationExecutor<Project>,
+        ProjectMembershipRepository {
 
     @Query("SELECT p FROM Project p WHERE p.id = :id AND p.isDeleted = false")
     Optional<Project> findProjectById(@Param("id") UUID id);
 
-    @Query("SELECT p FROM Project p WHERE p.name = :name AND p.isDeleted = false")
+    @Query("SELECT p FROM Project p WHERE LOWER(p.name) = LOWER(:name) AND p.isDeleted = false")
     Optional<Project> findProjectByName(@Param("name") String name);
 
-    @Query("SELECT p FROM Project p WHERE p.isDeleted = false")
-    List<Project> findAllProjects();
+    @Query("SELECT p FROM Project p WHERE p.isDeleted = false ORDER BY p.id")
+    List<Project> findFirstProjectsPage(Limit limit);
 
+    @Query("SELECT p FROM Project p WHERE p.isDeleted = false AND p.id > :cursor ORDER BY p.id")
+    List<Project> findProjectsPageAfter(@Param("cursor") UUID cursor, Limit limit);
+
+    /**
+     * Active projects the user belongs to, in id order. The membership
+     * index on (employee_id, project_id) yields them already sorted, so a
+     * page is a range read on it plus one primary key lookup per row.
+     */
+    @Query("SELECT p FROM Project p JOIN p.users u WHERE u.id = :userId AND p.isDeleted = false ORDER BY p.id")
+    List<Project> findFirstMemberProjectsPage(@Param("userId") UUID userId, Limit limit);
+
+    @Query("SELECT p FROM Project p JOIN p.users u WHERE u.id = :userId AND p.isDeleted = false "
+            + "AND p.id > :cursor ORDER BY p.id")
+    List<Project> findMemberProjectsPageAfter(@Param("userId") UUID userId, @Param("cursor") UUID cursor,
+                                              Limit limit);
+
+    /**
+     * Active members of an active project, in id order. The cursor bounds
+     * the membership key itself, so the page is a range read on the
+     * primary key (project_id, employee_id) that starts at the cursor,
+     * whatever the depth, with one user lookup per row.
+     */
+    @Query(value = """
+            SELECT u.id AS id, u.email AS email, u.first_name AS firstName, u.last_name AS lastName
+            FROM project_employee pe
+            JOIN projects p ON p.id = pe.project_id
+            JOIN pm_users u ON u.id = pe.employee_id
+            WHERE pe.project_id = :projectId AND NOT p.is_deleted AND NOT u.is_deleted
+            ORDER BY pe.employee_id""", nativeQuery = true)
+    List<MemberSummary> findFirstMembersPage(@Param("projectId") UUID projectId, Limit limit);
+
+    @Query(value = """
+            SELECT u.id AS id, u.email AS email, u.first_name AS firstName, u.last_name AS lastName
+            FROM project_employee pe
+            JOIN projects p ON p.id = pe.project_id
+            JOIN pm_users u ON u.id = pe.employee_id
+            WHERE pe.project_id = :projectId AND pe.employee_id > :cursor AND NOT p.is_deleted AND NOT u.is_deleted
+            ORDER BY pe.employee_id""", nativeQuery = true)
+    List<MemberSummary> findMembersPageAfter(@Param("projectId") UUID projectId, @Param("cursor") UUID cursor,
+                                             Limit limit);
+
+    /**
+     * Number of active members, counted by the database; empty when the
+     * project does not exist or is deleted.
+     */
+    @Query("SELECT (SELECT COUNT(u) FROM p.users u WHERE u.isDeleted = false) "
+            + "FROM Project p WHERE p.id = :id AND p.isDeleted = false")
+    Optional<Long> countActiveMembers(@Param("id") UUID id);
+
+    /**
+     * Projects written after the (since, after) watermark and no later than
+     * {@code until}, soft-deleted ones included, in watermark order.
+     */
+    @Query("SELECT p FROM Project p WHERE (p.updatedAt, p.id) > (:since, :after) AND p.updatedAt <= :until "
+            + "ORDER BY p.updatedAt, p.id")
+    List<Project> findChangedSince(@Param("since") Instant since, @Param("after") UUID after,
+                                   @Param("until") Instant until, Limit limit);
+
+    /**
+     * Active projects matching the tsquery, best first: name matches rank
+     * above description matches. Only the first {@code candidates} matches
+     * found in the GIN index are ranked, which bounds the cost of a broad
+     * query at the price of ranking its results approximately.
+     */
+    @Query(value = """
+            SELECT m.id AS id, m.name AS name, m.description AS description,
+                   (SELECT COUNT(*) FROM project_employee pe JOIN pm_users u ON u.id = pe.employee_id
+                    WHERE pe.project_id = m.id AND NOT u.is_deleted) AS memberCount
+            FROM (SELECT p.id, p.name, p.description, p.search_vector
+                  FROM projects p
+                  WHERE NOT p.is_deleted AND p.search_vector @@ to_tsquery('simple', :query)
+                  LIMIT :candidates) m
+            ORDER BY ts_rank(m.search_vector, to_tsquery('simple', :query)) DESC, m.id
+            LIMIT :limit OFFSET :offset""", nativeQuery = true)
+    List<ProjectSummary> searchProjects(@Param("query") String query, @Param("candidates") int candidates,
+                                        @Param("offset") int offset, @Param("limit") int limit);
+
+    /**
+     * Typo-tolerant match of the text against project names, most similar
+     * first, served by the trigram index.
+     */
+    @Query(value = """
+            SELECT p.id AS id, p.name AS name, p.description AS description,
+                   (SELECT COUNT(*) FROM project_employee pe JOIN pm_users u ON u.id = pe.employee_id
+                    WHERE pe.project_id = p.id AND NOT u.is_deleted) AS memberCount
+            FROM projects p
+            WHERE NOT p.is_deleted AND :text <% lower(p.name)
+            ORDER BY word_similarity(:text, lower(p.name)) DESC, p.id
+            LIMIT :limit OFFSET :offset""", nativeQuery = true)
+    List<ProjectSummary> searchProjectsBySimilarity(@Param("text") String text,
+                                                    @Param("offset") int offset, @Param("limit") int limit);
+
+    @Query("SELECT p.id AS id, p.name AS name, p.description AS description, "
+            + "(SELECT COUNT(u) FROM p.users u WHERE u.isDeleted = false) AS memberCount "
+            + "FROM Project p WHERE p.id = :id AND p.isDeleted = false")
+    Optional<ProjectSummary> findProjectSummaryById(@Param("id") UUID id);
+
+    @Query("SELECT p.version FROM Project p WHERE p.id = :id AND p.isDeleted = false")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM projects WHERE id = :id AND NOT is_deleted)", nativeQuery = true)
+    boolean existsActiveById(@Param("id") UUID id);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO project_employee (project_id, employee_id) VALUES (:projectId, :userId) "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int addMember(@Param("projectId") UUID projectId, @Param("userId") UUID userId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM project_employee WHERE project_id = :projectId AND employee_id = :userId",
+            nativeQuery = true)
+    int removeMember(@Param("projectId") UUID projectId, @Param("userId") UUID userId);
+
+    @Transactional
     @Modifying
-    @Query("UPDATE Project p SET p.isDeleted = true WHERE p.id = :id")
-    void deleteProject(@Param("id") UUID id);
+    @Query("UPDATE Project p SET p.isDeleted = true, p.version = p.version + 1, p.updatedAt = INSTANT "
+            + "WHERE p.id = :id AND p.isDeleted = false")
+    int deleteProject(@Param("id") UUID id);
 
 
 }
@@ -0,0 +1,116 @@
+package com.i2i.project_management.repository;
+
+import com.i2i.project_management.model.Project;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Building blocks of the project query. Each filter and each ordering maps
+ * onto a predicate the V10 indexes serve, and they combine into a single
+ * statement. Ordering and its keyset predicate come together, since the
+ * cursor only makes sense for the ordering it was taken from.
+ *
+ * <p>Names are compared as {@code lower(name) COLLATE "C"}: code point
+ * order, the same in every database, so a name prefix becomes a plain
+ * range on the index and the same index returns the rows in order. Active
+ * names are unique regardless of case, so the name alone is a total order.
+ */
+public final class ProjectSpecifications {
+
+    /** Quoted, as PostgreSQL folds unquoted collation names to lower case. */
+    private static final String CODE_POINT_COLLATION = "\"C\"";
+
+    private ProjectSpecifications() {
+    }
+
+    public static Specification<Project> notDeleted() {
+        return (root, query, cb) -> cb.isFalse(root.get("isDeleted"));
+    }
+
+    public static Specification<Project> isActive(boolean active) {
+        return (root, query, cb) -> cb.equal(root.get("isActive"), active);
+    }
+
+    /**
+     * Projects the user belongs to. A user is in a project at most once,
+     * so joining the membership table cannot repeat a project.
+     */
+    public static Specification<Project> hasMember(UUID userId) {
+        return (root, query, cb) -> cb.equal(root.join("users").get("id"), userId);
+    }
+
+    /**
+     * Names starting with the prefix, ignoring case: every such name lies
+     * between the prefix and the prefix with its last character bumped.
+     */
+    public static Specification<Project> nameStartsWith(String prefix) {
+        String from = prefix.toLowerCase(Locale.ROOT);
+        int last = from.codePointBefore(from.length());
+        if (last == Character.MAX_CODE_POINT) {
+            return (root, query, cb) -> cb.greaterThanOrEqualTo(sortableName(root, cb), from);
+        }
+        String to = from.substring(0, from.length() - Character.charCount(last))
+                + Character.toString(last + 1);
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(sortableName(root, cb), from),
+                cb.lessThan(sortableName(root, cb), to));
+    }
+
+    /**
+     * Orders by name, continuing after {@code afterName} when it is given.
+     * The cursor name goes through the same lower() as the column, so the
+     * database decides what comes after it. It is bound as a parameter, so
+     * every page runs the same statement.
+     */
+    public static Specification<Project> orderedByName(boolean descending, String afterName) {
+        return (root, query, cb) -> {
+            Expression<String> name = sortableName(root, cb);
+            query.orderBy(descending ? cb.desc(name) : cb.asc(name));
+            if (afterName == null) {
+                return null;
+            }
+            Expression<String> after = collate(cb, cb.lower(((HibernateCriteriaBuilder) cb).value(afterName)));
+            return descending ? cb.lessThan(name, after) : cb.greaterThan(name, after);
+        };
+    }
+
+    /**
+     * Orders by last change, ties by id, continuing after the given row.
+     * The redundant bound on updated_at alone is what lets the index start
+     * at the cursor instead of filtering its way there.
+     */
+    public static Specification<Project> orderedByUpdatedAt(boolean descending, Instant afterUpdatedAt, UUID afterId) {
+        return (root, query, cb) -> {
+            Path<Instant> updatedAt = root.get("updatedAt");
+            Path<UUID> id = root.get("id");
+            query.orderBy(descending
+                    ? List.of(cb.desc(updatedAt), cb.desc(id))
+                    : List.of(cb.asc(updatedAt), cb.asc(id)));
+            if (afterUpdatedAt == null) {
+                return null;
+            }
+            return descending
+                    ? cb.and(cb.lessThanOrEqualTo(updatedAt, afterUpdatedAt),
+                            cb.or(cb.lessThan(updatedAt, afterUpdatedAt), cb.lessThan(id, afterId)))
+                    : cb.and(cb.greaterThanOrEqualTo(updatedAt, afterUpdatedAt),
+                            cb.or(cb.greaterThan(updatedAt, afterUpdatedAt), cb.greaterThan(id, afterId)));
+        };
+    }
+
+    private static Expression<String> sortableName(Root<Project> root, CriteriaBuilder cb) {
+        return collate(cb, cb.lower(root.get("name")));
+    }
+
+    private static Expression<String> collate(CriteriaBuilder cb, Expression<String> expression) {
+        return ((HibernateCriteriaBuilder) cb).collate(expression, CODE_POINT_COLLATION);
+    }
+}
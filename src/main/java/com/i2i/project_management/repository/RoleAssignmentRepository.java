@@ -0,0 +1,45 @@
+package com.i2i.project_management.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based writes against user_roles for granting or revoking roles across
+ * many users at once. User and role ids are bound as arrays, so the
+ * statements stay the same size however many users a request names.
+ */
+public interface RoleAssignmentRepository {
+
+    /**
+     * Active users among the given ids, flagged when they are missing at
+     * least one of the given roles.
+     */
+    List<RoleAssignmentCandidate> findGrantCandidates(Collection<UUID> userIds, Collection<UUID> roleIds);
+
+    /**
+     * Active users among the given ids, flagged when they hold at least one
+     * of the given roles.
+     */
+    List<RoleAssignmentCandidate> findRevokeCandidates(Collection<UUID> userIds, Collection<UUID> roleIds);
+
+    /**
+     * Active users holding the given role, all flagged, for when the role
+     * itself is renamed or deleted.
+     */
+    List<RoleAssignmentCandidate> findRoleHolders(UUID roleId);
+
+    /**
+     * Bumps the token version, the row version and updated_at, so
+     * outstanding tokens and cached ETags of these users are invalidated
+     * together and the users show up in the change feed.
+     */
+    int incrementTokenVersions(Collection<UUID> userIds);
+
+    int grantRoles(Collection<UUID> userIds, Collection<UUID> roleIds);
+
+    int revokeRoles(Collection<UUID> userIds, Collection<UUID> roleIds);
+
+    record RoleAssignmentCandidate(UUID userId, String email, int tokenVersion, boolean affected) {
+    }
+}
@@ -0,0 +1,105 @@
+package com.i2i.project_management.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+class RoleAssignmentRepositoryImpl implements RoleAssignmentRepository {
+
+    private static final String GRANT_CANDIDATES_SQL = """
+            SELECT u.id, u.email, u.token_version,
+                   EXISTS (SELECT 1 FROM roles r
+                           WHERE r.id = ANY(?)
+                             AND NOT EXISTS (SELECT 1 FROM user_roles ur
+                                             WHERE ur.user_id = u.id AND ur.role_id = r.id)) AS affected
+            FROM pm_users u
+            WHERE u.id = ANY(?) AND NOT u.is_deleted""";
+
+    private static final String REVOKE_CANDIDATES_SQL = """
+            SELECT u.id, u.email, u.token_version,
+                   EXISTS (SELECT 1 FROM user_roles ur
+                           WHERE ur.user_id = u.id AND ur.role_id = ANY(?)) AS affected
+            FROM pm_users u
+            WHERE u.id = ANY(?) AND NOT u.is_deleted""";
+
+    private static final String ROLE_HOLDERS_SQL = """
+            SELECT u.id, u.email, u.token_version, TRUE AS affected
+            FROM pm_users u
+            JOIN user_roles ur ON ur.user_id = u.id
+            WHERE ur.role_id = ? AND NOT u.is_deleted""";
+
+    private static final String INCREMENT_TOKEN_VERSIONS_SQL =
+            "UPDATE pm_users SET token_version = token_version + 1, version = version + 1, updated_at = CURRENT_TIMESTAMP "
+                    + "WHERE id = ANY(?)";
+
+    private static final String GRANT_SQL = """
+            INSERT INTO user_roles (user_id, role_id)
+            SELECT u.id, r.id
+            FROM pm_users u
+            JOIN roles r ON r.id = ANY(?) AND NOT r.is_deleted
+            WHERE u.id = ANY(?) AND NOT u.is_deleted
+              AND NOT EXISTS (SELECT 1 FROM user_roles ur WHERE ur.user_id = u.id AND ur.role_id = r.id)
+            ON CONFLICT DO NOTHING""";
+
+    private static final String REVOKE_SQL =
+            "DELETE FROM user_roles WHERE user_id = ANY(?) AND role_id = ANY(?)";
+
+    private static final RowMapper<RoleAssignmentCandidate> CANDIDATE_MAPPER = (resultSet, rowNum) ->
+            new RoleAssignmentCandidate(
+                    resultSet.getObject("id", UUID.class),
+                    resultSet.getString("email"),
+                    resultSet.getInt("token_version"),
+                    resultSet.getBoolean("affected"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    RoleAssignmentRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<RoleAssignmentCandidate> findGrantCandidates(Collection<UUID> userIds, Collection<UUID> roleIds) {
+        return jdbcTemplate.query(GRANT_CANDIDATES_SQL, CANDIDATE_MAPPER, toArray(roleIds), toArray(userIds));
+    }
+
+    @Override
+    public List<RoleAssignmentCandidate> findRevokeCandidates(Collection<UUID> userIds, Collection<UUID> roleIds) {
+        return jdbcTemplate.query(REVOKE_CANDIDATES_SQL, CANDIDATE_MAPPER, toArray(roleIds), toArray(userIds));
+    }
+
+    @Override
+    public List<RoleAssignmentCandidate> findRoleHolders(UUID roleId) {
+        return jdbcTemplate.query(ROLE_HOLDERS_SQL, CANDIDATE_MAPPER, roleId);
+    }
+
+    @Override
+    public int incrementTokenVersions(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(INCREMENT_TOKEN_VERSIONS_SQL, (Object) toArray(userIds));
+    }
+
+    @Override
+    public int grantRoles(Collection<UUID> userIds, Collection<UUID> roleIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(GRANT_SQL, toArray(roleIds), toArray(userIds));
+    }
+
+    @Override
+    public int revokeRoles(Collection<UUID> userIds, Collection<UUID> roleIds) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(REVOKE_SQL, toArray(userIds), toArray(roleIds));
+    }
+
+    private static UUID[] toArray(Collection<UUID> ids) {
+        return ids.toArray(UUID[]::new);
+    }
+}
@@ -13,9 +13,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface RoleRepository extends JpaRepository<Role, UUID> {
-
-    Optional<Role> findByName(String name);
+public interface RoleRepository extends JpaRepository<Role, UUID>, RoleAssignmentRepository {
 
     @Query("SELECT r FROM Role r WHERE r.isDeleted = false")
     List<Role> findAllRoles();
@@ -23,6 +21,6 @@ public interface RoleRepository extends JpaRepository<Role, UUID> {
     @Query("SELECT r FROM Role r WHERE r.id = :id AND r.isDeleted = false")
     Optional<Role> findRoleById(@Param("id") UUID id);
 
-    @Query("SELECT r FROM Role r WHERE r.name = :name AND r.isDeleted = false")
+    @Query("SELECT r FROM Role r WHERE LOWER(r.name) = LOWER(:name) AND r.isDeleted = false")
     Optional<Role> findRoleByName(@Param("name") String name);
 }
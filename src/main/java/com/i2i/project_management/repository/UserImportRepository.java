@@ -0,0 +1,25 @@
+package com.i2i.project_management.repository;
+
+import com.i2i.project_management.model.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * JDBC batch writes used by the bulk user import. Users must already carry
+ * their id, encoded password and roles.
+ */
+public interface UserImportRepository {
+
+    /**
+     * Returns the lower-cased emails among {@code emails} that already
+     * belong to an active user.
+     */
+    Set<String> findActiveEmails(Collection<String> emails);
+
+    void batchInsertUsers(List<User> users);
+
+    void batchInsertUserRoles(List<User> users);
+
+}
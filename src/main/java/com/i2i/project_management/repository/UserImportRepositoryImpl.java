@@ -0,0 +1,78 @@
+package com.i2i.project_management.repository;
+
+import com.i2i.project_management.model.Role;
+import com.i2i.project_management.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+class UserImportRepositoryImpl implements UserImportRepository {
+
+    private static final String ACTIVE_EMAILS_SQL =
+            "SELECT lower(email) FROM pm_users WHERE lower(email) IN (:emails) AND NOT is_deleted";
+
+    private static final String INSERT_USER_SQL = """
+            INSERT INTO pm_users (id, email, password, first_name, last_name, phone_number, address, is_deleted,
+                                  token_version, version, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, FALSE, 0, 0, CURRENT_TIMESTAMP)""";
+
+    private static final String INSERT_USER_ROLE_SQL = "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final int batchSize;
+
+    UserImportRepositoryImpl(JdbcTemplate jdbcTemplate,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Set<String> findActiveEmails(Collection<String> emails) {
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        List<String> lowerCased = emails.stream().map(String::toLowerCase).toList();
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                ACTIVE_EMAILS_SQL, Map.of("emails", lowerCased), String.class));
+    }
+
+    @Override
+    public void batchInsertUsers(List<User> users) {
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, users, batchSize, (statement, user) -> {
+            statement.setObject(1, user.getId());
+            statement.setString(2, user.getEmail());
+            statement.setString(3, user.getPassword());
+            statement.setString(4, user.getFirstName());
+            statement.setString(5, user.getLastName());
+            statement.setString(6, user.getPhoneNumber());
+            statement.setString(7, user.getAddress());
+        });
+    }
+
+    @Override
+    public void batchInsertUserRoles(List<User> users) {
+        List<UUID[]> rows = new ArrayList<>();
+        for (User user : users) {
+            for (Role role : user.getRoles()) {
+                rows.add(new UUID[]{user.getId(), role.getId()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, rows, batchSize, (statement, row) -> {
+            statement.setObject(1, row[0]);
+            statement.setObject(2, row[1]);
+        });
+    }
+}
@@ -1,36 +1,154 @@
 package com.i2i.project_management.repository;
 
 import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.projection.TokenState;
+import com.i2i.project_management.repository.projection.UserChange;
+import com.i2i.project_management.repository.projection.UserProjectRow;
+import com.i2i.project_management.repository.projection.UserRoleRow;
+import com.i2i.project_management.repository.projection.UserSummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserImportRepository {
 
-    Optional<User> findByEmail(String email);
+    @Query("SELECT u.id AS id, u.email AS email, u.firstName AS firstName, u.lastName AS lastName, "
+            + "u.phoneNumber AS phoneNumber, u.address AS address "
+            + "FROM User u WHERE u.isDeleted = false ORDER BY u.id")
+    List<UserSummary> findAllUserSummaries();
 
-    @Query("SELECT u FROM User u WHERE u.isDeleted = false")
-    List<User> findAllUsers();
+    @Query("SELECT u.id AS userId, r.id AS roleId, r.name AS name, r.description AS description "
+            + "FROM User u JOIN u.roles r WHERE u.isDeleted = false AND r.isDeleted = false")
+    List<UserRoleRow> findAllUserRoles();
 
+    @Query("SELECT u.id AS userId, p.id AS projectId, p.name AS name, p.description AS description "
+            + "FROM User u JOIN u.projects p WHERE u.isDeleted = false AND p.isDeleted = false")
+    List<UserProjectRow> findAllUserProjects();
+
+    @Query("SELECT u.id AS id, u.email AS email, u.firstName AS firstName, u.lastName AS lastName, "
+            + "u.phoneNumber AS phoneNumber, u.address AS address "
+            + "FROM User u WHERE u.isDeleted = false ORDER BY u.id")
+    List<UserSummary> findFirstUserSummariesPage(Limit limit);
+
+    @Query("SELECT u.id AS id, u.email AS email, u.firstName AS firstName, u.lastName AS lastName, "
+            + "u.phoneNumber AS phoneNumber, u.address AS address "
+            + "FROM User u WHERE u.isDeleted = false AND u.id > :cursor ORDER BY u.id")
+    List<UserSummary> findUserSummariesPageAfter(@Param("cursor") UUID cursor, Limit limit);
+
+    /**
+     * Users written after the (since, after) watermark and no later than
+     * {@code until}, soft-deleted ones included, in watermark order.
+     */
+    @Query("SELECT u.id AS id, u.email AS email, u.firstName AS firstName, u.lastName AS lastName, "
+            + "u.phoneNumber AS phoneNumber, u.address AS address, u.isDeleted AS deleted, u.updatedAt AS updatedAt "
+            + "FROM User u WHERE (u.updatedAt, u.id) > (:since, :after) AND u.updatedAt <= :until "
+            + "ORDER BY u.updatedAt, u.id")
+    List<UserChange> findChangedSince(@Param("since") Instant since, @Param("after") UUID after,
+                                      @Param("until") Instant until, Limit limit);
+
+    /**
+     * Token state of users written at or after {@code since}. Users still
+     * on token version 0 cannot hold an outdated token and are skipped.
+     */
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion, u.isDeleted AS deleted FROM User u "
+            + "WHERE u.updatedAt >= :since AND (u.tokenVersion > 0 OR u.isDeleted = true)")
+    List<TokenState> findTokenStatesChangedSince(@Param("since") Instant since);
+
+    /**
+     * Active users matching the tsquery, best first: name matches rank
+     * above email matches. Only the first {@code candidates} matches found
+     * in the GIN index are ranked, as for project search.
+     */
+    @Query(value = """
+            SELECT m.id AS id, m.email AS email, m.first_name AS firstName, m.last_name AS lastName,
+                   m.phone_number AS phoneNumber, m.address AS address
+            FROM (SELECT u.id, u.email, u.first_name, u.last_name, u.phone_number, u.address, u.search_vector
+                  FROM pm_users u
+                  WHERE NOT u.is_deleted AND u.search_vector @@ to_tsquery('simple', :query)
+                  LIMIT :candidates) m
+            ORDER BY ts_rank(m.search_vector, to_tsquery('simple', :query)) DESC, m.id
+            LIMIT :limit OFFSET :offset""", nativeQuery = true)
+    List<UserSummary> searchUsers(@Param("query") String query, @Param("candidates") int candidates,
+                                  @Param("offset") int offset, @Param("limit") int limit);
+
+    /**
+     * Typo-tolerant match of the text against name and email, most similar
+     * first, served by the trigram index.
+     */
+    @Query(value = """
+            SELECT u.id AS id, u.email AS email, u.first_name AS firstName, u.last_name AS lastName,
+                   u.phone_number AS phoneNumber, u.address AS address
+            FROM pm_users u
+            WHERE NOT u.is_deleted AND :text <% lower(u.first_name || ' ' || u.last_name || ' ' || u.email)
+            ORDER BY word_similarity(:text, lower(u.first_name || ' ' || u.last_name || ' ' || u.email)) DESC, u.id
+            LIMIT :limit OFFSET :offset""", nativeQuery = true)
+    List<UserSummary> searchUsersBySimilarity(@Param("text") String text,
+                                              @Param("offset") int offset, @Param("limit") int limit);
+
+    @Query("SELECT u.id AS userId, r.id AS roleId, r.name AS name, r.description AS description "
+            + "FROM User u JOIN u.roles r WHERE u.id IN :userIds AND r.isDeleted = false")
+    List<UserRoleRow> findUserRoles(@Param("userIds") Collection<UUID> userIds);
+
+    @Query("SELECT u.id AS userId, p.id AS projectId, p.name AS name, p.description AS description "
+            + "FROM User u JOIN u.projects p WHERE u.id IN :userIds AND p.isDeleted = false")
+    List<UserProjectRow> findUserProjects(@Param("userIds") Collection<UUID> userIds);
+
+    @Transactional
     @Modifying
-    @Query("UPDATE User u SET u.isDeleted = true WHERE u.id = :id")
-    void deleteEmployee(@Param("id") UUID id);
+    @Query("UPDATE User u SET u.isDeleted = true, u.tokenVersion = u.tokenVersion + 1, u.version = u.version + 1, "
+            + "u.updatedAt = INSTANT WHERE u.id = :id AND u.isDeleted = false")
+    int deleteEmployee(@Param("id") UUID id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE LOWER(u.email) = LOWER(:email) AND u.isDeleted = false")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
 
     @Query("SELECT u FROM User u WHERE u.id = :id AND u.isDeleted = false")
     Optional<User> findUserById(@Param("id") UUID id);
 
-    @Query("SELECT u FROM User u WHERE u.email = :email AND u.isDeleted = false")
+    @Query("SELECT u.version FROM User u WHERE u.id = :id AND u.isDeleted = false")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Bumps the version and updated_at of users whose representation
+     * changed through a table other than pm_users (memberships, role
+     * grants), so their ETag changes and the change feed picks them up.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.version = u.version + 1, u.updatedAt = INSTANT WHERE u.id IN :ids")
+    int incrementVersions(@Param("ids") Collection<UUID> ids);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE pm_users SET version = version + 1, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id IN (SELECT employee_id FROM project_employee WHERE project_id = :projectId)",
+            nativeQuery = true)
+    int incrementVersionsOfProjectMembers(@Param("projectId") UUID projectId);
+
+    @Query("SELECT u.id FROM User u JOIN u.projects p WHERE p.id = :projectId")
+    List<UUID> findIdsOfProjectMembers(@Param("projectId") UUID projectId);
+
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM pm_users WHERE id = :id AND NOT is_deleted)", nativeQuery = true)
+    boolean existsActiveById(@Param("id") UUID id);
+
+    @Query("SELECT u FROM User u WHERE LOWER(u.email) = LOWER(:email) AND u.isDeleted = false")
     Optional<User> findActiveByEmail(@Param("email") String email);
 
-    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.email = :email AND u.isDeleted = false")
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE LOWER(u.email) = LOWER(:email) AND u.isDeleted = false")
     Optional<User> findByEmailWithRoles(@Param("email") String email);
 
 
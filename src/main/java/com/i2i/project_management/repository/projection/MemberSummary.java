@@ -0,0 +1,15 @@
+package com.i2i.project_management.repository.projection;
+
+import java.util.UUID;
+
+public interface MemberSummary {
+
+    UUID getId();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+}
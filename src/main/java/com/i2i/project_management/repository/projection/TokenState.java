@@ -0,0 +1,13 @@
+package com.i2i.project_management.repository.projection;
+
+import java.util.UUID;
+
+public interface TokenState {
+
+    UUID getId();
+
+    int getTokenVersion();
+
+    boolean isDeleted();
+
+}
@@ -0,0 +1,11 @@
+package com.i2i.project_management.repository.projection;
+
+import java.time.Instant;
+
+public interface UserChange extends UserSummary {
+
+    boolean isDeleted();
+
+    Instant getUpdatedAt();
+
+}
@@ -0,0 +1,19 @@
+package com.i2i.project_management.repository.projection;
+
+import java.util.UUID;
+
+public interface UserSummary {
+
+    UUID getId();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getPhoneNumber();
+
+    String getAddress();
+
+}
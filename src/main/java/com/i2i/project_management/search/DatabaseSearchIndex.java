@@ -0,0 +1,59 @@
+package com.i2i.project_management.search;
+
+import com.i2i.project_management.Dto.ProjectDto;
+import com.i2i.project_management.Dto.UserDto;
+import com.i2i.project_management.mapper.ProjectMapper;
+import com.i2i.project_management.mapper.UserMapper;
+import com.i2i.project_management.repository.ProjectRepository;
+import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.repository.projection.ProjectSummary;
+import com.i2i.project_management.repository.projection.UserSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Searches PostgreSQL directly: ranked full-text matching on the
+ * {@code search_vector} columns, and a trigram match on names when no row
+ * matches the words as prefixes, so a misspelt name still finds its row.
+ * Both queries are served by GIN indexes. Users come back with their roles
+ * and projects, read for just the users on the page.
+ */
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "database", matchIfMissing = true)
+@RequiredArgsConstructor
+public class DatabaseSearchIndex implements SearchIndex {
+
+    private final ProjectRepository projectRepository;
+
+    private final UserRepository userRepository;
+
+    @Override
+    public List<ProjectDto> searchProjects(SearchQuery query, int offset, int limit) {
+        List<ProjectSummary> projects = projectRepository.searchProjects(query.tsQuery(),
+                SearchQuery.MAX_RESULTS, offset, limit);
+        if (projects.isEmpty() && query.allowsFuzzyMatch() && (offset == 0
+                || projectRepository.searchProjects(query.tsQuery(), 1, 0, 1).isEmpty())) {
+            projects = projectRepository.searchProjectsBySimilarity(query.text(), offset, limit);
+        }
+        return projects.stream().map(ProjectMapper::toDto).toList();
+    }
+
+    @Override
+    public List<UserDto> searchUsers(SearchQuery query, int offset, int limit) {
+        List<UserSummary> users = userRepository.searchUsers(query.tsQuery(),
+                SearchQuery.MAX_RESULTS, offset, limit);
+        if (users.isEmpty() && query.allowsFuzzyMatch() && (offset == 0
+                || userRepository.searchUsers(query.tsQuery(), 1, 0, 1).isEmpty())) {
+            users = userRepository.searchUsersBySimilarity(query.text(), offset, limit);
+        }
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> userIds = users.stream().map(UserSummary::getId).toList();
+        return UserMapper.toDtos(users, userRepository.findUserRoles(userIds), userRepository.findUserProjects(userIds));
+    }
+}
@@ -0,0 +1,216 @@
+package com.i2i.project_management.search;
+
+import com.i2i.project_management.Dto.ProjectDto;
+import com.i2i.project_management.Dto.UserDto;
+import com.i2i.project_management.event.DomainEvent;
+import com.i2i.project_management.mapper.ProjectMapper;
+import com.i2i.project_management.model.Project;
+import com.i2i.project_management.repository.ProjectRepository;
+import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.repository.projection.UserSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves search from {@link InvertedIndex}es held in this process, so a
+ * query never reaches the database. The indexes are filled by a keyset
+ * scan once the application is ready and then kept current from the
+ * {@link DomainEvent}s of committed writes. Until the scan finishes,
+ * search sees only the rows read so far.
+ *
+ * <p>Results carry only the indexed fields: projects their id, name and
+ * description, users their id, names, email, phone number and address,
+ * without member counts, roles or projects. Writes are only seen by the
+ * instance that made them, so this engine suits a single instance; with
+ * several, use the database engine.
+ */
+@Component
+@ConditionalOnProperty(name = "search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemorySearchIndex implements SearchIndex {
+
+    static final int SCAN_BATCH_SIZE = 1_000;
+
+    private final ProjectRepository projectRepository;
+
+    private final UserRepository userRepository;
+
+    private final InvertedIndex projects = new InvertedIndex();
+
+    private final InvertedIndex users = new InvertedIndex();
+
+    /**
+     * Ids deleted while the scan runs, which it must not add back from a
+     * batch read before the delete. Null once the scan is over. Checking
+     * it and adding a scanned row happen under {@link #scanLock}, as do
+     * recording a delete and applying it, so the two cannot interleave.
+     */
+    private volatile Set<UUID> removedDuringScan = ConcurrentHashMap.newKeySet();
+
+    /**
+     * A {@link ReentrantLock} rather than {@code synchronized}, so the
+     * virtual threads applying events do not pin their carrier.
+     */
+    private final ReentrantLock scanLock = new ReentrantLock();
+
+    @Override
+    public List<ProjectDto> searchProjects(SearchQuery query, int offset, int limit) {
+        return projects.search(query.terms(), query.allowsFuzzyMatch(), offset, limit).stream()
+                .map(InMemorySearchIndex::toProjectDto)
+                .toList();
+    }
+
+    @Override
+    public List<UserDto> searchUsers(SearchQuery query, int offset, int limit) {
+        return users.search(query.terms(), query.allowsFuzzyMatch(), offset, limit).stream()
+                .map(InMemorySearchIndex::toUserDto)
+                .toList();
+    }
+
+    /**
+     * Reads every live project and user in id order, {@link #SCAN_BATCH_SIZE}
+     * rows per query. Rows already indexed by an event are left alone, as
+     * the event is at least as recent as the batch.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void fill() {
+        long start = System.nanoTime();
+        Limit limit = Limit.of(SCAN_BATCH_SIZE);
+        List<Project> projectBatch = projectRepository.findFirstProjectsPage(limit);
+        while (!projectBatch.isEmpty()) {
+            projectBatch.forEach(project -> putIfAbsent(ProjectMapper.toDto(project)));
+            projectBatch = projectBatch.size() < SCAN_BATCH_SIZE ? List.of()
+                    : projectRepository.findProjectsPageAfter(projectBatch.getLast().getId(), limit);
+        }
+        List<UserSummary> userBatch = userRepository.findFirstUserSummariesPage(limit);
+        while (!userBatch.isEmpty()) {
+            userBatch.forEach(this::putIfAbsent);
+            userBatch = userBatch.size() < SCAN_BATCH_SIZE ? List.of()
+                    : userRepository.findUserSummariesPageAfter(userBatch.getLast().getId(), limit);
+        }
+        removedDuringScan = null;
+        projects.trimToSize();
+        users.trimToSize();
+        log.info("Search index filled with {} projects ({} terms) and {} users ({} terms) in {} ms",
+                projects.size(), projects.termCount(), users.size(), users.termCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Applies a committed write. Payloads are the DTOs the services record
+     * in the outbox; events for memberships and roles change nothing
+     * indexed and are ignored.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void apply(DomainEvent event) {
+        switch (event.type()) {
+            case PROJECT_CREATED, PROJECT_UPDATED -> put((ProjectDto) event.payload());
+            case PROJECT_DELETED -> remove(projects, event.aggregateId());
+            case USER_CREATED, USER_UPDATED -> put((UserDto) event.payload());
+            case USERS_IMPORTED -> ((List<?>) event.payload()).forEach(user -> put((UserDto) user));
+            case USER_DELETED -> remove(users, event.aggregateId());
+            default -> {
+            }
+        }
+    }
+
+    private void put(ProjectDto project) {
+        projects.put(project.getId(), projectFields(project), project.getName(), project.getDescription());
+    }
+
+    private void putIfAbsent(ProjectDto project) {
+        scanLock.lock();
+        try {
+            Set<UUID> removed = removedDuringScan;
+            if (removed == null || !removed.contains(project.getId())) {
+                projects.putIfAbsent(project.getId(), projectFields(project), project.getName(),
+                        project.getDescription());
+            }
+        } finally {
+            scanLock.unlock();
+        }
+    }
+
+    private void put(UserDto user) {
+        users.put(user.getId(), userFields(user.getFirstName(), user.getLastName(), user.getEmail(),
+                        user.getPhoneNumber(), user.getAddress()),
+                user.getFirstName() + " " + user.getLastName(), emailLocalPart(user.getEmail()));
+    }
+
+    private void putIfAbsent(UserSummary user) {
+        scanLock.lock();
+        try {
+            Set<UUID> removed = removedDuringScan;
+            if (removed == null || !removed.contains(user.getId())) {
+                users.putIfAbsent(user.getId(), userFields(user.getFirstName(), user.getLastName(), user.getEmail(),
+                                user.getPhoneNumber(), user.getAddress()),
+                        user.getFirstName() + " " + user.getLastName(), emailLocalPart(user.getEmail()));
+            }
+        } finally {
+            scanLock.unlock();
+        }
+    }
+
+    private void remove(InvertedIndex index, UUID id) {
+        scanLock.lock();
+        try {
+            Set<UUID> removed = removedDuringScan;
+            if (removed != null) {
+                removed.add(id);
+            }
+            index.remove(id);
+        } finally {
+            scanLock.unlock();
+        }
+    }
+
+    private static String[] projectFields(ProjectDto project) {
+        return new String[] {project.getName(), project.getDescription()};
+    }
+
+    private static String[] userFields(String firstName, String lastName, String email, String phoneNumber,
+                                       String address) {
+        return new String[] {firstName, lastName, email, phoneNumber, address};
+    }
+
+    /** The part before the @, as the database indexes it: the domain would match nearly everyone. */
+    private static String emailLocalPart(String email) {
+        if (email == null) {
+            return null;
+        }
+        int at = email.indexOf('@');
+        return at < 0 ? email : email.substring(0, at);
+    }
+
+    private static ProjectDto toProjectDto(InvertedIndex.Hit hit) {
+        ProjectDto projectDto = new ProjectDto();
+        projectDto.setId(hit.id());
+        projectDto.setName(hit.fields()[0]);
+        projectDto.setDescription(hit.fields()[1]);
+        return projectDto;
+    }
+
+    private static UserDto toUserDto(InvertedIndex.Hit hit) {
+        UserDto userDto = new UserDto();
+        userDto.setId(hit.id());
+        userDto.setFirstName(hit.fields()[0]);
+        userDto.setLastName(hit.fields()[1]);
+        userDto.setEmail(hit.fields()[2]);
+        userDto.setPhoneNumber(hit.fields()[3]);
+        userDto.setAddress(hit.fields()[4]);
+        return userDto;
+    }
+}
@@ -0,0 +1,628 @@
+package com.i2i.project_management.search;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over one kind of document, each a UUID with a few stored
+ * string fields and two texts to match on: a primary one (a name) and a
+ * secondary one. Documents get dense int numbers in insertion order; a
+ * term's postings are those numbers as varint-encoded gaps, with the low
+ * bit telling whether the term occurs in the primary text, so a posting
+ * usually takes a single byte. Stored fields are kept as one UTF-8 byte
+ * array per document and only decoded for the hits returned.
+ *
+ * <p>Postings are append-only. Replacing or removing a document marks its
+ * number dead and a replacement is appended under a new number; once dead
+ * numbers outnumber live ones, everything is renumbered and rewritten.
+ *
+ * <p>Every word of a query has to match. A word of
+ * {@link SearchQuery#MIN_PREFIX_LENGTH} or more characters matches the
+ * terms it is a prefix of, a shorter one only itself. A word scores 2 in
+ * the primary text and 1 in the secondary one, plus 1 when it matched a
+ * term exactly rather than as a prefix; hits are ranked by the sum, ties
+ * in index order. When nothing matches, a query may be retried with every
+ * term one edit away from each word.
+ *
+ * <p>Thread-safe: searches share a read lock, writes take the write lock.
+ */
+final class InvertedIndex {
+
+    /** Fuzzy expansion stops after this many terms per word. */
+    static final int MAX_FUZZY_TERMS = 64;
+
+    private static final int MIN_COMPACTION_SIZE = 1_024;
+
+    private static final int PRIMARY = 2;
+
+    private static final int SECONDARY = 1;
+
+    private static final int EXACT_BONUS = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private NavigableMap<String, Postings> terms = new TreeMap<>();
+
+    /** Every character that occurs in a term, for generating fuzzy variants. */
+    private final BitSet alphabet = new BitSet();
+
+    private long[] idHigh = new long[16];
+
+    private long[] idLow = new long[16];
+
+    private byte[][] stored = new byte[16][];
+
+    private BitSet live = new BitSet();
+
+    private int docCount;
+
+    private int liveCount;
+
+    /** Open-addressing table from UUID to document number + 1; 0 marks a free slot. */
+    private int[] slots = new int[32];
+
+    /** A document found by a search: its id and stored fields. */
+    record Hit(UUID id, String[] fields) {
+    }
+
+    /**
+     * Adds the document, or replaces the one with the same id. A null text
+     * is treated as empty, so is a null stored field apart from coming back
+     * as null.
+     */
+    void put(UUID id, String[] fields, String primaryText, String secondaryText) {
+        lock.writeLock().lock();
+        try {
+            add(id, fields, primaryText, secondaryText, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the document unless one with the same id is already indexed.
+     * Used while the index is being filled from a scan, so a row read
+     * before a concurrent update does not overwrite the update.
+     */
+    void putIfAbsent(UUID id, String[] fields, String primaryText, String secondaryText) {
+        lock.writeLock().lock();
+        try {
+            add(id, fields, primaryText, secondaryText, false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            int slot = find(id);
+            if (slots[slot] != 0 && live.get(slots[slot] - 1)) {
+                kill(slots[slot] - 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Cuts every postings list down to its length. Lists grow by half when
+     * full, so after a bulk load this gives back about a fifth of their
+     * memory; later appends simply grow them again.
+     */
+    void trimToSize() {
+        lock.writeLock().lock();
+        try {
+            terms.values().forEach(Postings::trim);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * At most {@code limit} documents matching every word, best first,
+     * skipping the first {@code offset}. With {@code fuzzy} set and no exact
+     * or prefix match, the words are widened to terms one edit away.
+     */
+    List<Hit> search(List<String> words, boolean fuzzy, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Hit> hits = search(words, offset, limit, false);
+            if (hits.isEmpty() && fuzzy && (offset == 0 || search(words, 0, 1, false).isEmpty())) {
+                hits = search(words, offset, limit, true);
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Hit> search(List<String> words, int offset, int limit, boolean fuzzy) {
+        List<WordMatch> matches = new ArrayList<>(words.size());
+        for (String word : words) {
+            WordMatch match = fuzzy ? fuzzyMatch(word) : match(word);
+            if (match.postings.isEmpty()) {
+                return List.of();
+            }
+            matches.add(match);
+        }
+        // The rarest word picks the candidates; the others only filter them.
+        matches.sort(Comparator.comparingLong(WordMatch::size));
+        Candidates candidates = candidates(matches.get(0));
+        for (int i = 1; i < matches.size() && candidates.size > 0; i++) {
+            candidates.intersect(matches.get(i));
+        }
+        return top(candidates, offset, limit);
+    }
+
+    private WordMatch match(String word) {
+        WordMatch match = new WordMatch(word);
+        if (SearchQuery.isPrefix(word)) {
+            terms.subMap(word, true, word + Character.MAX_VALUE, false).forEach(match::add);
+        } else {
+            Postings postings = terms.get(word);
+            if (postings != null) {
+                match.add(word, postings);
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Terms one deletion, transposition, substitution or insertion away
+     * from the word, matched as prefixes when the variant is long enough,
+     * like the word itself would be.
+     */
+    private WordMatch fuzzyMatch(String word) {
+        // Cheapest edits first, so they survive the cap on expanded terms.
+        Set<String> variants = new LinkedHashSet<>();
+        variants.add(word);
+        for (int i = 0; i < word.length(); i++) {
+            variants.add(word.substring(0, i) + word.substring(i + 1));
+            if (i + 1 < word.length()) {
+                variants.add(word.substring(0, i) + word.charAt(i + 1) + word.charAt(i) + word.substring(i + 2));
+            }
+        }
+        for (int c = alphabet.nextSetBit(0); c >= 0; c = alphabet.nextSetBit(c + 1)) {
+            for (int i = 0; i <= word.length(); i++) {
+                variants.add(word.substring(0, i) + (char) c + word.substring(i));
+                if (i < word.length() && word.charAt(i) != c) {
+                    variants.add(word.substring(0, i) + (char) c + word.substring(i + 1));
+                }
+            }
+        }
+        WordMatch fuzzy = new WordMatch(word);
+        for (String variant : variants) {
+            if (variant.isEmpty()) {
+                continue;
+            }
+            Map<String, Postings> matched = SearchQuery.isPrefix(variant)
+                    ? terms.subMap(variant, true, variant + Character.MAX_VALUE, false)
+                    : terms.containsKey(variant) ? Map.of(variant, terms.get(variant)) : Map.of();
+            for (Map.Entry<String, Postings> entry : matched.entrySet()) {
+                if (fuzzy.postings.size() == MAX_FUZZY_TERMS) {
+                    return fuzzy;
+                }
+                fuzzy.add(entry.getKey(), entry.getValue());
+            }
+        }
+        return fuzzy;
+    }
+
+    private Candidates candidates(WordMatch match) {
+        long[] entries = new long[(int) Math.min(Integer.MAX_VALUE - 8, match.size())];
+        int count = 0;
+        for (Map.Entry<String, Postings> entry : match.postings.entrySet()) {
+            Postings postings = entry.getValue();
+            int bonus = entry.getKey().equals(match.word) ? EXACT_BONUS : 0;
+            int doc = 0;
+            for (int pos = 0; pos < postings.length; ) {
+                int value = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = postings.data[pos++];
+                    value |= (b & 0x7f) << shift;
+                    shift += 7;
+                } while (b < 0);
+                doc += value >>> 1;
+                if (live.get(doc)) {
+                    entries[count++] = (long) doc << 8 | score(value, bonus);
+                }
+            }
+        }
+        Arrays.sort(entries, 0, count);
+        Candidates candidates = new Candidates(count);
+        for (int i = 0; i < count; i++) {
+            int doc = (int) (entries[i] >>> 8);
+            int score = (int) (entries[i] & 0xff);
+            if (candidates.size > 0 && candidates.docs[candidates.size - 1] == doc) {
+                candidates.scores[candidates.size - 1] = Math.max(candidates.scores[candidates.size - 1], score);
+            } else {
+                candidates.docs[candidates.size] = doc;
+                candidates.scores[candidates.size++] = score;
+            }
+        }
+        return candidates;
+    }
+
+    private static int score(int posting, int bonus) {
+        return ((posting & 1) == 1 ? PRIMARY : SECONDARY) + bonus;
+    }
+
+    /**
+     * The best {@code limit} hits after {@code offset}. Scores are small
+     * integers, so counting how many candidates have each score finds the
+     * cut-off without sorting every candidate.
+     */
+    private List<Hit> top(Candidates candidates, int offset, int limit) {
+        int wanted = offset + limit;
+        if (candidates.size <= offset || limit <= 0) {
+            return List.of();
+        }
+        int maxScore = 0;
+        for (int i = 0; i < candidates.size; i++) {
+            maxScore = Math.max(maxScore, candidates.scores[i]);
+        }
+        int[] counts = new int[maxScore + 1];
+        for (int i = 0; i < candidates.size; i++) {
+            counts[candidates.scores[i]]++;
+        }
+        int threshold = maxScore;
+        int above = 0;
+        while (threshold > 0 && above + counts[threshold] < wanted) {
+            above += counts[threshold--];
+        }
+        // Everything above the threshold makes it, and the earliest documents at it fill the rest.
+        int atThreshold = wanted - above;
+        long[] ranked = new long[Math.min(wanted, candidates.size)];
+        int count = 0;
+        for (int i = 0; i < candidates.size && count < ranked.length; i++) {
+            int score = candidates.scores[i];
+            if (score > threshold || (score == threshold && atThreshold-- > 0)) {
+                ranked[count++] = (long) (maxScore - score) << 32 | candidates.docs[i];
+            }
+        }
+        Arrays.sort(ranked, 0, count);
+        List<Hit> hits = new ArrayList<>(Math.max(0, count - offset));
+        for (int i = offset; i < count; i++) {
+            int doc = (int) ranked[i];
+            hits.add(new Hit(new UUID(idHigh[doc], idLow[doc]), decode(stored[doc])));
+        }
+        return hits;
+    }
+
+    private void add(UUID id, String[] fields, String primaryText, String secondaryText, boolean replace) {
+        int slot = find(id);
+        if (slots[slot] != 0) {
+            int existing = slots[slot] - 1;
+            if (live.get(existing)) {
+                if (!replace) {
+                    return;
+                }
+                // Killing can compact, which renumbers documents and rebuilds the id table.
+                kill(existing);
+                slot = find(id);
+            }
+        }
+        int doc = docCount++;
+        if (doc == stored.length) {
+            int capacity = doc * 2;
+            idHigh = Arrays.copyOf(idHigh, capacity);
+            idLow = Arrays.copyOf(idLow, capacity);
+            stored = Arrays.copyOf(stored, capacity);
+        }
+        idHigh[doc] = id.getMostSignificantBits();
+        idLow[doc] = id.getLeastSignificantBits();
+        stored[doc] = encode(fields);
+        live.set(doc);
+        liveCount++;
+        slots[slot] = doc + 1;
+        if (docCount * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+
+        Set<String> primary = new TreeSet<>(tokens(primaryText));
+        Set<String> all = new TreeSet<>(primary);
+        all.addAll(tokens(secondaryText));
+        for (String term : all) {
+            Postings postings = terms.get(term);
+            if (postings == null) {
+                postings = new Postings();
+                terms.put(term, postings);
+                term.chars().forEach(alphabet::set);
+            }
+            postings.append(doc, primary.contains(term));
+        }
+    }
+
+    private static List<String> tokens(String text) {
+        return text == null ? List.of() : SearchQuery.tokenize(text);
+    }
+
+    private void kill(int doc) {
+        live.clear(doc);
+        liveCount--;
+        int dead = docCount - liveCount;
+        if (dead > liveCount && dead >= MIN_COMPACTION_SIZE) {
+            compact();
+        }
+    }
+
+    /**
+     * Renumbers the live documents in their current order and rewrites
+     * every postings list without the dead ones, dropping terms left
+     * without documents.
+     */
+    private void compact() {
+        int[] renumbered = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (live.get(doc)) {
+                idHigh[next] = idHigh[doc];
+                idLow[next] = idLow[doc];
+                stored[next] = stored[doc];
+                renumbered[doc] = next++;
+            } else {
+                renumbered[doc] = -1;
+            }
+        }
+        Arrays.fill(stored, next, docCount, null);
+        docCount = next;
+        live = new BitSet(next);
+        live.set(0, next);
+
+        NavigableMap<String, Postings> compacted = new TreeMap<>();
+        for (Map.Entry<String, Postings> entry : terms.entrySet()) {
+            Postings postings = entry.getValue().renumber(renumbered);
+            if (postings.count > 0) {
+                compacted.put(entry.getKey(), postings);
+            }
+        }
+        terms = compacted;
+        rehash(Math.max(32, Integer.highestOneBit(Math.max(1, next)) * 4));
+    }
+
+    /** Slot holding the id, or the free slot where it would go. */
+    private int find(UUID id) {
+        long high = id.getMostSignificantBits();
+        long low = id.getLeastSignificantBits();
+        int mask = slots.length - 1;
+        for (int slot = hash(high, low) & mask; ; slot = (slot + 1) & mask) {
+            int doc = slots[slot] - 1;
+            if (doc < 0 || (idHigh[doc] == high && idLow[doc] == low)) {
+                return slot;
+            }
+        }
+    }
+
+    /** Rebuilds the id table, keeping only slots of live documents. */
+    private void rehash(int capacity) {
+        slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int doc = live.nextSetBit(0); doc >= 0; doc = live.nextSetBit(doc + 1)) {
+            int slot = hash(idHigh[doc], idLow[doc]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = doc + 1;
+        }
+    }
+
+    private static int hash(long high, long low) {
+        long h = (high ^ low) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static byte[] encode(String[] fields) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (String field : fields) {
+            if (field == null) {
+                writeVarint(out, 0);
+                continue;
+            }
+            byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+            writeVarint(out, bytes.length + 1);
+            out.writeBytes(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static String[] decode(byte[] bytes) {
+        List<String> fields = new ArrayList<>();
+        for (int pos = 0; pos < bytes.length; ) {
+            int length = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[pos++];
+                length |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            if (length == 0) {
+                fields.add(null);
+            } else {
+                fields.add(new String(bytes, pos, length - 1, StandardCharsets.UTF_8));
+                pos += length - 1;
+            }
+        }
+        return fields.toArray(String[]::new);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /** Terms a query word matched, with their postings. */
+    private static final class WordMatch {
+
+        private final String word;
+
+        private final Map<String, Postings> postings = new TreeMap<>();
+
+        private long size;
+
+        private WordMatch(String word) {
+            this.word = word;
+        }
+
+        private void add(String term, Postings termPostings) {
+            if (postings.putIfAbsent(term, termPostings) == null) {
+                size += termPostings.count;
+            }
+        }
+
+        private long size() {
+            return size;
+        }
+    }
+
+    /** Matching documents in ascending order, with their scores so far. */
+    private static final class Candidates {
+
+        private final int[] docs;
+
+        private final int[] scores;
+
+        private int size;
+
+        private Candidates(int capacity) {
+            docs = new int[capacity];
+            scores = new int[capacity];
+        }
+
+        /**
+         * Keeps the candidates the word matches and adds its score. Each
+         * postings list is walked once alongside the sorted candidates, so
+         * a common word costs a scan of its postings but no allocation
+         * beyond one score per candidate.
+         */
+        private void intersect(WordMatch match) {
+            int[] wordScores = new int[size];
+            for (Map.Entry<String, Postings> entry : match.postings.entrySet()) {
+                Postings postings = entry.getValue();
+                int bonus = entry.getKey().equals(match.word) ? EXACT_BONUS : 0;
+                int doc = 0;
+                int i = 0;
+                for (int pos = 0; pos < postings.length && i < size; ) {
+                    int value = 0;
+                    int shift = 0;
+                    byte b;
+                    do {
+                        b = postings.data[pos++];
+                        value |= (b & 0x7f) << shift;
+                        shift += 7;
+                    } while (b < 0);
+                    doc += value >>> 1;
+                    while (i < size && docs[i] < doc) {
+                        i++;
+                    }
+                    if (i < size && docs[i] == doc) {
+                        wordScores[i] = Math.max(wordScores[i], score(value, bonus));
+                    }
+                }
+            }
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (wordScores[i] > 0) {
+                    docs[kept] = docs[i];
+                    scores[kept++] = scores[i] + wordScores[i];
+                }
+            }
+            size = kept;
+        }
+    }
+
+    /**
+     * Documents containing a term, as varint gaps shifted left by one with
+     * the primary-text flag in the low bit. Numbers only ever grow, so a
+     * list is appended to and never edited in place.
+     */
+    private static final class Postings {
+
+        private byte[] data = new byte[8];
+
+        private int length;
+
+        private int count;
+
+        private int lastDoc;
+
+        private void append(int doc, boolean primary) {
+            int value = (doc - lastDoc) << 1 | (primary ? 1 : 0);
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, Math.max(length + 5, data.length + (data.length >> 1)));
+            }
+            while ((value & ~0x7f) != 0) {
+                data[length++] = (byte) ((value & 0x7f) | 0x80);
+                value >>>= 7;
+            }
+            data[length++] = (byte) value;
+            lastDoc = doc;
+            count++;
+        }
+
+        private Postings renumber(int[] renumbered) {
+            Postings postings = new Postings();
+            int doc = 0;
+            for (int pos = 0; pos < length; ) {
+                int value = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[pos++];
+                    value |= (b & 0x7f) << shift;
+                    shift += 7;
+                } while (b < 0);
+                doc += value >>> 1;
+                if (renumbered[doc] >= 0) {
+                    postings.append(renumbered[doc], (value & 1) == 1);
+                }
+            }
+            postings.trim();
+            return postings;
+        }
+
+        private void trim() {
+            if (data.length > length) {
+                data = Arrays.copyOf(data, length);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.i2i.project_management.search;
+
+import com.i2i.project_management.Dto.ProjectDto;
+import com.i2i.project_management.Dto.UserDto;
+
+import java.util.List;
+
+/**
+ * Engine behind project and user search. Exactly one implementation is
+ * active, chosen with the {@code search.engine} property. Both rank the
+ * matches, skip deleted rows and fall back to a typo-tolerant match when
+ * the words find nothing; paging is the caller's.
+ */
+public interface SearchIndex {
+
+    /**
+     * At most {@code limit} projects matching every word of the query,
+     * best first, skipping the first {@code offset}.
+     */
+    List<ProjectDto> searchProjects(SearchQuery query, int offset, int limit);
+
+    /**
+     * At most {@code limit} users matching every word of the query, best
+     * first, skipping the first {@code offset}.
+     */
+    List<UserDto> searchUsers(SearchQuery query, int offset, int limit);
+}
@@ -0,0 +1,87 @@
+package com.i2i.project_management.search;
+
+import com.i2i.project_management.exception.ValidationException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Search box input, reduced to the lower-cased words it is matched on.
+ * Every word has to match; words of {@link #MIN_PREFIX_LENGTH} or more
+ * characters as prefixes, so "proj alp" finds "Project Alpha". Shorter
+ * words only match whole words, because a one- or two-letter prefix
+ * matches too much of an index to rank quickly. Anything but letters and
+ * digits is dropped, which leaves nothing to_tsquery could read as
+ * operators.
+ */
+public record SearchQuery(String tsQuery, String text) {
+
+    public static final int MIN_PREFIX_LENGTH = 3;
+
+    public static final int MAX_TERMS = 8;
+
+    /**
+     * Deepest result a search pages to, and so also the number of index
+     * matches that are ranked.
+     */
+    public static final int MAX_RESULTS = 1_000;
+
+    public static SearchQuery parse(String input) throws ValidationException {
+        if (input == null || input.isBlank()) {
+            throw new ValidationException("Search text should not be empty");
+        }
+        List<String> terms = tokenize(input).stream()
+                .distinct()
+                .limit(MAX_TERMS)
+                .toList();
+        if (terms.isEmpty()) {
+            throw new ValidationException("Search text should contain a letter or digit");
+        }
+        String tsQuery = terms.stream()
+                .map(term -> isPrefix(term) ? term + ":*" : term)
+                .collect(Collectors.joining(" & "));
+        return new SearchQuery(tsQuery, String.join(" ", terms));
+    }
+
+    /**
+     * Lower-cased runs of letters and digits, the unit both the query and
+     * the in-memory index are split into.
+     */
+    public static List<String> tokenize(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    public static boolean isPrefix(String term) {
+        return term.length() >= MIN_PREFIX_LENGTH;
+    }
+
+    /**
+     * Offset of the given page, rejected once it lies past
+     * {@link #MAX_RESULTS}: ranking deeper would read more of the index than
+     * a search box is worth, so the caller has to refine the text instead.
+     */
+    public static int offset(int page, int pageSize) throws ValidationException {
+        long offset = (long) page * pageSize;
+        if (offset >= MAX_RESULTS) {
+            throw new ValidationException("Search only pages through the first " + MAX_RESULTS
+                    + " results, refine the search text");
+        }
+        return (int) offset;
+    }
+
+    public List<String> terms() {
+        return List.of(text.split(" "));
+    }
+
+    /**
+     * Trigrams of one or two characters match almost anything, so the
+     * typo-tolerant fallback is skipped for such short input.
+     */
+    public boolean allowsFuzzyMatch() {
+        return text.length() >= MIN_PREFIX_LENGTH;
+    }
+}
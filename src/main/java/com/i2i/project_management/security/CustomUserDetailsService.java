@@ -4,6 +4,7 @@ import com.i2i.project_management.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -11,19 +12,37 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
+    private final UserDetailsCache userDetailsCache;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        CustomUserDetails cachedUserDetails = userDetailsCache.get(username);
+        if (cachedUserDetails != null) {
+            return cachedUserDetails;
+        }
         log.debug("Loading user details for {}", username);
-        return userRepository.findByEmailWithRoles(username)
+        CustomUserDetails userDetails = userRepository.findByEmailWithRoles(username)
                 .map(CustomUserDetails::new)
                 .orElseThrow(() -> {
                     log.warn("User {} not found during authentication", username);
                     return new UsernameNotFoundException("User not found");
                 });
+        userDetailsCache.put(username, userDetails);
+        return userDetails;
     }
-}
 
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        log.info("Upgrading password hash for {}", userDetails.getUsername());
+        userRepository.updatePassword(userDetails.getUsername(), newPassword);
+        userDetailsCache.evict(userDetails.getUsername());
+        if (userDetails instanceof CustomUserDetails customUserDetails) {
+            customUserDetails.getUser().setPassword(newPassword);
+        }
+        return userDetails;
+    }
+}
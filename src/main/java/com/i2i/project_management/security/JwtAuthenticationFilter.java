@@ -1,22 +1,28 @@
 package com.i2i.project_management.security;
 
 import com.i2i.project_management.service.impl.JwtService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
@@ -27,6 +33,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final CustomUserDetailsService userDetailsService;
 
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Value("${jwt.stateless-auth}")
+    private boolean statelessAuth;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -34,7 +47,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
         final String jwt;
-        final String userEmail;
+        final Claims claims;
 
         if (!StringUtils.hasText(authHeader) || !authHeader.startsWith("Bearer ")) {
             log.debug("No valid Authorization header found for request: {}", request.getRequestURI());
@@ -45,31 +58,79 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            claims = verifiedTokenCache.verify(jwt);
         } catch (Exception e) {
             log.warn("Failed to parse JWT: {}", e.getMessage());
             filterChain.doFilter(request, response);
             return;
         }
 
-        if (StringUtils.hasText(userEmail)
+        if (StringUtils.hasText(claims.getSubject())
                 && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
-
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            if (tokenRevocationRegistry.isRevoked(claims.getId())) {
+                log.warn("Rejected revoked JWT for {}", claims.getSubject());
+            } else if (canAuthenticateFromClaims(claims)) {
+                authenticateFromClaims(claims, request);
+            } else {
+                authenticateFromUserDetails(claims, request);
             }
         }
         filterChain.doFilter(request, response);
     }
-}
 
+    private boolean canAuthenticateFromClaims(Claims claims) {
+        if (!statelessAuth || !jwtService.hasStatelessClaims(claims)) {
+            return false;
+        }
+        UUID userId = jwtService.extractUserId(claims);
+        int tokenVersion = jwtService.extractTokenVersion(claims);
+        return !tokenRevocationRegistry.requiresLookup(userId, tokenVersion);
+    }
+
+    private void authenticateFromClaims(Claims claims, HttpServletRequest request) {
+        JwtPrincipal principal = new JwtPrincipal(jwtService.extractUserId(claims), claims.getSubject());
+        List<SimpleGrantedAuthority> authorities = jwtService.extractRoles(claims).stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, authorities), request);
+    }
+
+    private void authenticateFromUserDetails(Claims claims, HttpServletRequest request) {
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        } catch (UsernameNotFoundException e) {
+            log.warn("JWT subject {} no longer maps to an active user", claims.getSubject());
+            return;
+        }
+        if (!userDetails.isEnabled()) {
+            log.warn("Rejected JWT of disabled user {}", claims.getSubject());
+            return;
+        }
+        if (jwtService.isTokenValid(claims, userDetails) && isCurrentTokenVersion(claims, userDetails)) {
+            setAuthentication(
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()),
+                    request
+            );
+        }
+    }
+
+    private boolean isCurrentTokenVersion(Claims claims, UserDetails userDetails) {
+        Integer tokenVersion = jwtService.extractTokenVersion(claims);
+        if (tokenVersion == null || !(userDetails instanceof CustomUserDetails customUserDetails)) {
+            return true;
+        }
+        boolean isCurrent = tokenVersion == customUserDetails.getUser().getTokenVersion();
+        if (!isCurrent) {
+            log.warn("Rejected JWT with outdated token version for {}", claims.getSubject());
+        }
+        return isCurrent;
+    }
+
+    private void setAuthentication(UsernamePasswordAuthenticationToken authToken, HttpServletRequest request) {
+        authToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request)
+        );
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+}
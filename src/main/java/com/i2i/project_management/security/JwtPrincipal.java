@@ -0,0 +1,25 @@
+package com.i2i.project_management.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.util.UUID;
+
+/**
+ * Principal built straight from verified token claims when the filter runs
+ * in stateless mode, so no user row has to be loaded for the request.
+ */
+@Getter
+@RequiredArgsConstructor
+public class JwtPrincipal implements AuthenticatedPrincipal {
+
+    private final UUID userId;
+
+    private final String email;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
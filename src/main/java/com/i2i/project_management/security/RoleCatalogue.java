@@ -0,0 +1,135 @@
+package com.i2i.project_management.security;
+
+import com.i2i.project_management.model.Role;
+import com.i2i.project_management.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Immutable snapshot of the active roles, indexed by id and by lower-cased
+ * name. Readers never lock or touch the database; RoleServiceImpl swaps in
+ * a new snapshot after each role write, and a scheduled reload picks up
+ * writes made on other instances within one refresh interval. Roles handed out are detached
+ * copies and must not be modified. Writers serialise on a
+ * {@link ReentrantLock} rather than {@code synchronized}, because a reload
+ * runs a query and would otherwise pin a virtual thread's carrier.
+ */
+@Component
+@Slf4j
+public class RoleCatalogue {
+
+    private final RoleRepository roleRepository;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+    public RoleCatalogue(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @PostConstruct
+    public void reload() {
+        writeLock.lock();
+        try {
+            snapshot = Snapshot.of(roleRepository.findAllRoles().stream().map(RoleCatalogue::copyOf).toList());
+            log.debug("Loaded {} active roles into the role catalogue", snapshot.all().size());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Reloads the whole catalogue; there are few roles and they rarely
+     * change. A failed reload keeps the current snapshot until the next run.
+     */
+    @Scheduled(fixedDelayString = "${role-catalogue.refresh-interval-ms}",
+            initialDelayString = "${role-catalogue.refresh-interval-ms}")
+    public void refresh() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Failed to reload the role catalogue", e);
+        }
+    }
+
+    public List<Role> findAll() {
+        return snapshot.all();
+    }
+
+    public Optional<Role> findById(UUID id) {
+        return Optional.ofNullable(snapshot.byId().get(id));
+    }
+
+    public Optional<Role> findByName(String name) {
+        return name == null ? Optional.empty() : Optional.ofNullable(snapshot.byName().get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Active roles among the given ids, in request order. Unknown and deleted
+     * ids are left out.
+     */
+    public List<Role> findAllById(Collection<UUID> ids) {
+        Map<UUID, Role> byId = snapshot.byId();
+        return ids.stream().map(byId::get).filter(Objects::nonNull).distinct().toList();
+    }
+
+    /**
+     * Publishes a created or updated role, or drops it once it is deleted.
+     */
+    public void put(Role role) {
+        writeLock.lock();
+        try {
+            List<Role> roles = new ArrayList<>(snapshot.all());
+            roles.removeIf(existing -> existing.getId().equals(role.getId()));
+            if (!Boolean.TRUE.equals(role.getIsDeleted())) {
+                roles.add(copyOf(role));
+            }
+            snapshot = Snapshot.of(roles);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private static Role copyOf(Role role) {
+        return Role.builder()
+                .id(role.getId())
+                .name(role.getName())
+                .description(role.getDescription())
+                .isDeleted(false)
+                .version(role.getVersion())
+                .build();
+    }
+
+    private record Snapshot(List<Role> all, Map<UUID, Role> byId, Map<String, Role> byName) {
+
+        static Snapshot of(List<Role> roles) {
+            List<Role> sorted = roles.stream()
+                    .sorted(Comparator.comparing(Role::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
+                    .toList();
+            Map<UUID, Role> byId = new HashMap<>();
+            Map<String, Role> byName = new HashMap<>();
+            for (Role role : sorted) {
+                byId.put(role.getId(), role);
+                if (role.getName() != null) {
+                    byName.put(role.getName().toLowerCase(Locale.ROOT), role);
+                }
+            }
+            return new Snapshot(sorted, Map.copyOf(byId), Map.copyOf(byName));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.i2i.project_management.security;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published by {@link TokenRevocationRegistry} when tokens stop being
+ * accepted, whether the change was made here or read from another
+ * instance: per user the lowest token version still trusted, and the ids
+ * of single tokens revoked at logout.
+ */
+public record TokenRevocationEvent(Map<UUID, Integer> minimumTokenVersions, Set<String> tokenIds) {
+
+    public boolean revokes(UUID userId, int tokenVersion, String tokenId) {
+        Integer minimumVersion = minimumTokenVersions.get(userId);
+        return (minimumVersion != null && tokenVersion < minimumVersion)
+                || (tokenId != null && tokenIds.contains(tokenId));
+    }
+}
@@ -0,0 +1,198 @@
+package com.i2i.project_management.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.i2i.project_management.model.RevokedToken;
+import com.i2i.project_management.repository.RevokedTokenRepository;
+import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.repository.projection.TokenState;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Token state changes the JWT filter honours on top of the token's own
+ * claims: tokens revoked at logout, and the lowest token version still
+ * trusted for a user after a role change or deletion.
+ * <p>
+ * Logouts are stored in revoked_tokens and token versions already live on
+ * pm_users. Changes made here apply at once; every refresh also reads what
+ * other instances, or this one before a restart, wrote since the last one,
+ * so a change reaches every instance within one refresh interval. Cached
+ * user details of every user read back are evicted as well, so the lookup
+ * a raised token version forces sees the current user. Both are
+ * stamped when their transaction started, so each refresh re-reads one
+ * transaction timeout's worth of rows. Entries expire once no token they
+ * could match is still valid. Whatever newly stops a token from being
+ * accepted is published as a {@link TokenRevocationEvent}.
+ */
+@Component
+@Slf4j
+public class TokenRevocationRegistry {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final UserRepository userRepository;
+
+    private final UserDetailsCache userDetailsCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Duration tokenLifetime;
+
+    private final Duration refreshOverlap;
+
+    private final Cache<UUID, Integer> minimumTokenVersions;
+
+    private final Cache<String, Instant> revokedTokenIds;
+
+    private volatile Instant lastRefresh;
+
+    public TokenRevocationRegistry(RevokedTokenRepository revokedTokenRepository,
+                                   UserRepository userRepository,
+                                   UserDetailsCache userDetailsCache,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${jwt.expiration-ms}") long tokenLifetimeMillis,
+                                   @Value("${spring.transaction.default-timeout}") Duration refreshOverlap) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.eventPublisher = eventPublisher;
+        this.tokenLifetime = Duration.ofMillis(tokenLifetimeMillis);
+        this.refreshOverlap = refreshOverlap;
+        this.minimumTokenVersions = Caffeine.newBuilder()
+                .expireAfterWrite(tokenLifetime)
+                .build();
+        this.revokedTokenIds = Caffeine.newBuilder()
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+
+    public void recordTokenVersion(UUID userId, int tokenVersion) {
+        if (userId != null && raiseMinimumVersion(userId, tokenVersion)) {
+            publish(Map.of(userId, tokenVersion), Set.of());
+        }
+    }
+
+    public void revokeAllTokens(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        log.info("Revoking all tokens issued to user {}", userId);
+        minimumTokenVersions.put(userId, Integer.MAX_VALUE);
+        publish(Map.of(userId, Integer.MAX_VALUE), Set.of());
+    }
+
+    public boolean requiresLookup(UUID userId, int tokenVersion) {
+        Integer minimumVersion = minimumTokenVersions.getIfPresent(userId);
+        return minimumVersion != null && tokenVersion < minimumVersion;
+    }
+
+    public void revokeToken(String tokenId, Date expiresAt) {
+        if (tokenId == null || expiresAt == null) {
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .tokenId(tokenId)
+                .expiresAt(expiresAt.toInstant())
+                .build());
+        revokedTokenIds.put(tokenId, expiresAt.toInstant());
+        publish(Map.of(), Set.of(tokenId));
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return tokenId != null && revokedTokenIds.getIfPresent(tokenId) != null;
+    }
+
+    /**
+     * Loads the revocations and token version changes that could still
+     * match a valid token, so a restart does not forget them.
+     */
+    @PostConstruct
+    public void load() {
+        refresh();
+    }
+
+    /**
+     * Applies what was written since the last refresh and drops revoked
+     * tokens that have expired. A failed refresh is retried from the same
+     * point on the next run.
+     */
+    @Scheduled(fixedDelayString = "${token-revocation.refresh-interval-ms}")
+    public void refresh() {
+        Instant now = Instant.now();
+        Instant since = (lastRefresh == null ? now.minus(tokenLifetime) : lastRefresh).minus(refreshOverlap);
+        try {
+            Set<String> newlyRevokedTokenIds = new HashSet<>();
+            for (RevokedToken revokedToken : revokedTokenRepository.findRevokedSince(since, now)) {
+                if (revokedTokenIds.asMap().putIfAbsent(revokedToken.getTokenId(), revokedToken.getExpiresAt()) == null) {
+                    newlyRevokedTokenIds.add(revokedToken.getTokenId());
+                }
+            }
+            Set<UUID> changedUserIds = new HashSet<>();
+            Map<UUID, Integer> raisedVersions = new HashMap<>();
+            for (TokenState tokenState : userRepository.findTokenStatesChangedSince(since)) {
+                changedUserIds.add(tokenState.getId());
+                int minimumVersion = tokenState.isDeleted() ? Integer.MAX_VALUE : tokenState.getTokenVersion();
+                if (raiseMinimumVersion(tokenState.getId(), minimumVersion)) {
+                    raisedVersions.put(tokenState.getId(), minimumVersion);
+                }
+            }
+            userDetailsCache.evictUsers(changedUserIds);
+            if (!raisedVersions.isEmpty() || !newlyRevokedTokenIds.isEmpty()) {
+                publish(raisedVersions, newlyRevokedTokenIds);
+            }
+            revokedTokenRepository.deleteExpired(now);
+            lastRefresh = now;
+        } catch (Exception e) {
+            log.warn("Failed to refresh token revocations since {}", since, e);
+        }
+    }
+
+    private boolean raiseMinimumVersion(UUID userId, int tokenVersion) {
+        boolean[] raised = new boolean[1];
+        minimumTokenVersions.asMap().compute(userId, (id, current) -> {
+            if (current != null && current >= tokenVersion) {
+                return current;
+            }
+            raised[0] = true;
+            return tokenVersion;
+        });
+        return raised[0];
+    }
+
+    private void publish(Map<UUID, Integer> minimumTokenVersions, Set<String> tokenIds) {
+        eventPublisher.publishEvent(new TokenRevocationEvent(Map.copyOf(minimumTokenVersions), Set.copyOf(tokenIds)));
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, Instant> {
+
+        @Override
+        public long expireAfterCreate(String tokenId, Instant expiresAt, long currentTime) {
+            return Math.max(Duration.between(Instant.now(), expiresAt).toNanos(), 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return expireAfterCreate(tokenId, expiresAt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String tokenId, Instant expiresAt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.i2i.project_management.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Local cache of {@link CustomUserDetails} keyed by email. Services that
+ * change a user's profile, roles or status must evict the entry so the next
+ * authentication sees the change.
+ */
+@Component
+@Slf4j
+public class UserDetailsCache {
+
+    private final Cache<String, CustomUserDetails> cache;
+
+    public UserDetailsCache(MeterRegistry meterRegistry,
+                            @Value("${user-details-cache.ttl-ms}") long ttlMillis,
+                            @Value("${user-details-cache.max-size}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user-details");
+    }
+
+    public CustomUserDetails get(String email) {
+        return cache.getIfPresent(email);
+    }
+
+    public void put(String email, CustomUserDetails userDetails) {
+        cache.put(email, userDetails);
+    }
+
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        log.debug("Evicting cached user details for {}", email);
+        cache.invalidate(email);
+    }
+
+    /**
+     * Evicts the entry of the user with the given id when only the id is at
+     * hand. This walks the cache, so prefer {@link #evict(String)}.
+     */
+    public void evictUser(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        cache.asMap().values().removeIf(userDetails -> userId.equals(userDetails.getUser().getId()));
+    }
+
+    /**
+     * Evicts the entries of all the given users in one walk of the cache.
+     */
+    public void evictUsers(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        cache.asMap().values().removeIf(userDetails -> userIds.contains(userDetails.getUser().getId()));
+    }
+}
@@ -1,23 +1,46 @@
 package com.i2i.project_management.service;
 
+import com.i2i.project_management.Dto.BulkMembershipResultDto;
+import com.i2i.project_management.Dto.ChangeFeedDto;
+import com.i2i.project_management.Dto.CursorPageDto;
+import com.i2i.project_management.Dto.KeysetPageDto;
+import com.i2i.project_management.Dto.MemberPageDto;
 import com.i2i.project_management.Dto.ProjectDto;
+import com.i2i.project_management.Dto.SearchPageDto;
 import com.i2i.project_management.Dto.UpdateProjectDto;
 import com.i2i.project_management.exception.DatabaseException;
 import com.i2i.project_management.exception.NotFoundException;
+import com.i2i.project_management.exception.PreconditionFailedException;
 import com.i2i.project_management.exception.ValidationException;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface ProjectService {
 
     ProjectDto createProject(ProjectDto projectDto) throws ValidationException, DatabaseException;
 
-    ProjectDto updateProject(UUID id, UpdateProjectDto projectDto) throws ValidationException, DatabaseException, NotFoundException;
+    ProjectDto updateProject(UUID id, UpdateProjectDto projectDto, Collection<Long> expectedVersions) throws ValidationException, DatabaseException, NotFoundException, PreconditionFailedException;
 
     ProjectDto findById(UUID id) throws ValidationException, NotFoundException, DatabaseException;
 
-    List<ProjectDto> findAllProjects() throws DatabaseException;
+    long findVersionById(UUID id) throws ValidationException, NotFoundException, DatabaseException;
+
+    CursorPageDto<ProjectDto> findAllProjects(UUID cursor, Integer size) throws ValidationException, DatabaseException;
+
+    MemberPageDto findMembers(UUID projectId, UUID cursor, Integer size) throws ValidationException, NotFoundException, DatabaseException;
+
+    CursorPageDto<ProjectDto> findProjectsOfMember(UUID userId, UUID cursor, Integer size) throws ValidationException, DatabaseException;
+
+    KeysetPageDto<ProjectDto> queryProjects(Boolean active, UUID memberId, String namePrefix, String sort, String cursor, Integer size) throws ValidationException, DatabaseException;
+
+    SearchPageDto<ProjectDto> searchProjects(String text, Integer page, Integer size) throws ValidationException, DatabaseException;
+
+    void streamAllProjects(Consumer<ProjectDto> consumer) throws DatabaseException;
+
+    ChangeFeedDto<ProjectDto> findProjectChanges(String since, Integer size) throws ValidationException, DatabaseException;
 
     void delete(UUID id) throws ValidationException, DatabaseException;
 
@@ -25,4 +48,8 @@ public interface ProjectService {
 
     ProjectDto removeProjectFromEmployee(UUID projectId, UUID employeeId) throws ValidationException, DatabaseException, NotFoundException;
 
+    BulkMembershipResultDto assignUsersToProject(UUID projectId, List<UUID> userIds) throws ValidationException, NotFoundException, DatabaseException;
+
+    BulkMembershipResultDto removeUsersFromProject(UUID projectId, List<UUID> userIds) throws ValidationException, NotFoundException, DatabaseException;
+
 }
@@ -1,5 +1,6 @@
 package com.i2i.project_management.service;
 
+import com.i2i.project_management.Dto.BulkRoleResultDto;
 import com.i2i.project_management.Dto.RoleDto;
 import com.i2i.project_management.exception.DatabaseException;
 import com.i2i.project_management.exception.NotFoundException;
@@ -24,4 +25,8 @@ public interface RoleService {
 
     UserDto assignRolesToUser(List<UUID> RoleIds, UUID userID) throws ValidationException, NotFoundException, DatabaseException;
 
+    BulkRoleResultDto grantRoles(List<UUID> userIds, List<UUID> roleIds) throws ValidationException, DatabaseException;
+
+    BulkRoleResultDto revokeRoles(List<UUID> userIds, List<UUID> roleIds) throws ValidationException, DatabaseException;
+
 }
@@ -0,0 +1,17 @@
+package com.i2i.project_management.service;
+
+import com.i2i.project_management.Dto.UserImportReportDto;
+import com.i2i.project_management.exception.ValidationException;
+
+import java.io.InputStream;
+
+public interface UserImportService {
+
+    enum Format {
+        CSV,
+        NDJSON
+    }
+
+    UserImportReportDto importUsers(InputStream input, Format format, long resumeFrom) throws ValidationException;
+
+}
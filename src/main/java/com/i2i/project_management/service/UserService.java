@@ -1,24 +1,38 @@
 package com.i2i.project_management.service;
 
+import com.i2i.project_management.Dto.ChangeFeedDto;
+import com.i2i.project_management.Dto.SearchPageDto;
 import com.i2i.project_management.Dto.UserDto;
 import com.i2i.project_management.Dto.UserUpdateDto;
 import com.i2i.project_management.exception.DatabaseException;
 import com.i2i.project_management.exception.NotFoundException;
+import com.i2i.project_management.exception.PreconditionFailedException;
 import com.i2i.project_management.exception.ValidationException;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface UserService {
 
     UserDto createUser(UserDto userDto) throws ValidationException;
 
-    UserDto updateUser(UUID id, UserUpdateDto userUpdateDto) throws ValidationException, NotFoundException;
+    UserDto updateUser(UUID id, UserUpdateDto userUpdateDto, Collection<Long> expectedVersions)
+            throws ValidationException, NotFoundException, PreconditionFailedException;
 
     UserDto findUserById(UUID id) throws ValidationException, DatabaseException;
 
+    long findUserVersionById(UUID id) throws ValidationException, NotFoundException, DatabaseException;
+
     List<UserDto> findAllUser() throws DatabaseException, NotFoundException;
 
+    SearchPageDto<UserDto> searchUsers(String text, Integer page, Integer size) throws ValidationException, DatabaseException;
+
+    void streamAllUsers(Consumer<UserDto> consumer) throws DatabaseException;
+
+    ChangeFeedDto<UserDto> findUserChanges(String since, Integer size) throws ValidationException, DatabaseException;
+
     void deleteUser(UUID id) throws DatabaseException;
 
     UserDto updateOwnProfile(String email, UserUpdateDto userUpdateDto) throws ValidationException, NotFoundException;
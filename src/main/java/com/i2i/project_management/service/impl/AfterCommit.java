@@ -0,0 +1,30 @@
+package com.i2i.project_management.service.impl;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers updates to in-process state (cached user details, token versions,
+ * the role catalogue) until the surrounding transaction has committed, so a
+ * concurrent reader cannot re-cache a row that is about to change and a
+ * rolled back write never leaks out. Outside a transaction the action runs
+ * straight away.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,11 +1,12 @@
 package com.i2i.project_management.service.impl;
 
+import com.i2i.project_management.security.CustomUserDetails;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
@@ -13,21 +14,39 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    public static final String ROLES_CLAIM = "roles";
 
-    @Value("${jwt.expiration-ms}")
-    private long expirationMillis;
+    public static final String USER_ID_CLAIM = "uid";
+
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
+    private final long expirationMillis;
+
+    private final Key signInKey;
+
+    private final JwtParser jwtParser;
+
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.expiration-ms}") long expirationMillis) {
+        this.expirationMillis = expirationMillis;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -39,18 +58,66 @@ public class JwtService {
     }
 
     public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = Map.of(
-                "roles",
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(
+                ROLES_CLAIM,
                 userDetails.getAuthorities().stream()
                         .map(GrantedAuthority::getAuthority)
                         .collect(Collectors.toSet())
         );
+        if (userDetails instanceof CustomUserDetails customUserDetails) {
+            claims.put(USER_ID_CLAIM, customUserDetails.getUser().getId().toString());
+            claims.put(TOKEN_VERSION_CLAIM, customUserDetails.getUser().getTokenVersion());
+        }
         return buildToken(claims, userDetails);
     }
 
+    /**
+     * Verifies the signature and expiry of the token and returns its claims.
+     * Callers should parse a token once and pass the claims around rather
+     * than re-parsing it for every claim they need.
+     */
+    public Claims extractAllClaims(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Tokens issued before the user id and token version were added to the
+     * claims cannot be trusted on their own and still need a user lookup.
+     */
+    public boolean hasStatelessClaims(Claims claims) {
+        return claims.get(USER_ID_CLAIM) != null
+                && claims.get(TOKEN_VERSION_CLAIM) != null
+                && claims.get(ROLES_CLAIM) != null;
+    }
+
+    public UUID extractUserId(Claims claims) {
+        Object userId = claims.get(USER_ID_CLAIM);
+        return userId == null ? null : UUID.fromString(userId.toString());
+    }
+
+    public Integer extractTokenVersion(Claims claims) {
+        Object tokenVersion = claims.get(TOKEN_VERSION_CLAIM);
+        return tokenVersion instanceof Number number ? number.intValue() : null;
+    }
+
+    public Set<String> extractRoles(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        if (!(roles instanceof Collection<?> values)) {
+            return Set.of();
+        }
+        return values.stream()
+                .map(String::valueOf)
+                .collect(Collectors.toSet());
+    }
+
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        boolean isValid = username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        boolean isValid = username.equals(userDetails.getUsername()) && !isTokenExpired(claims);
         if (!isValid) {
             log.warn("JWT validation failed for {}", username);
         }
@@ -66,32 +133,16 @@ public class JwtService {
         Date expiry = new Date(now.getTime() + expirationMillis);
         return Jwts.builder()
                 .setClaims(extraClaims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(now)
                 .setExpiration(expiry)
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 }
 
@@ -0,0 +1,56 @@
+package com.i2i.project_management.service.impl;
+
+import com.i2i.project_management.exception.ValidationException;
+import com.i2i.project_management.model.Project;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a project query: the sort key of the last project handed
+ * out, which is its name or its (updated_at, id). The encoded form names
+ * the ordering too, so a cursor cannot be replayed against another one.
+ */
+record ProjectQueryCursor(ProjectSort sort, String name, Instant updatedAt, UUID id) {
+
+    static ProjectQueryCursor of(ProjectSort sort, Project last) {
+        return sort.byName()
+                ? new ProjectQueryCursor(sort, last.getName(), null, null)
+                : new ProjectQueryCursor(sort, null, last.getUpdatedAt(), last.getId());
+    }
+
+    /** The cursor, or null to start from the first page. */
+    static ProjectQueryCursor parse(String token, ProjectSort sort) throws ValidationException {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor: " + token);
+        }
+        String[] parts = decoded.split("\\|", 2);
+        if (parts.length < 2 || !parts[0].equals(sort.key())) {
+            throw new ValidationException("Cursor does not belong to sort " + sort.key());
+        }
+        if (sort.byName()) {
+            return new ProjectQueryCursor(sort, parts[1], null, null);
+        }
+        try {
+            int separator = parts[1].indexOf('|');
+            return new ProjectQueryCursor(sort, null, Instant.parse(parts[1].substring(0, separator)),
+                    UUID.fromString(parts[1].substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new ValidationException("Invalid cursor: " + token);
+        }
+    }
+
+    String encode() {
+        String position = sort.byName() ? name : updatedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((sort.key() + "|" + position).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,34 +1,83 @@
 package com.i2i.project_management.service.impl;
 
 import com.i2i.project_management.mapper.ProjectMapper;
+import com.i2i.project_management.mapper.UserMapper;
+import com.i2i.project_management.Dto.BulkMembershipResultDto;
+import com.i2i.project_management.Dto.ChangeFeedDto;
+import com.i2i.project_management.Dto.CursorPageDto;
+import com.i2i.project_management.Dto.KeysetPageDto;
+import com.i2i.project_management.Dto.MemberPageDto;
+import com.i2i.project_management.Dto.MembershipOutcomeDto;
+import com.i2i.project_management.Dto.MembershipOutcomeDto.Outcome;
 import com.i2i.project_management.Dto.ProjectDto;
+import com.i2i.project_management.Dto.SearchPageDto;
+import com.i2i.project_management.Dto.TombstoneDto;
 import com.i2i.project_management.Dto.UpdateProjectDto;
 import com.i2i.project_management.exception.DatabaseException;
 import com.i2i.project_management.exception.NotFoundException;
+import com.i2i.project_management.exception.PreconditionFailedException;
+import com.i2i.project_management.event.ChangeEvent;
+import com.i2i.project_management.event.DomainEventType;
+import com.i2i.project_management.event.OutboxRecorder;
 import com.i2i.project_management.exception.ValidationException;
 import com.i2i.project_management.model.Project;
-import com.i2i.project_management.model.User;
 import com.i2i.project_management.repository.ProjectRepository;
+import com.i2i.project_management.repository.ProjectSpecifications;
 import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.repository.projection.MemberSummary;
+import com.i2i.project_management.repository.projection.ProjectSummary;
+import com.i2i.project_management.repository.projection.UserRoleRow;
+import com.i2i.project_management.search.SearchIndex;
+import com.i2i.project_management.search.SearchQuery;
 import com.i2i.project_management.service.ProjectService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProjectServiceImpl implements ProjectService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+
+    static final int MAX_PAGE_SIZE = 200;
+
+    static final int MAX_BULK_SIZE = 10_000;
+
+    static final int STREAM_BATCH_SIZE = 500;
+
     private final ProjectRepository projectRepository;
 
     private final UserRepository userRepository;
 
+    private final SyncCutoff syncCutoff;
+
+    private final OutboxRecorder outboxRecorder;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final SearchIndex searchIndex;
+
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public ProjectDto createProject(ProjectDto projectDto) throws ValidationException, DatabaseException {
         if(projectDto == null) throw new ValidationException("Project related details should not be null");
 
@@ -37,40 +86,75 @@ public class ProjectServiceImpl implements ProjectService {
         Project project = Project.builder()
                 .name(projectDto.getName())
                 .description(projectDto.getDescription())
+                .isActive(projectDto.getActive() == null || projectDto.getActive())
                 .isDeleted(false)
                 .build();
 
         try {
-            Project savedProject = projectRepository.save(project);
-            return ProjectMapper.toDto(savedProject);
+            ProjectDto savedProject = ProjectMapper.toDto(projectRepository.save(project));
+            outboxRecorder.record(DomainEventType.PROJECT_CREATED, savedProject.getId(), savedProject);
+            return savedProject;
         } catch (Exception e) {
             log.error("Failed to create project {}", projectDto.getName(), e);
             throw new DatabaseException("Failed to create project");
         }
     }
 
+    /**
+     * Applies the update only when the project is still at one of the
+     * {@code expectedVersions} taken from If-Match (null means
+     * unconditional). The flushed UPDATE re-checks the version, so a write
+     * that lands in between still fails. Members' versions are bumped as
+     * well, since their user representation lists the project.
+     */
     @Override
-    public ProjectDto updateProject(UUID id, UpdateProjectDto updateProjectDto)
-            throws ValidationException, DatabaseException, NotFoundException {
-        if (updateProjectDto.getName() == null && updateProjectDto.getDescription() == null)
+    @Transactional(rollbackFor = Exception.class)
+    public ProjectDto updateProject(UUID id, UpdateProjectDto updateProjectDto, Collection<Long> expectedVersions)
+            throws ValidationException, DatabaseException, NotFoundException, PreconditionFailedException {
+        if (updateProjectDto.getName() == null && updateProjectDto.getDescription() == null
+                && updateProjectDto.getActive() == null)
             throw new ValidationException("Project name that want to update should not be null");
 
         Project project = projectRepository.findProjectById(id)
                 .orElseThrow(() -> new NotFoundException("Project not found with ID: " + id));
+        if (expectedVersions != null && !expectedVersions.contains(project.getVersion()))
+            throw new PreconditionFailedException("Project with ID: " + id + " has been modified");
 
         if (updateProjectDto.getName() != null) project.setName(updateProjectDto.getName());
         if (updateProjectDto.getDescription() != null) project.setDescription(updateProjectDto.getDescription());
+        if (updateProjectDto.getActive() != null) project.setActive(updateProjectDto.getActive());
 
         Project updatedProject;
         try{
-            updatedProject = projectRepository.save(project);
-            return ProjectMapper.toDto(updatedProject);
+            updatedProject = projectRepository.saveAndFlush(project);
+            userRepository.incrementVersionsOfProjectMembers(id);
+            ProjectDto updatedProjectDto = ProjectMapper.toDto(updatedProject);
+            outboxRecorder.record(DomainEventType.PROJECT_UPDATED, id, updatedProjectDto);
+            eventPublisher.publishEvent(ChangeEvent.projectUpdated(id, userRepository.findIdsOfProjectMembers(id)));
+            return updatedProjectDto;
+        } catch (OptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Failed to update project {}", id, e);
             throw new DatabaseException("Failed to update project with ID: " + id);
         }
     }
 
+    @Override
+    public long findVersionById(UUID id) throws ValidationException, NotFoundException, DatabaseException {
+        if (id == null) throw new ValidationException("Project Id should not be null");
+
+        try {
+            return projectRepository.findVersionById(id)
+                    .orElseThrow(() -> new NotFoundException("Project not found with ID: " + id));
+        } catch (NotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to fetch version of project {}", id, e);
+            throw new DatabaseException("Failed to fetch project with ID: " + id);
+        }
+    }
+
     @Override
     public ProjectDto findById(UUID id) throws ValidationException, NotFoundException, DatabaseException {
         if (id == null) throw new ValidationException("Project Id should not be null");
@@ -88,56 +172,273 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
-    public List<ProjectDto> findAllProjects() throws DatabaseException {
-        List<ProjectDto> projectDtos;
-        try{
-            List<Project> projects = projectRepository.findAllProjects();
-            projectDtos = projects.stream()
+    public CursorPageDto<ProjectDto> findAllProjects(UUID cursor, Integer size)
+            throws ValidationException, DatabaseException {
+        if (size != null && size < 1) throw new ValidationException("Page size should be greater than zero");
+
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        try {
+            // One extra row tells us whether another page exists.
+            Limit limit = Limit.of(pageSize + 1);
+            List<Project> projects = cursor == null
+                    ? projectRepository.findFirstProjectsPage(limit)
+                    : projectRepository.findProjectsPageAfter(cursor, limit);
+
+            boolean hasNext = projects.size() > pageSize;
+            List<ProjectDto> projectDtos = projects.stream()
+                    .limit(pageSize)
                     .map(ProjectMapper::toDto)
                     .toList();
-            return projectDtos;
+            UUID nextCursor = hasNext ? projectDtos.get(projectDtos.size() - 1).getId() : null;
+            return new CursorPageDto<>(projectDtos, nextCursor);
         } catch (Exception e) {
             log.error("Failed to fetch projects", e);
             throw new DatabaseException("Failed to fetch all Projects");
         }
     }
 
+    /**
+     * Projects the user belongs to, a page at a time in id order, read with
+     * one join over the membership table. The user's own row is not read.
+     */
     @Override
+    public CursorPageDto<ProjectDto> findProjectsOfMember(UUID userId, UUID cursor, Integer size)
+            throws ValidationException, DatabaseException {
+        if (userId == null) throw new ValidationException("Employee ID should not be null");
+        if (size != null && size < 1) throw new ValidationException("Page size should be greater than zero");
+
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        try {
+            // One extra row tells us whether another page exists.
+            Limit limit = Limit.of(pageSize + 1);
+            List<Project> projects = cursor == null
+                    ? projectRepository.findFirstMemberProjectsPage(userId, limit)
+                    : projectRepository.findMemberProjectsPageAfter(userId, cursor, limit);
+
+            boolean hasNext = projects.size() > pageSize;
+            List<ProjectDto> projectDtos = projects.stream()
+                    .limit(pageSize)
+                    .map(ProjectMapper::toDto)
+                    .toList();
+            UUID nextCursor = hasNext ? projectDtos.get(projectDtos.size() - 1).getId() : null;
+            return new CursorPageDto<>(projectDtos, nextCursor);
+        } catch (Exception e) {
+            log.error("Failed to fetch projects of user {}", userId, e);
+            throw new DatabaseException("Failed to fetch projects of user: " + userId);
+        }
+    }
+
+    /**
+     * A page of the project's members in id order, with their roles. The
+     * first page also checks the project exists and counts its members in
+     * the same query; later pages are one keyset read plus the roles.
+     */
+    @Override
+    public MemberPageDto findMembers(UUID projectId, UUID cursor, Integer size)
+            throws ValidationException, NotFoundException, DatabaseException {
+        if (projectId == null) throw new ValidationException("Project ID should not be null");
+        if (size != null && size < 1) throw new ValidationException("Page size should be greater than zero");
+
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        try {
+            Long memberCount = null;
+            if (cursor == null) {
+                memberCount = projectRepository.countActiveMembers(projectId)
+                        .orElseThrow(() -> new NotFoundException("Project not found with ID: " + projectId));
+            }
+            // One extra row tells us whether another page exists.
+            Limit limit = Limit.of(pageSize + 1);
+            List<MemberSummary> members = cursor == null
+                    ? projectRepository.findFirstMembersPage(projectId, limit)
+                    : projectRepository.findMembersPageAfter(projectId, cursor, limit);
+
+            boolean hasNext = members.size() > pageSize;
+            List<MemberSummary> page = members.subList(0, Math.min(members.size(), pageSize));
+            List<UserRoleRow> roles = page.isEmpty() ? List.of()
+                    : userRepository.findUserRoles(page.stream().map(MemberSummary::getId).toList());
+            UUID nextCursor = hasNext ? page.getLast().getId() : null;
+            return new MemberPageDto(UserMapper.toMemberDtos(page, roles), nextCursor, memberCount);
+        } catch (NotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to fetch members of project {}", projectId, e);
+            throw new DatabaseException("Failed to fetch members of project: " + projectId);
+        }
+    }
+
+    /**
+     * Projects matching every filter given, in the requested order, read
+     * with one statement whose predicates all fall on an index: the
+     * ordering, its keyset position and the name prefix on the name or
+     * updated_at index, the member through the membership table.
+     */
+    @Override
+    public KeysetPageDto<ProjectDto> queryProjects(Boolean active, UUID memberId, String namePrefix, String sort,
+                                                   String cursor, Integer size)
+            throws ValidationException, DatabaseException {
+        if (size != null && size < 1) throw new ValidationException("Page size should be greater than zero");
+
+        ProjectSort projectSort = ProjectSort.parse(sort);
+        ProjectQueryCursor after = ProjectQueryCursor.parse(cursor, projectSort);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        Specification<Project> specification = ProjectSpecifications.notDeleted();
+        if (active != null) {
+            specification = specification.and(ProjectSpecifications.isActive(active));
+        }
+        if (memberId != null) {
+            specification = specification.and(ProjectSpecifications.hasMember(memberId));
+        }
+        if (namePrefix != null && !namePrefix.isBlank()) {
+            specification = specification.and(ProjectSpecifications.nameStartsWith(namePrefix.trim()));
+        }
+        specification = specification.and(projectSort.after(after));
+        try {
+            // One extra row tells us whether another page exists.
+            List<Project> projects = projectRepository.findBy(specification,
+                    query -> query.limit(pageSize + 1).all());
+
+            boolean hasNext = projects.size() > pageSize;
+            List<Project> page = projects.subList(0, Math.min(projects.size(), pageSize));
+            String nextCursor = hasNext ? ProjectQueryCursor.of(projectSort, page.getLast()).encode() : null;
+            return new KeysetPageDto<>(page.stream().map(ProjectMapper::toDto).toList(), nextCursor);
+        } catch (Exception e) {
+            log.error("Failed to query projects", e);
+            throw new DatabaseException("Failed to query projects");
+        }
+    }
+
+    /**
+     * Ranked search over project names and descriptions, served by the
+     * configured {@link SearchIndex}. A misspelt name still finds its
+     * project through the index's typo-tolerant fallback.
+     */
+    @Override
+    public SearchPageDto<ProjectDto> searchProjects(String text, Integer page, Integer size)
+            throws ValidationException, DatabaseException {
+        if (size != null && size < 1) throw new ValidationException("Page size should be greater than zero");
+        if (page != null && page < 0) throw new ValidationException("Page should not be negative");
+
+        SearchQuery query = SearchQuery.parse(text);
+        int pageNumber = page == null ? 0 : page;
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        int offset = SearchQuery.offset(pageNumber, pageSize);
+        // One extra row tells us whether another page exists, unless this is the last page search serves.
+        int limit = Math.min(pageSize + 1, SearchQuery.MAX_RESULTS - offset);
+        try {
+            List<ProjectDto> projects = searchIndex.searchProjects(query, offset, limit);
+            return new SearchPageDto<>(projects.subList(0, Math.min(projects.size(), pageSize)), pageNumber,
+                    projects.size() > pageSize);
+        } catch (Exception e) {
+            log.error("Failed to search projects for '{}'", text, e);
+            throw new DatabaseException("Failed to search projects");
+        }
+    }
+
+    /**
+     * Walks the projects in keyset batches of {@link #STREAM_BATCH_SIZE},
+     * each read by its own short query, and hands a batch to the consumer
+     * before the next one is read. A slow client blocks the consumer and so
+     * pauses the walk, without a JDBC connection or cursor held meanwhile.
+     */
+    @Override
+    public void streamAllProjects(Consumer<ProjectDto> consumer) throws DatabaseException {
+        try {
+            Limit limit = Limit.of(STREAM_BATCH_SIZE);
+            List<Project> batch = projectRepository.findFirstProjectsPage(limit);
+            while (!batch.isEmpty()) {
+                batch.forEach(project -> consumer.accept(ProjectMapper.toDto(project)));
+                if (batch.size() < STREAM_BATCH_SIZE) {
+                    break;
+                }
+                batch = projectRepository.findProjectsPageAfter(batch.get(batch.size() - 1).getId(), limit);
+            }
+        } catch (UncheckedIOException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to stream projects", e);
+            throw new DatabaseException("Failed to stream all Projects");
+        }
+    }
+
+    /**
+     * Projects created, updated or deleted after the watermark, oldest
+     * first, with deleted ones as tombstones. The query is a range scan on
+     * the (updated_at, id) index, so a poll reads only what changed.
+     */
+    @Override
+    public ChangeFeedDto<ProjectDto> findProjectChanges(String since, Integer size)
+            throws ValidationException, DatabaseException {
+        if (size != null && size < 1) throw new ValidationException("Page size should be greater than zero");
+
+        SyncWatermark watermark = SyncWatermark.parse(since);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        try {
+            List<Project> projects = projectRepository.findChangedSince(watermark.updatedAt(), watermark.id(),
+                    syncCutoff.current(), Limit.of(pageSize + 1));
+
+            boolean hasMore = projects.size() > pageSize;
+            List<ProjectDto> updated = new ArrayList<>();
+            List<TombstoneDto> deleted = new ArrayList<>();
+            for (Project project : projects.subList(0, Math.min(projects.size(), pageSize))) {
+                if (project.isDeleted()) {
+                    deleted.add(new TombstoneDto(project.getId(), project.getUpdatedAt()));
+                } else {
+                    updated.add(ProjectMapper.toDto(project));
+                }
+                watermark = new SyncWatermark(project.getUpdatedAt(), project.getId());
+            }
+            return new ChangeFeedDto<>(updated, deleted, watermark.encode(), hasMore);
+        } catch (Exception e) {
+            log.error("Failed to fetch project changes since {}", since, e);
+            throw new DatabaseException("Failed to fetch project changes");
+        }
+    }
+
+    /**
+     * Deleting a project that is already deleted, or never existed, changes
+     * nothing: no version moves and no event is recorded.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
     public void delete(UUID id) throws ValidationException, DatabaseException {
         if (id == null) throw new ValidationException("Project ID should not be null");
 
         try{
-            projectRepository.deleteProject(id);
+            if (projectRepository.deleteProject(id) == 0) {
+                log.debug("Project {} is already deleted or does not exist", id);
+                return;
+            }
+            userRepository.incrementVersionsOfProjectMembers(id);
+            outboxRecorder.record(DomainEventType.PROJECT_DELETED, id, null);
+            eventPublisher.publishEvent(ChangeEvent.projectDeleted(id, userRepository.findIdsOfProjectMembers(id)));
         } catch (Exception e) {
             log.error("Failed to delete project {}", id, e);
             throw new DatabaseException("Failed to delete project with ID: " + id);
         }
     }
 
+    /**
+     * Adds the membership row directly; an insert that hits the existing
+     * primary key means the user is already assigned. The project's member
+     * collection is never loaded.
+     */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public ProjectDto assignProjectToEmployee(UUID projectId, UUID userId)
             throws ValidationException, NotFoundException, DatabaseException {
         if (projectId == null && userId == null)
             throw new ValidationException("Project or Employee ID should not be null");
 
         try {
-            Project project = projectRepository.findProjectById(projectId)
-                    .orElseThrow(() -> new NotFoundException("Project not found with ID: " + projectId));
-            User user = userRepository.findUserById(userId)
-                    .orElseThrow(() -> new NotFoundException("User not found with ID: " + userId));
-            if (project.getUsers() == null) {
-                project.setUsers(new HashSet<>());
-            }
-
-            boolean isPresent = project.getUsers().stream()
-                    .anyMatch(emp -> userId.equals(emp.getId()));
-            if (isPresent)
+            requireActiveMembers(projectId, userId);
+            if (projectRepository.addMember(projectId, userId) == 0)
                 throw new ValidationException("User with Id: " + userId
                         + " is already present in the project with Id: " + projectId);
+            userRepository.incrementVersions(List.of(userId));
+            recordMembershipChange(DomainEventType.PROJECT_MEMBERS_ADDED, projectId, List.of(userId));
+            eventPublisher.publishEvent(ChangeEvent.membersAdded(projectId, List.of(userId)));
 
-            else project.getUsers().add(user);
-            Project savedProject = projectRepository.save(project);
-            return ProjectMapper.toDto(savedProject);
+            return findProjectSummary(projectId);
         } catch (NotFoundException | ValidationException e) {
             throw e;
         } catch (Exception e) {
@@ -147,28 +448,22 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public ProjectDto removeProjectFromEmployee(UUID projectId, UUID userId)
             throws ValidationException, DatabaseException, NotFoundException {
         if (projectId == null && userId == null)
             throw new ValidationException("Project or Employee ID should not be null");
 
         try {
-            Project project = projectRepository.findProjectById(projectId)
-                    .orElseThrow(() -> new NotFoundException("Project not found with ID: " + projectId));
-
-            User user = userRepository.findUserById(userId)
-                    .orElseThrow(() -> new NotFoundException("User not found with ID: " + userId));
-
-            boolean isPresent = project.getUsers() != null && project.getUsers().stream()
-                    .anyMatch(emp -> userId.equals(emp.getId()));
-            if (!isPresent)
+            requireActiveMembers(projectId, userId);
+            if (projectRepository.removeMember(projectId, userId) == 0)
                 throw new ValidationException("User with Id: " + userId
                         + " is not present in the project with Id: " + projectId);
+            userRepository.incrementVersions(List.of(userId));
+            recordMembershipChange(DomainEventType.PROJECT_MEMBERS_REMOVED, projectId, List.of(userId));
+            eventPublisher.publishEvent(ChangeEvent.membersRemoved(projectId, List.of(userId)));
 
-            else project.getUsers().remove(user);
-
-            Project savedProject = projectRepository.save(project);
-            return ProjectMapper.toDto(savedProject);
+            return findProjectSummary(projectId);
         } catch (NotFoundException | ValidationException e) {
             throw e;
         } catch (Exception e) {
@@ -176,4 +471,125 @@ public class ProjectServiceImpl implements ProjectService {
             throw new DatabaseException("Failed to remove project from employee");
         }
     }
+
+    /**
+     * Validates every id with one query, then inserts the missing membership
+     * rows as JDBC batches inside a single transaction.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public BulkMembershipResultDto assignUsersToProject(UUID projectId, List<UUID> userIds)
+            throws ValidationException, NotFoundException, DatabaseException {
+        List<UUID> uniqueUserIds = validateBulkRequest(projectId, userIds);
+
+        try {
+            Map<UUID, Boolean> candidates = projectRepository.findMembershipCandidates(projectId, uniqueUserIds);
+            List<UUID> toAssign = uniqueUserIds.stream()
+                    .filter(userId -> Boolean.FALSE.equals(candidates.get(userId)))
+                    .toList();
+            int[] counts = projectRepository.batchAddMembers(projectId, toAssign);
+            Set<UUID> assigned = changedIds(toAssign, counts);
+            if (!assigned.isEmpty()) {
+                userRepository.incrementVersions(assigned);
+                recordMembershipChange(DomainEventType.PROJECT_MEMBERS_ADDED, projectId, assigned);
+                eventPublisher.publishEvent(ChangeEvent.membersAdded(projectId, assigned));
+            }
+            log.info("Assigned {} of {} users to project {}", toAssign.size(), uniqueUserIds.size(), projectId);
+            return buildBulkResult(projectId, uniqueUserIds, candidates, assigned,
+                    Outcome.ASSIGNED, Outcome.ALREADY_MEMBER);
+        } catch (Exception e) {
+            log.error("Failed to bulk assign users to project {}", projectId, e);
+            throw new DatabaseException("Failed to assign users to project");
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public BulkMembershipResultDto removeUsersFromProject(UUID projectId, List<UUID> userIds)
+            throws ValidationException, NotFoundException, DatabaseException {
+        List<UUID> uniqueUserIds = validateBulkRequest(projectId, userIds);
+
+        try {
+            Map<UUID, Boolean> candidates = projectRepository.findMembershipCandidates(projectId, uniqueUserIds);
+            List<UUID> toRemove = uniqueUserIds.stream()
+                    .filter(userId -> Boolean.TRUE.equals(candidates.get(userId)))
+                    .toList();
+            int[] counts = projectRepository.batchRemoveMembers(projectId, toRemove);
+            Set<UUID> removed = changedIds(toRemove, counts);
+            if (!removed.isEmpty()) {
+                userRepository.incrementVersions(removed);
+                recordMembershipChange(DomainEventType.PROJECT_MEMBERS_REMOVED, projectId, removed);
+                eventPublisher.publishEvent(ChangeEvent.membersRemoved(projectId, removed));
+            }
+            log.info("Removed {} of {} users from project {}", toRemove.size(), uniqueUserIds.size(), projectId);
+            return buildBulkResult(projectId, uniqueUserIds, candidates, removed,
+                    Outcome.REMOVED, Outcome.NOT_MEMBER);
+        } catch (Exception e) {
+            log.error("Failed to bulk remove users from project {}", projectId, e);
+            throw new DatabaseException("Failed to remove users from project");
+        }
+    }
+
+    private List<UUID> validateBulkRequest(UUID projectId, List<UUID> userIds)
+            throws ValidationException, NotFoundException {
+        if (projectId == null) throw new ValidationException("Project ID should not be null");
+        if (userIds == null || userIds.isEmpty()) throw new ValidationException("User IDs should not be empty");
+        if (userIds.stream().anyMatch(Objects::isNull)) throw new ValidationException("User IDs should not contain null");
+
+        List<UUID> uniqueUserIds = new ArrayList<>(new LinkedHashSet<>(userIds));
+        if (uniqueUserIds.size() > MAX_BULK_SIZE)
+            throw new ValidationException("At most " + MAX_BULK_SIZE + " users can be processed per request");
+        if (!projectRepository.existsActiveById(projectId))
+            throw new NotFoundException("Project not found with ID: " + projectId);
+        return uniqueUserIds;
+    }
+
+    /**
+     * A zero update count means another request already applied the change
+     * between the candidate query and the batch.
+     */
+    private Set<UUID> changedIds(List<UUID> userIds, int[] counts) {
+        Set<UUID> changed = new HashSet<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            if (counts[i] != 0) {
+                changed.add(userIds.get(i));
+            }
+        }
+        return changed;
+    }
+
+    private BulkMembershipResultDto buildBulkResult(UUID projectId, List<UUID> userIds, Map<UUID, Boolean> candidates,
+                                                    Set<UUID> changedIds, Outcome changed, Outcome unchanged) {
+        List<MembershipOutcomeDto> outcomes = new ArrayList<>(userIds.size());
+        int notFound = 0;
+        for (UUID userId : userIds) {
+            Outcome outcome;
+            if (!candidates.containsKey(userId)) {
+                outcome = Outcome.USER_NOT_FOUND;
+                notFound++;
+            } else {
+                outcome = changedIds.contains(userId) ? changed : unchanged;
+            }
+            outcomes.add(new MembershipOutcomeDto(userId, outcome));
+        }
+        return new BulkMembershipResultDto(projectId, changedIds.size(),
+                userIds.size() - changedIds.size() - notFound, notFound, outcomes);
+    }
+
+    private void recordMembershipChange(DomainEventType type, UUID projectId, Collection<UUID> userIds) {
+        outboxRecorder.record(type, projectId, Map.of("userIds", userIds));
+    }
+
+    private void requireActiveMembers(UUID projectId, UUID userId) throws NotFoundException {
+        if (!projectRepository.existsActiveById(projectId))
+            throw new NotFoundException("Project not found with ID: " + projectId);
+        if (!userRepository.existsActiveById(userId))
+            throw new NotFoundException("User not found with ID: " + userId);
+    }
+
+    private ProjectDto findProjectSummary(UUID projectId) throws NotFoundException {
+        return projectRepository.findProjectSummaryById(projectId)
+                .map(ProjectMapper::toDto)
+                .orElseThrow(() -> new NotFoundException("Project not found with ID: " + projectId));
+    }
 }
@@ -0,0 +1,62 @@
+package com.i2i.project_management.service.impl;
+
+import com.i2i.project_management.exception.ValidationException;
+import com.i2i.project_management.model.Project;
+import com.i2i.project_management.repository.ProjectSpecifications;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Orderings the project query accepts, named as in the {@code sort}
+ * parameter; a leading '-' sorts descending. Only orderings an index can
+ * return a page of directly are offered.
+ */
+enum ProjectSort {
+
+    NAME("name", false),
+    NAME_DESC("-name", true),
+    UPDATED_AT("updatedAt", false),
+    UPDATED_AT_DESC("-updatedAt", true);
+
+    private final String key;
+
+    private final boolean descending;
+
+    ProjectSort(String key, boolean descending) {
+        this.key = key;
+        this.descending = descending;
+    }
+
+    static ProjectSort parse(String value) throws ValidationException {
+        if (value == null || value.isBlank()) {
+            return NAME;
+        }
+        for (ProjectSort sort : values()) {
+            if (sort.key.equals(value.trim())) {
+                return sort;
+            }
+        }
+        throw new ValidationException("Projects can only be sorted by "
+                + Arrays.stream(values()).map(sort -> sort.key).collect(Collectors.joining(", ")));
+    }
+
+    String key() {
+        return key;
+    }
+
+    boolean byName() {
+        return this == NAME || this == NAME_DESC;
+    }
+
+    /** The ordering, continuing after the cursor when there is one. */
+    Specification<Project> after(ProjectQueryCursor cursor) {
+        if (byName()) {
+            return ProjectSpecifications.orderedByName(descending, cursor == null ? null : cursor.name());
+        }
+        return cursor == null
+                ? ProjectSpecifications.orderedByUpdatedAt(descending, null, null)
+                : ProjectSpecifications.orderedByUpdatedAt(descending, cursor.updatedAt(), cursor.id());
+    }
+}
@@ -1,7 +1,11 @@
 package com.i2i.project_management.service.impl;
 
+import com.i2i.project_management.Dto.BulkRoleResultDto;
 import com.i2i.project_management.Dto.RoleDto;
 import com.i2i.project_management.Dto.UserDto;
+import com.i2i.project_management.event.ChangeEvent;
+import com.i2i.project_management.event.DomainEventType;
+import com.i2i.project_management.event.OutboxRecorder;
 import com.i2i.project_management.exception.DatabaseException;
 import com.i2i.project_management.exception.NotFoundException;
 import com.i2i.project_management.exception.ValidationException;
@@ -9,25 +13,40 @@ import com.i2i.project_management.mapper.RoleMapper;
 import com.i2i.project_management.mapper.UserMapper;
 import com.i2i.project_management.model.Role;
 import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.RoleAssignmentRepository.RoleAssignmentCandidate;
 import com.i2i.project_management.repository.RoleRepository;
 import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.security.RoleCatalogue;
+import com.i2i.project_management.security.TokenRevocationRegistry;
+import com.i2i.project_management.security.UserDetailsCache;
 import com.i2i.project_management.service.RoleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class RoleServiceImpl implements RoleService {
 
+    static final int MAX_BULK_USERS = 100_000;
+
+    static final int MAX_BULK_ROLES = 100;
+
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UserDetailsCache userDetailsCache;
+    private final RoleCatalogue roleCatalogue;
+    private final OutboxRecorder outboxRecorder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public RoleDto createRole(RoleDto roleDto) throws ValidationException, DatabaseException {
         if (roleDto == null || roleDto.getName() == null) {
             throw new ValidationException("Role details should not be null");
@@ -41,7 +60,10 @@ public class RoleServiceImpl implements RoleService {
                     .build();
 
             Role savedRole = roleRepository.save(role);
-            return RoleMapper.toDto(savedRole);
+            RoleDto savedRoleDto = RoleMapper.toDto(savedRole);
+            outboxRecorder.record(DomainEventType.ROLE_CREATED, savedRole.getId(), savedRoleDto);
+            AfterCommit.run(() -> roleCatalogue.put(savedRole));
+            return savedRoleDto;
 
         } catch (Exception e) {
             log.error("Failed to create role {}", roleDto.getName(), e);
@@ -50,6 +72,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public RoleDto updateRole(RoleDto roleDto)
             throws ValidationException, NotFoundException, DatabaseException {
 
@@ -66,8 +89,13 @@ public class RoleServiceImpl implements RoleService {
             existingRole.setName(roleDto.getName());
             existingRole.setDescription(roleDto.getDescription());
 
-            Role updatedRole = roleRepository.save(existingRole);
-            return RoleMapper.toDto(updatedRole);
+            Role updatedRole = roleRepository.saveAndFlush(existingRole);
+            List<UUID> holderIds = invalidateRoleHolders(updatedRole.getId());
+            RoleDto updatedRoleDto = RoleMapper.toDto(updatedRole);
+            outboxRecorder.record(DomainEventType.ROLE_UPDATED, updatedRole.getId(), updatedRoleDto);
+            AfterCommit.run(() -> roleCatalogue.put(updatedRole));
+            eventPublisher.publishEvent(ChangeEvent.roleUpdated(updatedRole.getId(), holderIds));
+            return updatedRoleDto;
         } catch (NotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -83,37 +111,22 @@ public class RoleServiceImpl implements RoleService {
         if (id == null) {
             throw new ValidationException("Role ID cannot be null");
         }
-        try {
-            Role role = roleRepository.findRoleById(id)
-                    .orElseThrow(() -> new NotFoundException("Role not found"));
-            return RoleMapper.toDto(role);
-
-        } catch (NotFoundException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Failed to fetch role {}", id, e);
-            throw new DatabaseException("Failed to fetch role with id: " + id);
-        }
+        Role role = roleCatalogue.findById(id)
+                .orElseThrow(() -> new NotFoundException("Role not found"));
+        return RoleMapper.toDto(role);
     }
 
     @Override
     public List<Role> findAllRoles() throws DatabaseException, NotFoundException {
-
-        try {
-            List<Role> roles = roleRepository.findAllRoles();
-            if (roles.isEmpty()) {
-                throw new NotFoundException("Role list is empty");
-            }
-            return roles;
-        } catch (NotFoundException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Failed to fetch roles", e);
-            throw new DatabaseException("Failed to fetch roles");
+        List<Role> roles = roleCatalogue.findAll();
+        if (roles.isEmpty()) {
+            throw new NotFoundException("Role list is empty");
         }
+        return roles;
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void deleteRole(UUID id) throws ValidationException, NotFoundException, DatabaseException {
 
         if (id == null) {
@@ -126,6 +139,10 @@ public class RoleServiceImpl implements RoleService {
                     .orElseThrow(() -> new NotFoundException("Role not found"));
             role.setIsDeleted(true);
             roleRepository.save(role);
+            List<UUID> holderIds = invalidateRoleHolders(id);
+            outboxRecorder.record(DomainEventType.ROLE_DELETED, id, null);
+            AfterCommit.run(() -> roleCatalogue.put(role));
+            eventPublisher.publishEvent(ChangeEvent.roleDeleted(id, holderIds));
 
         } catch (NotFoundException e) {
             throw e;
@@ -136,6 +153,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public UserDto assignRolesToUser(List<UUID> roleIds, UUID userId)
             throws ValidationException, NotFoundException, DatabaseException {
 
@@ -146,11 +164,7 @@ public class RoleServiceImpl implements RoleService {
         try {
             User user = userRepository.findUserById(userId)
                     .orElseThrow(() -> new NotFoundException("User not found"));
-            List<Role> roles = roleRepository.findAllById(roleIds);
-
-            Set<Role> activeRoles = roles.stream()
-                    .filter(role -> !Boolean.TRUE.equals(role.getIsDeleted()))
-                    .collect(Collectors.toSet());
+            Set<Role> activeRoles = new HashSet<>(roleCatalogue.findAllById(roleIds));
 
             if (activeRoles.isEmpty()) {
                 throw new ValidationException("No valid active roles found to assign");
@@ -161,8 +175,18 @@ public class RoleServiceImpl implements RoleService {
             updatedRoles.addAll(activeRoles);
 
             user.setRoles(updatedRoles);
+            user.setTokenVersion(user.getTokenVersion() + 1);
 
             User savedUser = userRepository.save(user);
+            int tokenVersion = savedUser.getTokenVersion();
+            String email = user.getEmail();
+            AfterCommit.run(() -> {
+                tokenRevocationRegistry.recordTokenVersion(userId, tokenVersion);
+                userDetailsCache.evict(email);
+            });
+            outboxRecorder.record(DomainEventType.USER_ROLES_GRANTED, userId,
+                    Map.of("roleIds", activeRoles.stream().map(Role::getId).toList()));
+            eventPublisher.publishEvent(ChangeEvent.rolesChanged(List.of(userId)));
             return UserMapper.toDto(savedUser);
 
         } catch (NotFoundException | ValidationException e) {
@@ -173,4 +197,127 @@ public class RoleServiceImpl implements RoleService {
         }
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public BulkRoleResultDto grantRoles(List<UUID> userIds, List<UUID> roleIds)
+            throws ValidationException, DatabaseException {
+        List<UUID> uniqueUserIds = validateBulkIds(userIds, MAX_BULK_USERS, "User");
+        List<UUID> uniqueRoleIds = validateBulkIds(roleIds, MAX_BULK_ROLES, "Role");
+        requireActiveRoles(uniqueRoleIds);
+
+        try {
+            List<RoleAssignmentCandidate> candidates =
+                    roleRepository.findGrantCandidates(uniqueUserIds, uniqueRoleIds);
+            List<UUID> affectedIds = affectedIds(candidates);
+            roleRepository.incrementTokenVersions(affectedIds);
+            int granted = roleRepository.grantRoles(affectedIds, uniqueRoleIds);
+            log.info("Granted roles {} to {} of {} users ({} assignments)",
+                    uniqueRoleIds, affectedIds.size(), uniqueUserIds.size(), granted);
+            recordBulkChange(DomainEventType.USER_ROLES_GRANTED, affectedIds, uniqueRoleIds);
+            return buildBulkResult(uniqueUserIds, uniqueRoleIds, candidates, affectedIds, granted);
+        } catch (Exception e) {
+            log.error("Failed to grant roles {} to {} users", uniqueRoleIds, uniqueUserIds.size(), e);
+            throw new DatabaseException("Failed to grant roles to users");
+        }
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public BulkRoleResultDto revokeRoles(List<UUID> userIds, List<UUID> roleIds)
+            throws ValidationException, DatabaseException {
+        List<UUID> uniqueUserIds = validateBulkIds(userIds, MAX_BULK_USERS, "User");
+        List<UUID> uniqueRoleIds = validateBulkIds(roleIds, MAX_BULK_ROLES, "Role");
+
+        try {
+            List<RoleAssignmentCandidate> candidates =
+                    roleRepository.findRevokeCandidates(uniqueUserIds, uniqueRoleIds);
+            List<UUID> affectedIds = affectedIds(candidates);
+            roleRepository.incrementTokenVersions(affectedIds);
+            int revoked = roleRepository.revokeRoles(affectedIds, uniqueRoleIds);
+            log.info("Revoked roles {} from {} of {} users ({} assignments)",
+                    uniqueRoleIds, affectedIds.size(), uniqueUserIds.size(), revoked);
+            recordBulkChange(DomainEventType.USER_ROLES_REVOKED, affectedIds, uniqueRoleIds);
+            return buildBulkResult(uniqueUserIds, uniqueRoleIds, candidates, affectedIds, revoked);
+        } catch (Exception e) {
+            log.error("Failed to revoke roles {} from {} users", uniqueRoleIds, uniqueUserIds.size(), e);
+            throw new DatabaseException("Failed to revoke roles from users");
+        }
+    }
+
+    private List<UUID> validateBulkIds(List<UUID> ids, int maxSize, String label) throws ValidationException {
+        if (ids == null || ids.isEmpty()) throw new ValidationException(label + " IDs should not be empty");
+        if (ids.stream().anyMatch(Objects::isNull)) throw new ValidationException(label + " IDs should not contain null");
+
+        List<UUID> uniqueIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (uniqueIds.size() > maxSize)
+            throw new ValidationException("At most " + maxSize + " " + label.toLowerCase() + "s can be processed per request");
+        return uniqueIds;
+    }
+
+    private void requireActiveRoles(List<UUID> roleIds) throws ValidationException {
+        List<UUID> missingRoleIds = roleIds.stream()
+                .filter(roleId -> roleCatalogue.findById(roleId).isEmpty())
+                .toList();
+        if (!missingRoleIds.isEmpty()) {
+            throw new ValidationException("Roles not found or deleted: " + missingRoleIds);
+        }
+    }
+
+    private List<UUID> affectedIds(List<RoleAssignmentCandidate> candidates) {
+        return candidates.stream()
+                .filter(RoleAssignmentCandidate::affected)
+                .map(RoleAssignmentCandidate::userId)
+                .toList();
+    }
+
+    /**
+     * One event for the whole request rather than one per user, so a grant
+     * to many users adds a single outbox row.
+     */
+    private void recordBulkChange(DomainEventType type, List<UUID> affectedIds, List<UUID> roleIds) {
+        if (!affectedIds.isEmpty()) {
+            outboxRecorder.record(type, null, Map.of("userIds", affectedIds, "roleIds", roleIds));
+        }
+    }
+
+    private BulkRoleResultDto buildBulkResult(List<UUID> userIds, List<UUID> roleIds,
+                                              List<RoleAssignmentCandidate> candidates,
+                                              List<UUID> affectedIds, int assignmentsChanged) {
+        evictAfterCommit(candidates.stream().filter(RoleAssignmentCandidate::affected).toList());
+        if (!affectedIds.isEmpty()) {
+            eventPublisher.publishEvent(ChangeEvent.rolesChanged(affectedIds));
+        }
+        return new BulkRoleResultDto(
+                roleIds,
+                affectedIds.size(),
+                candidates.size() - affectedIds.size(),
+                userIds.size() - candidates.size(),
+                assignmentsChanged);
+    }
+
+    /**
+     * Tokens and cached details of the role's holders still name the role
+     * as it was, so they are invalidated as on a bulk revoke. Returns the
+     * holders' ids.
+     */
+    private List<UUID> invalidateRoleHolders(UUID roleId) {
+        List<RoleAssignmentCandidate> holders = roleRepository.findRoleHolders(roleId);
+        List<UUID> holderIds = affectedIds(holders);
+        roleRepository.incrementTokenVersions(holderIds);
+        evictAfterCommit(holders);
+        return holderIds;
+    }
+
+    /**
+     * Cached user details and token versions are only updated once the
+     * role changes are committed, so a concurrent login cannot cache the
+     * pre-change roles again.
+     */
+    private void evictAfterCommit(List<RoleAssignmentCandidate> affected) {
+        AfterCommit.run(() -> affected.forEach(candidate -> {
+            tokenRevocationRegistry.recordTokenVersion(candidate.userId(), candidate.tokenVersion() + 1);
+            userDetailsCache.evict(candidate.email());
+        }));
+    }
+
 }
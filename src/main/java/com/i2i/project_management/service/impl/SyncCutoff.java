@@ -0,0 +1,50 @@
+package com.i2i.project_management.service.impl;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Upper bound on updated_at for a change feed page. updated_at is the time
+ * the writing transaction started, not when it committed, so a transaction
+ * still in flight can commit a timestamp below a watermark that was already
+ * handed out. Rows younger than the settle delay are therefore held back
+ * until a later poll.
+ * <p>
+ * That is only safe while no write transaction outlives the delay, so every
+ * transaction runs under {@code spring.transaction.default-timeout} and the
+ * application refuses to start when the settle delay does not cover it.
+ * Bulk role changes and import chunks are bounded by the same timeout. The
+ * delay should also leave room for the clock skew between the application
+ * and the database.
+ */
+@Component
+public class SyncCutoff {
+
+    private final Duration settleDelay;
+
+    @Autowired
+    public SyncCutoff(@Value("${delta-sync.settle-delay-ms}") long settleDelayMillis,
+                      @Value("${spring.transaction.default-timeout}") Duration transactionTimeout) {
+        if (transactionTimeout.isZero() || transactionTimeout.isNegative()) {
+            throw new IllegalStateException(
+                    "spring.transaction.default-timeout must be positive for the delta sync settle delay to hold");
+        }
+        if (settleDelayMillis < transactionTimeout.toMillis()) {
+            throw new IllegalStateException("delta-sync.settle-delay-ms (" + settleDelayMillis
+                    + ") must cover spring.transaction.default-timeout (" + transactionTimeout + ")");
+        }
+        this.settleDelay = Duration.ofMillis(settleDelayMillis);
+    }
+
+    SyncCutoff(Duration settleDelay) {
+        this.settleDelay = settleDelay;
+    }
+
+    public Instant current() {
+        return Instant.now().minus(settleDelay);
+    }
+}
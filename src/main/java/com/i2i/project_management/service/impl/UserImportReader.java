@@ -0,0 +1,202 @@
+package com.i2i.project_management.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.i2i.project_management.Dto.RoleDto;
+import com.i2i.project_management.Dto.UserDto;
+import com.i2i.project_management.exception.ValidationException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily reads user import records, one per line, from a CSV body with a
+ * header row or from NDJSON objects. Roles are given as names, separated by
+ * ';' in CSV or as a JSON array. A malformed line becomes a row carrying an
+ * error rather than stopping the import.
+ */
+class UserImportReader implements Iterator<UserImportReader.Row> {
+
+    static final List<String> REQUIRED_COLUMNS = List.of("email", "firstName", "lastName", "password");
+
+    record Row(long number, UserDto user, String error) {
+    }
+
+    private final BufferedReader reader;
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Integer> csvColumns;
+
+    private long number;
+
+    private String nextLine;
+
+    private UserImportReader(BufferedReader reader, ObjectMapper objectMapper, Map<String, Integer> csvColumns) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+        this.csvColumns = csvColumns;
+    }
+
+    static UserImportReader ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+        return new UserImportReader(reader, objectMapper, null);
+    }
+
+    static UserImportReader csv(BufferedReader reader) throws IOException, ValidationException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new ValidationException("CSV import requires a header row");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsvLine(header.replace("\uFEFF", ""));
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).toLowerCase(), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required.toLowerCase())) {
+                throw new ValidationException("CSV header is missing the " + required + " column");
+            }
+        }
+        return new UserImportReader(reader, null, columns);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (nextLine == null) {
+                String line = reader.readLine();
+                if (line == null) {
+                    return false;
+                }
+                if (!line.isBlank()) {
+                    nextLine = line;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        String line = nextLine;
+        nextLine = null;
+        number++;
+        try {
+            return new Row(number, csvColumns != null ? fromCsv(line) : fromJson(line), null);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            return new Row(number, null, "Malformed record: " + e.getMessage());
+        }
+    }
+
+    private UserDto fromCsv(String line) {
+        List<String> fields = splitCsvLine(line);
+        UserDto user = new UserDto();
+        user.setEmail(csvField(fields, "email"));
+        user.setFirstName(csvField(fields, "firstName"));
+        user.setLastName(csvField(fields, "lastName"));
+        user.setPassword(csvField(fields, "password"));
+        user.setPhoneNumber(csvField(fields, "phoneNumber"));
+        user.setAddress(csvField(fields, "address"));
+        user.setRoles(toRoles(csvField(fields, "roles")));
+        return user;
+    }
+
+    private String csvField(List<String> fields, String column) {
+        Integer index = csvColumns.get(column.toLowerCase());
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private UserDto fromJson(String line) throws JsonProcessingException {
+        JsonNode node = objectMapper.readTree(line);
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("expected a JSON object");
+        }
+        UserDto user = new UserDto();
+        user.setEmail(jsonField(node, "email"));
+        user.setFirstName(jsonField(node, "firstName"));
+        user.setLastName(jsonField(node, "lastName"));
+        user.setPassword(jsonField(node, "password"));
+        user.setPhoneNumber(jsonField(node, "phoneNumber"));
+        user.setAddress(jsonField(node, "address"));
+        JsonNode roles = node.path("roles");
+        if (roles.isArray()) {
+            List<RoleDto> roleDtos = new ArrayList<>();
+            roles.forEach(role -> roleDtos.add(toRole(role.asText())));
+            user.setRoles(roleDtos);
+        } else {
+            user.setRoles(toRoles(jsonField(node, "roles")));
+        }
+        return user;
+    }
+
+    private String jsonField(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private List<RoleDto> toRoles(String names) {
+        if (names == null) {
+            return null;
+        }
+        List<RoleDto> roles = new ArrayList<>();
+        for (String name : names.split(";")) {
+            if (!name.isBlank()) {
+                roles.add(toRole(name.trim()));
+            }
+        }
+        return roles;
+    }
+
+    private RoleDto toRole(String name) {
+        RoleDto role = new RoleDto();
+        role.setName(name);
+        return role;
+    }
+
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+}
@@ -0,0 +1,268 @@
+package com.i2i.project_management.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.i2i.project_management.Dto.RoleDto;
+import com.i2i.project_management.Dto.UserDto;
+import com.i2i.project_management.Dto.UserImportErrorDto;
+import com.i2i.project_management.Dto.UserImportReportDto;
+import com.i2i.project_management.event.DomainEventType;
+import com.i2i.project_management.event.OutboxRecorder;
+import com.i2i.project_management.exception.ValidationException;
+import com.i2i.project_management.mapper.UserMapper;
+import com.i2i.project_management.model.Role;
+import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.security.RoleCatalogue;
+import com.i2i.project_management.service.UserImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports users from a CSV or NDJSON stream in fixed-size chunks. Roles are
+ * resolved once up front, passwords of a chunk are hashed in parallel on a
+ * bounded pool that is separate from the login pool, and each chunk is
+ * written with JDBC batches in its own transaction. Users whose email
+ * already exists are skipped, so an interrupted import can simply be
+ * re-run from the reported {@code resumeFrom} record.
+ */
+@Service
+@Slf4j
+public class UserImportServiceImpl implements UserImportService, DisposableBean {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String DEFAULT_ROLE = "EMPLOYEE";
+
+    private final UserRepository userRepository;
+
+    private final RoleCatalogue roleCatalogue;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final ObjectMapper objectMapper;
+
+    private final OutboxRecorder outboxRecorder;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolExecutor hashingExecutor;
+
+    private final int chunkSize;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 RoleCatalogue roleCatalogue,
+                                 PasswordEncoder passwordEncoder,
+                                 ObjectMapper objectMapper,
+                                 OutboxRecorder outboxRecorder,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${user-import.chunk-size}") int chunkSize,
+                                 @Value("${user-import.hashing-threads}") int hashingThreads) {
+        this.userRepository = userRepository;
+        this.roleCatalogue = roleCatalogue;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.outboxRecorder = outboxRecorder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        int poolSize = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("user-import-hashing-");
+        threadFactory.setDaemon(true);
+        this.hashingExecutor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(chunkSize),
+                threadFactory,
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    @Override
+    public UserImportReportDto importUsers(InputStream input, Format format, long resumeFrom)
+            throws ValidationException {
+        if (input == null || format == null) throw new ValidationException("Import body and format are required");
+        if (resumeFrom < 0) throw new ValidationException("resumeFrom should not be negative");
+
+        Map<String, Role> rolesByName = new HashMap<>();
+        roleCatalogue.findAll().forEach(role -> rolesByName.put(role.getName().toUpperCase(), role));
+        Role defaultRole = rolesByName.get(DEFAULT_ROLE);
+        if (defaultRole == null) throw new ValidationException("Default EMPLOYEE role not found");
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        UserImportReportDto report = new UserImportReportDto();
+        report.setResumeFrom(resumeFrom);
+        Set<String> seenEmails = new HashSet<>();
+        List<PendingUser> chunk = new ArrayList<>(chunkSize);
+        long lastRecord = resumeFrom;
+
+        log.info("Starting {} user import from record {}", format, resumeFrom + 1);
+        try {
+            UserImportReader rows = format == Format.CSV
+                    ? UserImportReader.csv(reader)
+                    : UserImportReader.ndjson(reader, objectMapper);
+            while (rows.hasNext()) {
+                UserImportReader.Row row = rows.next();
+                if (row.number() <= resumeFrom) {
+                    continue;
+                }
+                lastRecord = row.number();
+                report.setProcessed(report.getProcessed() + 1);
+                try {
+                    chunk.add(toPendingUser(row, rolesByName, defaultRole, seenEmails));
+                } catch (ValidationException e) {
+                    recordError(report, row, e.getMessage());
+                }
+                if (chunk.size() == chunkSize && !flush(chunk, lastRecord, report)) {
+                    return report;
+                }
+            }
+            if (!flush(chunk, lastRecord, report)) {
+                return report;
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("User import stream failed after record {}", lastRecord, e);
+            report.setAbortReason("Failed to read the import body after record " + lastRecord);
+            return report;
+        }
+
+        report.setCompleted(true);
+        log.info("User import finished: {} imported, {} skipped, {} failed",
+                report.getImported(), report.getSkipped(), report.getFailed());
+        return report;
+    }
+
+    @Override
+    public void destroy() {
+        hashingExecutor.shutdown();
+    }
+
+    private PendingUser toPendingUser(UserImportReader.Row row, Map<String, Role> rolesByName, Role defaultRole,
+                                      Set<String> seenEmails) throws ValidationException {
+        if (row.error() != null) throw new ValidationException(row.error());
+
+        UserDto userDto = row.user();
+        if (!StringUtils.hasText(userDto.getEmail()) || !userDto.getEmail().contains("@"))
+            throw new ValidationException("A valid email is required");
+        if (!StringUtils.hasText(userDto.getFirstName())
+                || !StringUtils.hasText(userDto.getLastName())
+                || !StringUtils.hasText(userDto.getPassword()))
+            throw new ValidationException("Email, first name, last name and password are required");
+        if (!seenEmails.add(userDto.getEmail().toLowerCase()))
+            throw new ValidationException("Email appears more than once in the import");
+
+        Set<Role> roles = new HashSet<>();
+        if (userDto.getRoles() == null || userDto.getRoles().isEmpty()) {
+            roles.add(defaultRole);
+        } else {
+            for (RoleDto roleDto : userDto.getRoles()) {
+                Role role = rolesByName.get(roleDto.getName().toUpperCase());
+                if (role == null) throw new ValidationException("Unknown role: " + roleDto.getName());
+                roles.add(role);
+            }
+        }
+
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .email(userDto.getEmail())
+                .firstName(userDto.getFirstName())
+                .lastName(userDto.getLastName())
+                .phoneNumber(userDto.getPhoneNumber())
+                .address(userDto.getAddress())
+                .roles(roles)
+                .isDeleted(false)
+                .build();
+        return new PendingUser(row.number(), user, userDto.getPassword());
+    }
+
+    /**
+     * Skips emails that already exist, hashes the remaining passwords in
+     * parallel and commits the chunk. Returns false when the chunk could not
+     * be written, in which case the report is marked as aborted.
+     */
+    private boolean flush(List<PendingUser> chunk, long lastRecord, UserImportReportDto report) {
+        if (chunk.isEmpty()) {
+            report.setResumeFrom(lastRecord);
+            return true;
+        }
+        try {
+            Set<String> existingEmails = userRepository.findActiveEmails(
+                    chunk.stream().map(pending -> pending.user().getEmail()).toList());
+            List<PendingUser> toInsert = new ArrayList<>(chunk.size());
+            for (PendingUser pending : chunk) {
+                if (existingEmails.contains(pending.user().getEmail().toLowerCase())) {
+                    report.setSkipped(report.getSkipped() + 1);
+                } else {
+                    toInsert.add(pending);
+                }
+            }
+
+            List<CompletableFuture<String>> hashes = toInsert.stream()
+                    .map(pending -> CompletableFuture.supplyAsync(
+                            () -> passwordEncoder.encode(pending.rawPassword()), hashingExecutor))
+                    .toList();
+            List<User> users = new ArrayList<>(toInsert.size());
+            for (int i = 0; i < toInsert.size(); i++) {
+                User user = toInsert.get(i).user();
+                user.setPassword(hashes.get(i).join());
+                users.add(user);
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                userRepository.batchInsertUsers(users);
+                userRepository.batchInsertUserRoles(users);
+                if (!users.isEmpty()) {
+                    outboxRecorder.record(DomainEventType.USERS_IMPORTED, null,
+                            users.stream().map(UserMapper::toDto).toList());
+                }
+            });
+            report.setImported(report.getImported() + users.size());
+            report.setResumeFrom(lastRecord);
+            log.info("User import committed through record {} ({} imported so far)", lastRecord, report.getImported());
+            return true;
+        } catch (Exception e) {
+            log.error("User import aborted in the chunk ending at record {}", lastRecord, e);
+            report.setAbortReason("Failed to write records " + chunk.get(0).number() + " to " + lastRecord
+                    + "; resume from record " + report.getResumeFrom());
+            return false;
+        } finally {
+            chunk.clear();
+        }
+    }
+
+    private void recordError(UserImportReportDto report, UserImportReader.Row row, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            String email = row.user() == null ? null : row.user().getEmail();
+            report.getErrors().add(new UserImportErrorDto(row.number(), email, message));
+        }
+    }
+
+    private record PendingUser(long number, User user, String rawPassword) {
+    }
+}
@@ -1,23 +1,42 @@
 package com.i2i.project_management.service.impl;
 
+import com.i2i.project_management.event.DomainEventType;
+import com.i2i.project_management.event.OutboxRecorder;
 import com.i2i.project_management.exception.DatabaseException;
 import com.i2i.project_management.exception.ValidationException;
+import com.i2i.project_management.Dto.ChangeFeedDto;
+import com.i2i.project_management.Dto.ProjectDto;
 import com.i2i.project_management.Dto.RoleDto;
+import com.i2i.project_management.Dto.SearchPageDto;
+import com.i2i.project_management.Dto.TombstoneDto;
 import com.i2i.project_management.Dto.UserDto;
 import com.i2i.project_management.Dto.UserUpdateDto;
 import com.i2i.project_management.exception.NotFoundException;
+import com.i2i.project_management.exception.PreconditionFailedException;
 import com.i2i.project_management.mapper.UserMapper;
 import com.i2i.project_management.model.Role;
 import com.i2i.project_management.model.User;
-import com.i2i.project_management.repository.RoleRepository;
 import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.repository.projection.UserChange;
+import com.i2i.project_management.repository.projection.UserSummary;
+import com.i2i.project_management.search.SearchIndex;
+import com.i2i.project_management.search.SearchQuery;
+import com.i2i.project_management.security.RoleCatalogue;
+import com.i2i.project_management.security.TokenRevocationRegistry;
+import com.i2i.project_management.security.UserDetailsCache;
 import com.i2i.project_management.service.UserService;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,13 +48,30 @@ import org.springframework.util.StringUtils;
 @Slf4j
 public class UserServiceImpl implements UserService {
 
+    static final int STREAM_BATCH_SIZE = 500;
+
+    static final int DEFAULT_PAGE_SIZE = 50;
+
+    static final int MAX_PAGE_SIZE = 200;
+
     private final UserRepository userRepository;
 
-    private final RoleRepository roleRepository;
+    private final RoleCatalogue roleCatalogue;
 
     private final PasswordEncoder passwordEncoder;
 
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    private final UserDetailsCache userDetailsCache;
+
+    private final SyncCutoff syncCutoff;
+
+    private final OutboxRecorder outboxRecorder;
+
+    private final SearchIndex searchIndex;
+
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public UserDto createUser(UserDto userDto) throws ValidationException {
         if (userDto == null) {
             throw new ValidationException("User details should not be null");
@@ -59,43 +95,56 @@ public class UserServiceImpl implements UserService {
         user.setPassword(passwordEncoder.encode(userDto.getPassword()));
 
         if (userDto.getRoles() != null && !userDto.getRoles().isEmpty()) {
-            List<Role> roles = roleRepository.findAllById(
+            List<Role> roles = roleCatalogue.findAllById(
                     userDto.getRoles().stream()
                             .map(RoleDto::getId)
                             .toList()
             );
-            Set<Role> activeRoles = roles.stream()
-                    .filter(role -> !Boolean.TRUE.equals(role.getIsDeleted()))
-                    .collect(Collectors.toSet());
-            user.setRoles(activeRoles);
+            user.setRoles(new HashSet<>(roles));
         } else {
-            Role role = roleRepository.findRoleByName("EMPLOYEE")
+            Role role = roleCatalogue.findByName("EMPLOYEE")
                     .orElseThrow(() -> new ValidationException("Default EMPLOYEE role not found"));
             user.setRoles(Set.of(role));
         }
         User savedUser = userRepository.save(user);
+        UserDto savedUserDto = UserMapper.toDto(savedUser);
+        outboxRecorder.record(DomainEventType.USER_CREATED, savedUser.getId(), savedUserDto);
         log.info("User {} created successfully", savedUser.getEmail());
-        return UserMapper.toDto(savedUser);
+        return savedUserDto;
     }
 
+    /**
+     * Applies the update only when the user is still at one of the
+     * {@code expectedVersions} taken from If-Match (null means
+     * unconditional); the flushed UPDATE re-checks the version.
+     */
     @Override
-    public UserDto updateUser(UUID userID, UserUpdateDto userUpdateDto) throws ValidationException, NotFoundException {
+    @Transactional(rollbackFor = Exception.class)
+    public UserDto updateUser(UUID userID, UserUpdateDto userUpdateDto, Collection<Long> expectedVersions)
+            throws ValidationException, NotFoundException, PreconditionFailedException {
         if (userUpdateDto == null) throw new ValidationException("User update details should not be null");
 
         log.info("Updating user {}", userID);
         User user = userRepository.findUserById(userID)
                 .orElseThrow(() -> new NotFoundException("User not found with ID: " + userID));
+        if (expectedVersions != null && !expectedVersions.contains(user.getVersion()))
+            throw new PreconditionFailedException("User with ID: " + userID + " has been modified");
 
         if (userUpdateDto.getFirstName() != null) user.setFirstName(userUpdateDto.getFirstName());
         if (userUpdateDto.getLastName() != null) user.setLastName(userUpdateDto.getLastName());
         if (userUpdateDto.getAddress() != null) user.setAddress(userUpdateDto.getAddress());
         if (userUpdateDto.getPhoneNumber() != null) user.setPhoneNumber(userUpdateDto.getPhoneNumber());
 
-        User updatedUser = userRepository.save(user);
-        return UserMapper.toDto(updatedUser);
+        User updatedUser = userRepository.saveAndFlush(user);
+        UserDto updatedUserDto = UserMapper.toDto(updatedUser);
+        outboxRecorder.record(DomainEventType.USER_UPDATED, userID, updatedUserDto);
+        String email = user.getEmail();
+        AfterCommit.run(() -> userDetailsCache.evict(email));
+        return updatedUserDto;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto findUserById(UUID id) throws ValidationException, DatabaseException {
         if(id == null) throw new ValidationException("User id should not be null");
 
@@ -110,15 +159,34 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Override
+    public long findUserVersionById(UUID id) throws ValidationException, NotFoundException, DatabaseException {
+        if (id == null) throw new ValidationException("User id should not be null");
+
+        try {
+            return userRepository.findVersionById(id)
+                    .orElseThrow(() -> new NotFoundException("User not found with ID: " + id));
+        } catch (NotFoundException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error fetching version of user {}", id, e);
+            throw new DatabaseException("Failed to fetch user for id: " + id);
+        }
+    }
+
+    /**
+     * Builds the listing from three set-based projection queries (users,
+     * their roles, their projects) so the statement count stays constant no
+     * matter how many users there are.
+     */
     @Override
     public List<UserDto> findAllUser() throws DatabaseException, NotFoundException {
         List<UserDto> userDtos;
         try {
-            List<User> users = userRepository.findAllUsers();
+            List<UserSummary> users = userRepository.findAllUserSummaries();
             if (users.isEmpty()) throw new NotFoundException("User list is Empty");
-            userDtos = users.stream()
-                    .map(UserMapper :: toDto)
-                    .toList();
+
+            userDtos = UserMapper.toDtos(users, userRepository.findAllUserRoles(), userRepository.findAllUserProjects());
         } catch (NotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -128,11 +196,121 @@ public class UserServiceImpl implements UserService {
         return userDtos;
     }
 
+    /**
+     * Ranked search over user names and email addresses, served by the
+     * configured {@link SearchIndex} with the same typo-tolerant fallback
+     * as project search.
+     */
+    @Override
+    public SearchPageDto<UserDto> searchUsers(String text, Integer page, Integer size)
+            throws ValidationException, DatabaseException {
+        if (size != null && size < 1) throw new ValidationException("Page size should be greater than zero");
+        if (page != null && page < 0) throw new ValidationException("Page should not be negative");
+
+        SearchQuery query = SearchQuery.parse(text);
+        int pageNumber = page == null ? 0 : page;
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        int offset = SearchQuery.offset(pageNumber, pageSize);
+        int limit = Math.min(pageSize + 1, SearchQuery.MAX_RESULTS - offset);
+        try {
+            List<UserDto> users = searchIndex.searchUsers(query, offset, limit);
+            return new SearchPageDto<>(users.subList(0, Math.min(users.size(), pageSize)), pageNumber,
+                    users.size() > pageSize);
+        } catch (Exception e) {
+            log.error("Failed to search users for '{}'", text, e);
+            throw new DatabaseException("Failed to search users");
+        }
+    }
+
+    /**
+     * Walks the users in keyset batches of {@link #STREAM_BATCH_SIZE}. Each
+     * batch costs three short queries (users, then roles and projects of just
+     * those users) and is handed to the consumer before the next is read, so
+     * a slow client pauses the walk without holding a JDBC connection.
+     */
+    @Override
+    public void streamAllUsers(Consumer<UserDto> consumer) throws DatabaseException {
+        try {
+            Limit limit = Limit.of(STREAM_BATCH_SIZE);
+            List<UserSummary> batch = userRepository.findFirstUserSummariesPage(limit);
+            while (!batch.isEmpty()) {
+                List<UUID> userIds = batch.stream().map(UserSummary::getId).toList();
+                UserMapper.toDtos(batch, userRepository.findUserRoles(userIds), userRepository.findUserProjects(userIds))
+                        .forEach(consumer);
+                if (batch.size() < STREAM_BATCH_SIZE) {
+                    break;
+                }
+                batch = userRepository.findUserSummariesPageAfter(userIds.get(userIds.size() - 1), limit);
+            }
+        } catch (UncheckedIOException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to stream users", e);
+            throw new DatabaseException("Failed to stream users");
+        }
+    }
+
+    /**
+     * Users created, updated or deleted after the watermark, oldest first,
+     * with deleted ones as tombstones. Role and membership changes bump
+     * updated_at too, so they are included. Costs a range scan on the
+     * (updated_at, id) index plus one roles and one projects query for the
+     * live users of the page.
+     */
+    @Override
+    public ChangeFeedDto<UserDto> findUserChanges(String since, Integer size)
+            throws ValidationException, DatabaseException {
+        if (size != null && size < 1) throw new ValidationException("Page size should be greater than zero");
+
+        SyncWatermark watermark = SyncWatermark.parse(since);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        try {
+            List<UserChange> changes = userRepository.findChangedSince(watermark.updatedAt(), watermark.id(),
+                    syncCutoff.current(), Limit.of(pageSize + 1));
+
+            boolean hasMore = changes.size() > pageSize;
+            List<UserChange> live = new ArrayList<>();
+            List<TombstoneDto> deleted = new ArrayList<>();
+            for (UserChange change : changes.subList(0, Math.min(changes.size(), pageSize))) {
+                if (change.isDeleted()) {
+                    deleted.add(new TombstoneDto(change.getId(), change.getUpdatedAt()));
+                } else {
+                    live.add(change);
+                }
+                watermark = new SyncWatermark(change.getUpdatedAt(), change.getId());
+            }
+
+            List<UserDto> updated = List.of();
+            if (!live.isEmpty()) {
+                List<UUID> userIds = live.stream().map(UserChange::getId).toList();
+                updated = UserMapper.toDtos(live, userRepository.findUserRoles(userIds),
+                        userRepository.findUserProjects(userIds));
+            }
+            return new ChangeFeedDto<>(updated, deleted, watermark.encode(), hasMore);
+        } catch (Exception e) {
+            log.error("Failed to fetch user changes since {}", since, e);
+            throw new DatabaseException("Failed to fetch user changes");
+        }
+    }
+
+    /**
+     * Deleting a user that is already deleted, or never existed, changes
+     * nothing: no version moves and no event is recorded.
+     */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void deleteUser(UUID id) throws DatabaseException {
         log.warn("Deleting user {}", id);
         try {
-            userRepository.deleteEmployee(id);
+            if (userRepository.deleteEmployee(id) == 0) {
+                log.debug("User {} is already deleted or does not exist", id);
+                return;
+            }
+            outboxRecorder.record(DomainEventType.USER_DELETED, id, null);
+            AfterCommit.run(() -> {
+                tokenRevocationRegistry.revokeAllTokens(id);
+                userDetailsCache.evictUser(id);
+            });
         } catch (Exception e) {
             log.error("Error deleting user {}", id, e);
             throw new DatabaseException("Failed to delete user with id: " + id);
@@ -140,6 +318,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public UserDto updateOwnProfile(String email, UserUpdateDto userUpdateDto)
             throws ValidationException, NotFoundException {
         if (!StringUtils.hasText(email)) {
@@ -175,7 +354,10 @@ public class UserServiceImpl implements UserService {
         }
 
         User saved = userRepository.save(user);
-        return UserMapper.toDto(saved);
+        UserDto savedDto = UserMapper.toDto(saved);
+        outboxRecorder.record(DomainEventType.USER_UPDATED, saved.getId(), savedDto);
+        AfterCommit.run(() -> userDetailsCache.evict(email));
+        return savedDto;
     }
 
 }
@@ -0,0 +1,20 @@
+-- Flyway migration: indexes behind the filtered project query
+-- PostgreSQL
+
+-- The query compares names as lower(name) COLLATE "C", so a name prefix is
+-- a range on the index and the rows come out of it already sorted. The
+-- database collation orders differently, which is why uq_projects_name_active
+-- cannot serve the range.
+CREATE INDEX idx_projects_name_c
+    ON projects ((lower(name) COLLATE "C"))
+    WHERE NOT is_deleted;
+
+-- Filtering on is_active leaves the remaining columns in sort order, for
+-- either ordering the query offers.
+CREATE INDEX idx_projects_active_name_c
+    ON projects (is_active, (lower(name) COLLATE "C"))
+    WHERE NOT is_deleted;
+
+CREATE INDEX idx_projects_active_updated_at_id
+    ON projects (is_active, updated_at, id)
+    WHERE NOT is_deleted;
@@ -0,0 +1,17 @@
+-- Flyway migration: persisted token revocations
+-- PostgreSQL
+
+-- One row per token revoked at logout, kept until the token would have
+-- expired anyway. Every instance reads the rows written since its last
+-- refresh, so a logout holds across instances and restarts.
+CREATE TABLE revoked_tokens (
+    token_id   VARCHAR(64)              PRIMARY KEY,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_revoked_tokens_revoked_at
+    ON revoked_tokens (revoked_at);
+
+CREATE INDEX idx_revoked_tokens_expires_at
+    ON revoked_tokens (expires_at);
@@ -0,0 +1,10 @@
+-- Flyway migration: mark existing projects active
+-- PostgreSQL
+
+-- Projects created through the API were stored with is_active = false,
+-- because the entity never set the flag and its column default did not
+-- apply. Nothing could deactivate a project before the flag was exposed,
+-- so every inactive row is one of those.
+UPDATE projects
+SET is_active = TRUE
+WHERE NOT is_active;
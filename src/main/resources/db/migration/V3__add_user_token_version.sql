@@ -0,0 +1,7 @@
+-- Flyway migration: per-user token version
+-- PostgreSQL
+
+-- Bumped whenever a user's roles or status change so that JWTs issued
+-- before the change can be told apart from fresh ones without a lookup.
+ALTER TABLE pm_users
+    ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
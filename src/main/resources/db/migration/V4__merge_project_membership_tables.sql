@@ -0,0 +1,16 @@
+-- Flyway migration: single project membership table
+-- PostgreSQL
+
+-- user_projects and project_employee both described the same relationship.
+-- Keep project_employee, fold in any rows only present in user_projects.
+INSERT INTO project_employee (project_id, employee_id)
+SELECT project_id, user_id
+FROM user_projects
+ON CONFLICT DO NOTHING;
+
+DROP TABLE user_projects;
+
+-- The primary key (project_id, employee_id) serves project -> members;
+-- this index serves member -> projects.
+CREATE INDEX idx_project_employee_employee_project
+    ON project_employee (employee_id, project_id);
@@ -0,0 +1,47 @@
+-- Flyway migration: indexes for the soft-delete lookups
+-- PostgreSQL
+
+-- Only active rows have to be unique; soft-deleted rows keep their values
+-- so an email or name can be reused after a delete. The repositories match
+-- on lower(...) AND NOT is_deleted, which these partial indexes cover.
+
+-- Nothing enforced this before, so active rows may already share a value,
+-- possibly differing only in case. Fail with the offending values rather than let an index build fail on the first one;
+-- which row to keep is for an operator to decide.
+DO
+$$
+DECLARE
+    duplicate_count BIGINT;
+    examples TEXT;
+BEGIN
+    SELECT count(*), string_agg(value, ', ') FILTER (WHERE position <= 20)
+    INTO duplicate_count, examples
+    FROM (SELECT value, row_number() OVER (ORDER BY value) AS position
+          FROM (SELECT 'pm_users.email ' || lower(email) AS value
+                FROM pm_users WHERE NOT is_deleted GROUP BY lower(email) HAVING count(*) > 1
+                UNION ALL
+                SELECT 'projects.name ' || lower(name)
+                FROM projects WHERE NOT is_deleted GROUP BY lower(name) HAVING count(*) > 1
+                UNION ALL
+                SELECT 'roles.name ' || lower(name)
+                FROM roles WHERE NOT is_deleted GROUP BY lower(name) HAVING count(*) > 1) AS duplicate
+         ) AS numbered;
+
+    IF duplicate_count > 0 THEN
+        RAISE EXCEPTION '% values are held by more than one active row, ignoring case, e.g. %. Rename or soft-delete all but one row of each, then rerun the migration.',
+            duplicate_count, examples;
+    END IF;
+END
+$$;
+
+CREATE UNIQUE INDEX uq_pm_users_email_active
+    ON pm_users (lower(email))
+    WHERE NOT is_deleted;
+
+CREATE UNIQUE INDEX uq_projects_name_active
+    ON projects (lower(name))
+    WHERE NOT is_deleted;
+
+CREATE UNIQUE INDEX uq_roles_name_active
+    ON roles (lower(name))
+    WHERE NOT is_deleted;
@@ -0,0 +1,14 @@
+-- Flyway migration: optimistic-lock versions
+-- PostgreSQL
+
+-- Incremented on every write to the row (and, for users, whenever their
+-- roles or project memberships change) so that GET responses can carry a
+-- strong ETag and PUT can require If-Match. Existing rows start at 0.
+ALTER TABLE projects
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE pm_users
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE roles
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
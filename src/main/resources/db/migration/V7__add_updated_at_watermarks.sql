@@ -0,0 +1,20 @@
+-- Flyway migration: updated_at watermarks for delta sync
+-- PostgreSQL
+
+-- Set on every write that changes what GET returns for the row (soft
+-- deletes included, which the change feeds report as tombstones). Existing
+-- rows start at the time of the migration, so the first sync after it
+-- returns them all once.
+ALTER TABLE projects
+    ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+
+ALTER TABLE pm_users
+    ADD COLUMN updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now();
+
+-- The change feeds page on (updated_at, id) > (watermark), so a poll is a
+-- range scan over the rows written since the last one.
+CREATE INDEX idx_projects_updated_at_id
+    ON projects (updated_at, id);
+
+CREATE INDEX idx_pm_users_updated_at_id
+    ON pm_users (updated_at, id);
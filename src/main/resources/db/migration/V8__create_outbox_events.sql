@@ -0,0 +1,14 @@
+-- Flyway migration: transactional outbox
+-- PostgreSQL
+
+-- One row per committed mutation, written in the same transaction as the
+-- change itself. The relay reads rows in id order, hands them to the sink
+-- and deletes them, so the table only holds what has not been delivered.
+CREATE TABLE outbox_events (
+    id             BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(32)              NOT NULL,
+    aggregate_id   UUID,
+    event_type     VARCHAR(64)              NOT NULL,
+    payload        TEXT,
+    created_at     TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT now()
+);
@@ -0,0 +1,42 @@
+-- Flyway migration: full-text and fuzzy search over projects and users
+-- PostgreSQL
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Search documents, kept in step with the row by PostgreSQL itself. The
+-- 'simple' configuration neither stems nor drops stop words, so names and
+-- email addresses are indexed as typed. Name matches weigh more than
+-- description or email matches when results are ranked.
+ALTER TABLE projects
+    ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', name), 'A')
+            || setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+-- The parser keeps an email address as a single token, so the local part
+-- is indexed again split into words: "jane.doe@i2i.com" is found by "doe".
+ALTER TABLE pm_users
+    ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', first_name || ' ' || last_name), 'A')
+            || setweight(to_tsvector('simple', email), 'B')
+            || setweight(to_tsvector('simple', translate(split_part(email, '@', 1), '._-+', '    ')), 'B')
+    ) STORED;
+
+-- Search only ever returns active rows, so the indexes leave deleted ones out.
+CREATE INDEX idx_projects_search_vector
+    ON projects USING GIN (search_vector)
+    WHERE NOT is_deleted;
+
+CREATE INDEX idx_pm_users_search_vector
+    ON pm_users USING GIN (search_vector)
+    WHERE NOT is_deleted;
+
+-- Trigram indexes behind the typo-tolerant fallback, used when the prefix
+-- search finds nothing.
+CREATE INDEX idx_projects_name_trgm
+    ON projects USING GIN (lower(name) gin_trgm_ops)
+    WHERE NOT is_deleted;
+
+CREATE INDEX idx_pm_users_search_text_trgm
+    ON pm_users USING GIN (lower(first_name || ' ' || last_name || ' ' || email) gin_trgm_ops)
+    WHERE NOT is_deleted;
@@ -0,0 +1,266 @@
+package com.i2i.project_management.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.i2i.project_management.ProjectManagementApplication;
+import com.i2i.project_management.model.Project;
+import com.i2i.project_management.model.Role;
+import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.ProjectRepository;
+import com.i2i.project_management.repository.RoleRepository;
+import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.security.RoleCatalogue;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fires {@code readers} concurrent authenticated reads at once against the
+ * app on virtual threads and reports, per burst, how many platform threads
+ * and pooled JDBC connections it took: the peak platform thread count, the
+ * peak of active and of waiting connections, and connection-milliseconds
+ * (active connections integrated over the burst). Comparing openInView
+ * true and false shows how long each request keeps its connection once the
+ * statements are done. Every Hibernate statement is delayed by
+ * databaseLatencyMs as in {@link ThreadModeLoadBenchmark}.
+ *
+ * <p>Each reader needs a client and a server socket, so 10k readers need
+ * an open-file limit above 20k and about 3 GB of heap for the fork
+ * ({@code -jvmArgs -Xmx3g}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ConcurrentReadersBenchmark {
+
+    @Param({"10000"})
+    private int readers;
+
+    @Param({"project", "user"})
+    private String endpoint;
+
+    @Param({"true", "false"})
+    private boolean openInView;
+
+    @Param({"5"})
+    private long databaseLatencyMs;
+
+    private ConfigurableApplicationContext context;
+
+    private HikariPoolMXBean pool;
+
+    private ExecutorService clientExecutor;
+
+    private HttpRequest read;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        ThreadModeLoadBenchmark.SimulatedDatabaseLatency.millis = databaseLatencyMs;
+        context = new SpringApplicationBuilder(ProjectManagementApplication.class)
+                .profiles("test")
+                .run("--spring.threads.virtual.enabled=true",
+                        "--spring.jpa.open-in-view=" + openInView,
+                        "--server.tomcat.max-connections=" + (readers + 100),
+                        "--server.tomcat.accept-count=" + readers,
+                        "--server.tomcat.max-keep-alive-requests=1",
+                        "--spring.datasource.hikari.maximum-pool-size=20",
+                        "--spring.datasource.hikari.minimum-idle=20",
+                        "--spring.datasource.hikari.connection-timeout=30000",
+                        "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + ThreadModeLoadBenchmark.SimulatedDatabaseLatency.class.getName(),
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.com.i2i.project_management=WARN");
+        pool = context.getBean(HikariDataSource.class).getHikariPoolMXBean();
+
+        Role admin = context.getBean(RoleRepository.class)
+                .save(Role.builder().name("ADMIN").isDeleted(false).build());
+        context.getBean(RoleCatalogue.class).reload();
+        User user = context.getBean(UserRepository.class).save(User.builder()
+                .email("load@i2i.com")
+                .password(context.getBean(PasswordEncoder.class).encode("Load@123"))
+                .firstName("Load")
+                .lastName("Test")
+                .roles(Set.of(admin))
+                .isDeleted(false)
+                .build());
+        Project project = context.getBean(ProjectRepository.class)
+                .save(Project.builder().name("Load test").users(Set.of(user)).isDeleted(false).build());
+
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + context.getEnvironment().getProperty("server.servlet.context-path");
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpResponse<String> login;
+        try (HttpClient httpClient = newHttpClient()) {
+            login = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"load@i2i.com\",\"password\":\"Load@123\"}"))
+                            .build(),
+                    HttpResponse.BodyHandlers.ofString());
+        }
+        String token = new ObjectMapper().readTree(login.body()).get("token").asText();
+        String path = "project".equals(endpoint) ? "/projects/" + project.getId() : "/users/" + user.getId();
+        read = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        clientExecutor.shutdownNow();
+    }
+
+    /**
+     * Every burst opens its own connections, one per reader, and the server
+     * closes each after its response, so no sockets carry over between
+     * bursts.
+     */
+    @Benchmark
+    public void concurrentReaders(Usage usage) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        PoolSampler sampler = new PoolSampler(pool);
+        sampler.start();
+
+        long failed;
+        try (HttpClient httpClient = newHttpClient()) {
+            List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(readers);
+            for (int i = 0; i < readers; i++) {
+                responses.add(httpClient.sendAsync(read, HttpResponse.BodyHandlers.discarding()));
+            }
+            failed = responses.stream()
+                    .map(response -> response.handle((ok, error) -> error == null && ok.statusCode() == 200))
+                    .map(CompletableFuture::join)
+                    .filter(ok -> !ok)
+                    .count();
+        }
+
+        sampler.stop();
+        usage.peakPlatformThreads += threads.getPeakThreadCount();
+        usage.peakActiveConnections += sampler.peakActive;
+        usage.peakWaitingForConnection += sampler.peakWaiting;
+        usage.connectionMillis += TimeUnit.NANOSECONDS.toMillis(sampler.connectionNanos);
+        usage.failedReads += failed;
+    }
+
+    private HttpClient newHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofMinutes(1))
+                .build();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Usage {
+
+        public long peakPlatformThreads;
+
+        public long peakActiveConnections;
+
+        public long peakWaitingForConnection;
+
+        public long connectionMillis;
+
+        public long failedReads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            peakPlatformThreads = 0;
+            peakActiveConnections = 0;
+            peakWaitingForConnection = 0;
+            connectionMillis = 0;
+            failedReads = 0;
+        }
+    }
+
+    /**
+     * Polls the pool once a millisecond on a platform thread, so the
+     * readings keep coming while the carrier threads are saturated.
+     */
+    private static final class PoolSampler implements Runnable {
+
+        private final HikariPoolMXBean pool;
+
+        private final Thread thread = Thread.ofPlatform().daemon().name("pool-sampler").unstarted(this);
+
+        private volatile boolean running = true;
+
+        private volatile long peakActive;
+
+        private volatile long peakWaiting;
+
+        private volatile long connectionNanos;
+
+        PoolSampler(HikariPoolMXBean pool) {
+            this.pool = pool;
+        }
+
+        void start() {
+            thread.setPriority(Thread.MAX_PRIORITY);
+            thread.start();
+        }
+
+        void stop() {
+            running = false;
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            long last = System.nanoTime();
+            while (running) {
+                long now = System.nanoTime();
+                int active = pool.getActiveConnections();
+                peakActive = Math.max(peakActive, active);
+                peakWaiting = Math.max(peakWaiting, pool.getThreadsAwaitingConnection());
+                connectionNanos += active * (now - last);
+                last = now;
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.i2i.project_management.benchmark;
+
+import com.i2i.project_management.model.Project;
+import com.i2i.project_management.repository.ProjectRepository;
+import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.repository.projection.UserSummary;
+import com.i2i.project_management.search.InMemorySearchIndex;
+import com.i2i.project_management.search.SearchQuery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Search latency of the in-memory engine with {@code rows} projects and as
+ * many users, a tenth of them deleted, generated like the rows of
+ * {@link SearchBenchmark} and cycling through the same kinds of query, so
+ * the two engines compare directly. No database is involved: mocked
+ * repositories hand the startup scan its keyset batches.
+ *
+ * <p>Before the first iteration, setup prints the heap the filled index
+ * retains (used heap after a full GC, against the same before filling) and
+ * how long the scan took. Sample mode reports percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class InMemorySearchBenchmark {
+
+    private static final int VOCABULARY_SIZE = 5_000;
+
+    private static final int QUERY_SAMPLE_SIZE = 100;
+
+    @Param({"1000000"})
+    private int rows;
+
+    private String[] vocabulary;
+
+    private InMemorySearchIndex searchIndex;
+
+    private List<SearchQuery> projectQueries;
+
+    private List<SearchQuery> userQueries;
+
+    private int nextProjectQuery;
+
+    private int nextUserQuery;
+
+    @Setup(Level.Trial)
+    public void fillIndex() throws Exception {
+        vocabulary = vocabulary();
+        ProjectRepository projectRepository = mock(ProjectRepository.class);
+        when(projectRepository.findFirstProjectsPage(any(Limit.class)))
+                .thenAnswer(invocation -> page(0, invocation.getArgument(0), this::project));
+        when(projectRepository.findProjectsPageAfter(any(UUID.class), any(Limit.class)))
+                .thenAnswer(invocation -> page(invocation.<UUID>getArgument(0).getLeastSignificantBits(),
+                        invocation.getArgument(1), this::project));
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findFirstUserSummariesPage(any(Limit.class)))
+                .thenAnswer(invocation -> page(0, invocation.getArgument(0), this::user));
+        when(userRepository.findUserSummariesPageAfter(any(UUID.class), any(Limit.class)))
+                .thenAnswer(invocation -> page(invocation.<UUID>getArgument(0).getLeastSignificantBits(),
+                        invocation.getArgument(1), this::user));
+
+        long before = usedHeapAfterGc();
+        long start = System.nanoTime();
+        searchIndex = new InMemorySearchIndex(projectRepository, userRepository);
+        searchIndex.fill();
+        long fillMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long retained = usedHeapAfterGc() - before;
+        System.out.printf("%nIndexed %d projects and %d users in %d ms, retaining %d MB (%d bytes per row)%n",
+                rows, rows, fillMillis, retained >> 20, retained / (2L * rows));
+
+        projectQueries = new ArrayList<>();
+        userQueries = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < QUERY_SAMPLE_SIZE; i++) {
+            long g = 1 + random.nextInt(rows);
+            String first = word(g * 7919);
+            String second = word(g * 104729);
+            addQuery(projectQueries, first);
+            addQuery(projectQueries, first.substring(0, 3));
+            addQuery(projectQueries, second.substring(0, 4));
+            addQuery(projectQueries, first + " " + second.substring(0, 3));
+            addQuery(projectQueries, misspell(second));
+            addQuery(userQueries, second);
+            addQuery(userQueries, first.substring(0, 3));
+            addQuery(userQueries, second.substring(0, 4));
+            addQuery(userQueries, first + " " + second);
+            addQuery(userQueries, misspell(first));
+        }
+    }
+
+    @Benchmark
+    public Object searchProjects() {
+        SearchQuery query = projectQueries.get(nextProjectQuery++ % projectQueries.size());
+        return searchIndex.searchProjects(query, 0, 21);
+    }
+
+    @Benchmark
+    public Object searchUsers() {
+        SearchQuery query = userQueries.get(nextUserQuery++ % userQueries.size());
+        return searchIndex.searchUsers(query, 0, 21);
+    }
+
+    /** Rows numbered after the cursor, skipping every tenth as deleted. */
+    private <T> List<T> page(long after, Limit limit, LongFunction<T> row) {
+        List<T> page = new ArrayList<>(limit.max());
+        for (long g = after + 1; g <= rows && page.size() < limit.max(); g++) {
+            if (g % 10 != 0) {
+                page.add(row.apply(g));
+            }
+        }
+        return page;
+    }
+
+    private Project project(long g) {
+        return Project.builder()
+                .id(new UUID(0, g))
+                .name(word(g * 7919) + " " + word(g * 104729) + " " + g)
+                .description(String.join(" ", word(g * 31), word(g * 131), word(g * 1031), word(g * 4099),
+                        word(g * 12289), word(g * 65537)))
+                .build();
+    }
+
+    private UserSummary user(long g) {
+        String firstName = word(g * 7919);
+        String lastName = word(g * 104729);
+        return new BenchmarkUser(new UUID(0, g), firstName + "." + lastName + g + "@i2i.com", firstName, lastName);
+    }
+
+    private String word(long n) {
+        return vocabulary[(int) (n % VOCABULARY_SIZE)];
+    }
+
+    /** Same words as the SQL seed of {@link SearchBenchmark}: a 4 to 8 character prefix of md5(i). */
+    private static String[] vocabulary() throws NoSuchAlgorithmException {
+        MessageDigest md5 = MessageDigest.getInstance("MD5");
+        String[] words = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < VOCABULARY_SIZE; i++) {
+            String hex = HexFormat.of().formatHex(md5.digest(Integer.toString(i).getBytes(StandardCharsets.UTF_8)));
+            words[i] = hex.substring(0, 4 + i % 5);
+        }
+        return words;
+    }
+
+    private static void addQuery(List<SearchQuery> queries, String text) {
+        try {
+            queries.add(SearchQuery.parse(text));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Swaps the last letter for one no vocabulary word contains. */
+    private static String misspell(String word) {
+        return word.substring(0, word.length() - 1) + "z";
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private record BenchmarkUser(UUID getId, String getEmail, String getFirstName, String getLastName)
+            implements UserSummary {
+
+        @Override
+        public String getPhoneNumber() {
+            return null;
+        }
+
+        @Override
+        public String getAddress() {
+            return null;
+        }
+    }
+}
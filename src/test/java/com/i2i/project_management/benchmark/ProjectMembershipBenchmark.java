@@ -0,0 +1,97 @@
+package com.i2i.project_management.benchmark;
+
+import com.i2i.project_management.Dto.ProjectDto;
+import com.i2i.project_management.ProjectManagementApplication;
+import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.service.ProjectService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to onboard a whole team onto a fresh project through the service
+ * layer: one assignProjectToEmployee call per user versus a single
+ * assignUsersToProject call. Runs against the in-memory "test" profile,
+ * so absolute numbers exclude network round trips to PostgreSQL, which
+ * widen the gap further.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ProjectMembershipBenchmark {
+
+    @Param({"100", "500"})
+    private int teamSize;
+
+    private ConfigurableApplicationContext context;
+
+    private ProjectService projectService;
+
+    private List<UUID> userIds;
+
+    private UUID projectId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(ProjectManagementApplication.class)
+                .profiles("test")
+                .run();
+        projectService = context.getBean(ProjectService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < teamSize; i++) {
+            users.add(User.builder()
+                    .email("member" + i + "@i2i.com")
+                    .password("hash")
+                    .firstName("First")
+                    .lastName("Last")
+                    .build());
+        }
+        userIds = userRepository.saveAll(users).stream().map(User::getId).toList();
+    }
+
+    @Setup(Level.Invocation)
+    public void createProject() throws Exception {
+        ProjectDto projectDto = new ProjectDto();
+        projectDto.setName("Project " + UUID.randomUUID());
+        projectId = projectService.createProject(projectDto).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public void perUserAssign() throws Exception {
+        for (UUID userId : userIds) {
+            projectService.assignProjectToEmployee(projectId, userId);
+        }
+    }
+
+    @Benchmark
+    public Object bulkAssign() throws Exception {
+        return projectService.assignUsersToProject(projectId, userIds);
+    }
+}
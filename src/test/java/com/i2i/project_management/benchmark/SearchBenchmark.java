@@ -0,0 +1,165 @@
+package com.i2i.project_management.benchmark;
+
+import com.i2i.project_management.ProjectManagementApplication;
+import com.i2i.project_management.service.ProjectService;
+import com.i2i.project_management.service.UserService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency through the service layer against an embedded PostgreSQL
+ * migrated by Flyway and seeded with {@code rows} projects and as many
+ * users. Names and descriptions are drawn from a vocabulary of 5,000
+ * words, so a word matches a few hundred to a few thousand rows. Queries
+ * cycle through whole words, three- and four-letter prefixes, two-word
+ * queries and misspellings that only the trigram fallback finds. Sample
+ * mode reports percentiles; the target is a p95 below 20 ms.
+ *
+ * <p>PostgreSQL refuses to run as root, and seeding a million rows per
+ * table takes a few minutes before the first iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final int VOCABULARY_SIZE = 5_000;
+
+    private static final int QUERY_SAMPLE_SIZE = 100;
+
+    @Param({"1000000"})
+    private int rows;
+
+    private EmbeddedPostgres postgres;
+
+    private ConfigurableApplicationContext context;
+
+    private ProjectService projectService;
+
+    private UserService userService;
+
+    private List<String> projectQueries;
+
+    private List<String> userQueries;
+
+    private int nextProjectQuery;
+
+    private int nextUserQuery;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(ProjectManagementApplication.class)
+                .profiles("test")
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                        "--spring.jpa.hibernate.ddl-auto=none",
+                        "--spring.flyway.enabled=true",
+                        "--logging.level.com.i2i.project_management=WARN");
+        projectService = context.getBean(ProjectService.class);
+        userService = context.getBean(UserService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        seed(jdbcTemplate);
+        projectQueries = projectQueries(jdbcTemplate.queryForList(
+                "SELECT name FROM projects TABLESAMPLE SYSTEM (1) WHERE NOT is_deleted LIMIT " + QUERY_SAMPLE_SIZE,
+                String.class));
+        userQueries = userQueries(jdbcTemplate.queryForList(
+                "SELECT first_name || ' ' || last_name FROM pm_users TABLESAMPLE SYSTEM (1) WHERE NOT is_deleted LIMIT "
+                        + QUERY_SAMPLE_SIZE, String.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public Object searchProjects() throws Exception {
+        String query = projectQueries.get(nextProjectQuery++ % projectQueries.size());
+        return projectService.searchProjects(query, null, 20);
+    }
+
+    @Benchmark
+    public Object searchUsers() throws Exception {
+        String query = userQueries.get(nextUserQuery++ % userQueries.size());
+        return userService.searchUsers(query, null, 20);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        String vocabulary = "WITH v AS (SELECT array_agg(substr(md5(i::text), 1, 4 + i % 5) ORDER BY i) AS w "
+                + "FROM generate_series(0, " + (VOCABULARY_SIZE - 1) + ") i) ";
+        jdbcTemplate.execute(vocabulary + """
+                INSERT INTO projects (id, name, description, is_deleted, is_active)
+                SELECT gen_random_uuid(),
+                       w[g * 7919 % 5000 + 1] || ' ' || w[g * 104729 % 5000 + 1] || ' ' || g,
+                       w[g * 31 % 5000 + 1] || ' ' || w[g * 131 % 5000 + 1] || ' ' || w[g * 1031 % 5000 + 1] || ' '
+                           || w[g * 4099 % 5000 + 1] || ' ' || w[g * 12289 % 5000 + 1] || ' ' || w[g * 65537 % 5000 + 1],
+                       g % 10 = 0, TRUE
+                FROM v, generate_series(1::bigint, :rows) g""".replace(":rows", Integer.toString(rows)));
+        jdbcTemplate.execute(vocabulary + """
+                INSERT INTO pm_users (id, email, password, first_name, last_name, is_deleted)
+                SELECT gen_random_uuid(),
+                       w[g * 7919 % 5000 + 1] || '.' || w[g * 104729 % 5000 + 1] || g || '@i2i.com', 'hash',
+                       w[g * 7919 % 5000 + 1], w[g * 104729 % 5000 + 1], g % 10 = 0
+                FROM v, generate_series(1::bigint, :rows) g""".replace(":rows", Integer.toString(rows)));
+        jdbcTemplate.execute("VACUUM ANALYZE projects, pm_users");
+    }
+
+    private static List<String> projectQueries(List<String> names) {
+        List<String> queries = new ArrayList<>();
+        for (String name : names) {
+            String[] words = name.split(" ");
+            queries.add(words[0]);
+            queries.add(words[0].substring(0, 3));
+            queries.add(words[1].substring(0, 4));
+            queries.add(words[0] + " " + words[1].substring(0, 3));
+            queries.add(misspell(words[1]));
+        }
+        return queries;
+    }
+
+    private static List<String> userQueries(List<String> names) {
+        List<String> queries = new ArrayList<>();
+        for (String name : names) {
+            String[] words = name.split(" ");
+            queries.add(words[1]);
+            queries.add(words[0].substring(0, 3));
+            queries.add(words[1].substring(0, 4));
+            queries.add(words[0] + " " + words[1]);
+            queries.add(misspell(words[0]));
+        }
+        return queries;
+    }
+
+    /** Swaps the last letter for one no vocabulary word contains. */
+    private static String misspell(String word) {
+        return word.substring(0, word.length() - 1) + "z";
+    }
+}
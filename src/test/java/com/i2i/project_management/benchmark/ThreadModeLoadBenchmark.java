@@ -0,0 +1,178 @@
+package com.i2i.project_management.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.i2i.project_management.ProjectManagementApplication;
+import com.i2i.project_management.model.Project;
+import com.i2i.project_management.model.Role;
+import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.ProjectRepository;
+import com.i2i.project_management.repository.RoleRepository;
+import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.security.RoleCatalogue;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and tail latency of an authenticated GET /projects/{id} with
+ * Tomcat on platform threads versus virtual threads, driven by more
+ * concurrent clients than Tomcat has platform workers. Every Hibernate
+ * statement is delayed by databaseLatencyMs to stand in for the round trip
+ * to PostgreSQL that the in-memory "test" profile does not have. Virtual
+ * threads pinned for more than a millisecond during the trial are counted
+ * from a JFR stream and printed at tear-down, grouped by the first
+ * application frame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class ThreadModeLoadBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String threadMode;
+
+    @Param({"5"})
+    private long databaseLatencyMs;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private HttpRequest readProject;
+
+    private RecordingStream pinnedEvents;
+
+    private final Map<String, LongAdder> pinnedFrames = new ConcurrentHashMap<>();
+
+    private final LongAdder failures = new LongAdder();
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        pinnedEvents = new RecordingStream();
+        pinnedEvents.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1)).withStackTrace();
+        pinnedEvents.onEvent("jdk.VirtualThreadPinned", event ->
+                pinnedFrames.computeIfAbsent(applicationFrame(event), frame -> new LongAdder()).increment());
+        pinnedEvents.startAsync();
+
+        SimulatedDatabaseLatency.millis = databaseLatencyMs;
+        context = new SpringApplicationBuilder(ProjectManagementApplication.class)
+                .profiles("test")
+                .run("--spring.threads.virtual.enabled=" + "virtual".equals(threadMode),
+                        "--spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                                + SimulatedDatabaseLatency.class.getName(),
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.com.i2i.project_management=WARN");
+
+        Role admin = context.getBean(RoleRepository.class)
+                .save(Role.builder().name("ADMIN").isDeleted(false).build());
+        context.getBean(RoleCatalogue.class).reload();
+        context.getBean(UserRepository.class).save(User.builder()
+                .email("load@i2i.com")
+                .password(context.getBean(PasswordEncoder.class).encode("Load@123"))
+                .firstName("Load")
+                .lastName("Test")
+                .roles(Set.of(admin))
+                .isDeleted(false)
+                .build());
+        Project project = context.getBean(ProjectRepository.class)
+                .save(Project.builder().name("Load test").isDeleted(false).build());
+
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + context.getEnvironment().getProperty("server.servlet.context-path");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpResponse<String> login = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"load@i2i.com\",\"password\":\"Load@123\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        String token = new ObjectMapper().readTree(login.body()).get("token").asText();
+        readProject = HttpRequest.newBuilder(URI.create(baseUrl + "/projects/" + project.getId()))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        pinnedEvents.close();
+        System.out.printf("%n[%s] non-200 responses: %d, pinned virtual threads: %s%n",
+                threadMode, failures.sum(), pinnedFrames.isEmpty() ? "none" : pinnedFrames);
+    }
+
+    @Benchmark
+    public int readProject() throws Exception {
+        int status = httpClient.send(readProject, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) {
+            failures.increment();
+        }
+        return status;
+    }
+
+    private static String applicationFrame(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        return event.getStackTrace().getFrames().stream()
+                .map(RecordedFrame::getMethod)
+                .filter(method -> method.getType().getName().startsWith("com.i2i."))
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .findFirst()
+                .orElseGet(() -> {
+                    RecordedFrame top = event.getStackTrace().getFrames().get(0);
+                    return top.getMethod().getType().getName() + "." + top.getMethod().getName();
+                });
+    }
+
+    /**
+     * Sleeps before every statement Hibernate prepares. Hibernate creates
+     * the inspector from its class name, hence the static latency.
+     */
+    public static class SimulatedDatabaseLatency implements StatementInspector {
+
+        static volatile long millis;
+
+        @Override
+        public String inspect(String sql) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.i2i.project_management.event;
+
+import com.i2i.project_management.security.TokenRevocationEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class ChangeEventHubTest {
+
+    private static final int BUFFER_SIZE = 4;
+
+    private ChangeEventHub hub;
+
+    @BeforeEach
+    void setUp() {
+        hub = new ChangeEventHub(BUFFER_SIZE, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+    }
+
+    @Test
+    void publish_shouldReachOnlyRecipients_whenEventIsTargeted() {
+        UUID member = UUID.randomUUID();
+        UUID outsider = UUID.randomUUID();
+        RecordingEmitter memberStream = register(member);
+        RecordingEmitter otherMemberStream = register(member);
+        RecordingEmitter outsiderStream = register(outsider);
+        UUID projectId = UUID.randomUUID();
+
+        hub.publish(ChangeEvent.membersAdded(projectId, List.of(member)));
+
+        awaitTrue(() -> memberStream.events.size() == 1 && otherMemberStream.events.size() == 1);
+        assertEquals(ChangeEvent.Type.MEMBER_ADDED, memberStream.events.get(0).type());
+        assertEquals(projectId, memberStream.events.get(0).projectId());
+        assertTrue(outsiderStream.events.isEmpty());
+    }
+
+    @Test
+    void publish_shouldReachMembersAndAdmins_butNotOtherUsers() {
+        UUID member = UUID.randomUUID();
+        RecordingEmitter memberStream = register(member);
+        RecordingEmitter adminStream = new RecordingEmitter(new CountDownLatch(0));
+        hub.register(UUID.randomUUID(), true, "admin-token", 0, adminStream);
+        RecordingEmitter outsiderStream = register(UUID.randomUUID());
+
+        hub.publish(ChangeEvent.projectDeleted(UUID.randomUUID(), List.of(member)));
+        hub.publish(ChangeEvent.membersAdded(UUID.randomUUID(), List.of(member)));
+
+        awaitTrue(() -> memberStream.events.size() == 2 && adminStream.events.size() == 2);
+        assertTrue(outsiderStream.events.isEmpty());
+    }
+
+    @Test
+    void publish_shouldReachAdminOnce_whenAdminIsAlsoRecipient() {
+        UUID admin = UUID.randomUUID();
+        RecordingEmitter adminStream = new RecordingEmitter(new CountDownLatch(0));
+        hub.register(admin, true, "admin-token", 0, adminStream);
+
+        hub.publish(ChangeEvent.roleUpdated(UUID.randomUUID(), List.of(admin)));
+        hub.publish(ChangeEvent.rolesChanged(List.of(UUID.randomUUID())));
+
+        awaitTrue(() -> adminStream.events.size() == 2);
+        assertEquals(List.of(ChangeEvent.Type.ROLE_UPDATED, ChangeEvent.Type.ROLES_CHANGED),
+                adminStream.events.stream().map(ChangeEvent::type).toList());
+    }
+
+    @Test
+    void closeRevoked_shouldCloseStreamsOfOutdatedTokens_only() {
+        UUID userId = UUID.randomUUID();
+        RecordingEmitter outdated = new RecordingEmitter(new CountDownLatch(0));
+        hub.register(userId, false, "old-token", 2, outdated);
+        RecordingEmitter current = new RecordingEmitter(new CountDownLatch(0));
+        hub.register(userId, false, "new-token", 3, current);
+
+        hub.closeRevoked(new TokenRevocationEvent(Map.of(userId, 3), Set.of()));
+
+        awaitTrue(() -> outdated.completed);
+        assertEquals(1, hub.subscriberCount());
+        assertEquals(0, hub.droppedSubscribers());
+        assertFalse(current.completed);
+    }
+
+    @Test
+    void closeRevoked_shouldCloseStreamOfLoggedOutToken() {
+        UUID userId = UUID.randomUUID();
+        RecordingEmitter loggedOut = new RecordingEmitter(new CountDownLatch(0));
+        hub.register(userId, false, "logged-out", 0, loggedOut);
+        RecordingEmitter otherDevice = new RecordingEmitter(new CountDownLatch(0));
+        hub.register(userId, false, "other-device", 0, otherDevice);
+
+        hub.closeRevoked(new TokenRevocationEvent(Map.of(), Set.of("logged-out")));
+
+        awaitTrue(() -> loggedOut.completed);
+        assertEquals(1, hub.subscriberCount());
+
+        hub.closeRevoked(new TokenRevocationEvent(Map.of(userId, Integer.MAX_VALUE), Set.of()));
+
+        awaitTrue(() -> otherDevice.completed);
+        assertEquals(0, hub.subscriberCount());
+    }
+
+    @Test
+    void publish_shouldKeepOrderPerSubscriber() {
+        UUID userId = UUID.randomUUID();
+        RecordingEmitter stream = register(userId);
+        List<UUID> projectIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        projectIds.forEach(projectId -> hub.publish(ChangeEvent.projectUpdated(projectId, List.of(userId))));
+
+        awaitTrue(() -> stream.events.size() == projectIds.size());
+        assertEquals(projectIds, stream.events.stream().map(ChangeEvent::projectId).toList());
+    }
+
+    @Test
+    void publish_shouldDropSlowSubscriber_withoutBlockingPublisherOrOthers() {
+        UUID slowUser = UUID.randomUUID();
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        hub.register(slowUser, false, null, 0, slow);
+        UUID fastUser = UUID.randomUUID();
+        RecordingEmitter fast = register(fastUser);
+
+        // One event is stuck in send, the buffer fills behind it and the next one overflows.
+        // Publishing at the pace of the fast subscriber keeps its buffer from filling as well.
+        for (int i = 0; i < BUFFER_SIZE + 2; i++) {
+            hub.publish(ChangeEvent.projectUpdated(UUID.randomUUID(), List.of(slowUser, fastUser)));
+            int delivered = i + 1;
+            awaitTrue(() -> fast.events.size() == delivered);
+        }
+
+        assertEquals(1, hub.droppedSubscribers());
+        assertEquals(1, hub.subscriberCount());
+
+        release.countDown();
+        awaitTrue(() -> slow.completed);
+        assertTrue(slow.events.size() <= 1);
+    }
+
+    @Test
+    void publish_shouldForgetSubscriber_whenSendFails() {
+        UUID userId = UUID.randomUUID();
+        hub.register(userId, false, null, 0, new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        });
+
+        hub.publish(ChangeEvent.rolesChanged(List.of(userId)));
+
+        awaitTrue(() -> hub.subscriberCount() == 0);
+        assertEquals(0, hub.droppedSubscribers());
+    }
+
+    private RecordingEmitter register(UUID userId) {
+        RecordingEmitter emitter = new RecordingEmitter(new CountDownLatch(0));
+        hub.register(userId, false, null, 0, emitter);
+        return emitter;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail("Condition not met within 5 seconds");
+            Thread.onSpinWait();
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<ChangeEvent> events = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch release;
+
+        private volatile boolean completed;
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            builder.build().stream()
+                    .filter(part -> part.getData() instanceof ChangeEvent)
+                    .forEach(part -> events.add((ChangeEvent) part.getData()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.i2i.project_management.event;
+
+import com.i2i.project_management.model.OutboxEvent;
+import com.i2i.project_management.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private static final Duration TRANSACTION_TIMEOUT = Duration.ofSeconds(30);
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<OutboxEvent> delivered = new ArrayList<>();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private boolean sinkFails;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        OutboxSink inMemorySink = events -> {
+            if (sinkFails) throw new IOException("sink unavailable");
+            delivered.addAll(events);
+        };
+        relay = new OutboxRelay(outboxEventRepository, inMemorySink, transactionManager, meterRegistry, BATCH_SIZE,
+                TRANSACTION_TIMEOUT);
+    }
+
+    @Test
+    void relay_shouldDrainFullBatchesInOrder_andDeleteWhatWasDelivered() {
+        when(outboxEventRepository.findNextBatch(any(Instant.class), eq(Limit.of(BATCH_SIZE))))
+                .thenReturn(events(1, 2), events(3, 4), events(5));
+        when(outboxEventRepository.count()).thenReturn(0L);
+
+        relay.relay();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), delivered.stream().map(OutboxEvent::getId).toList());
+        verify(outboxEventRepository, times(1)).deleteAllByIdInBatch(List.of(1L, 2L));
+        verify(outboxEventRepository, times(1)).deleteAllByIdInBatch(List.of(3L, 4L));
+        verify(outboxEventRepository, times(1)).deleteAllByIdInBatch(List.of(5L));
+        verify(transactionManager, times(3)).commit(any());
+        assertEquals(3, meterRegistry.get("outbox.relay.batch").timer().count());
+        assertEquals(5, meterRegistry.get("outbox.relay.delivered").counter().count());
+        assertEquals(0, meterRegistry.get("outbox.backlog").gauge().value());
+    }
+
+    @Test
+    void relay_shouldKeepBatchQueued_whenSinkFails() {
+        sinkFails = true;
+        when(outboxEventRepository.findNextBatch(any(Instant.class), eq(Limit.of(BATCH_SIZE)))).thenReturn(events(1, 2));
+        when(outboxEventRepository.count()).thenReturn(7L);
+
+        relay.relay();
+
+        assertTrue(delivered.isEmpty());
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+        verify(transactionManager, times(1)).rollback(any());
+        assertEquals(1, meterRegistry.get("outbox.relay.failures").counter().count());
+        assertEquals(0, meterRegistry.get("outbox.relay.batch").timer().count());
+        assertEquals(7, meterRegistry.get("outbox.backlog").gauge().value());
+    }
+
+    @Test
+    void relay_shouldOnlyRefreshBacklog_whenOutboxIsEmpty() {
+        when(outboxEventRepository.findNextBatch(any(Instant.class), eq(Limit.of(BATCH_SIZE)))).thenReturn(List.of());
+        when(outboxEventRepository.count()).thenReturn(0L);
+
+        relay.relay();
+
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+        assertEquals(0, meterRegistry.get("outbox.relay.batch").timer().count());
+    }
+
+    @Test
+    void relay_shouldDeliverInIdOrder_whenLowerIdCommitsLast() {
+        List<OutboxEvent> committed = new ArrayList<>();
+        when(outboxEventRepository.findNextBatch(any(Instant.class), eq(Limit.of(BATCH_SIZE))))
+                .thenAnswer(invocation -> {
+                    Instant before = invocation.getArgument(0);
+                    return committed.stream()
+                            .filter(event -> event.getCreatedAt().isBefore(before))
+                            .sorted(Comparator.comparing(OutboxEvent::getId))
+                            .limit(BATCH_SIZE)
+                            .toList();
+                });
+        when(outboxEventRepository.count()).thenAnswer(invocation -> (long) committed.size());
+        doAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            committed.removeIf(event -> ids.contains(event.getId()));
+            return null;
+        }).when(outboxEventRepository).deleteAllByIdInBatch(any());
+
+        // A slow transaction took id 1 and is still open; a later, faster one committed id 2.
+        Instant now = Instant.now();
+        OutboxEvent slow = event(1, now.minusSeconds(20));
+        committed.add(event(2, now.minusSeconds(10)));
+        relay.relay();
+        assertTrue(delivered.isEmpty());
+
+        // The slow transaction commits within its timeout, and both rows age past the hold-back.
+        committed.add(slow);
+        committed.forEach(event -> event.setCreatedAt(event.getCreatedAt().minus(TRANSACTION_TIMEOUT.multipliedBy(2))));
+        relay.relay();
+
+        assertEquals(List.of(1L, 2L), delivered.stream().map(OutboxEvent::getId).toList());
+        assertTrue(committed.isEmpty());
+    }
+
+    @Test
+    void constructor_shouldRefuseUnboundedTransactions() {
+        assertThrows(IllegalStateException.class, () -> new OutboxRelay(outboxEventRepository, events -> { },
+                transactionManager, meterRegistry, BATCH_SIZE, Duration.ZERO));
+    }
+
+    private static OutboxEvent event(long id, Instant createdAt) {
+        return OutboxEvent.builder().id(id).aggregateType("project").eventType("PROJECT_UPDATED").createdAt(createdAt).build();
+    }
+
+    private static List<OutboxEvent> events(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> OutboxEvent.builder().id(id).aggregateType("project").eventType("PROJECT_UPDATED").build())
+                .toList();
+    }
+}
@@ -0,0 +1,174 @@
+package com.i2i.project_management.repository;
+
+import com.i2i.project_management.model.Project;
+import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.projection.UserChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The updated_at watermark behind the change feeds. Rows are back-dated
+ * with plain SQL, because every write inside the test transaction is
+ * stamped with the same database time.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class ChangeFeedRepositoryTest {
+
+    private static final Instant LONG_AGO = Instant.parse("2020-01-01T00:00:00Z");
+
+    private static final Instant LATER = Instant.parse("2020-01-02T00:00:00Z");
+
+    private static final UUID MIN_ID = new UUID(0, 0);
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UUID first;
+
+    private UUID second;
+
+    private UUID third;
+
+    @BeforeEach
+    void setUp() {
+        Stream.of("First", "Second", "Third")
+                .forEach(name -> testEntityManager.persist(Project.builder().name(name).isActive(true).build()));
+        testEntityManager.flush();
+        // The database's UUID order, which is not the one UUID.compareTo uses.
+        List<UUID> ids = jdbcTemplate.queryForList("SELECT id FROM projects ORDER BY id", UUID.class);
+        first = ids.get(0);
+        second = ids.get(1);
+        third = ids.get(2);
+        backdate("projects", first, LONG_AGO);
+        backdate("projects", second, LATER);
+        backdate("projects", third, LATER);
+        testEntityManager.clear();
+    }
+
+    @Test
+    void insert_shouldStampUpdatedAt() {
+        Project project = testEntityManager.persistFlushFind(Project.builder().name("Fresh").isActive(true).build());
+
+        assertTrue(project.getUpdatedAt().isAfter(LATER));
+    }
+
+    @Test
+    void findChangedSince_shouldPageByTimestampThenId() {
+        Instant until = Instant.now().plusSeconds(60);
+
+        assertEquals(List.of(second, third),
+                projectIds(projectRepository.findChangedSince(LONG_AGO, first, until, Limit.of(10))));
+        assertEquals(List.of(third),
+                projectIds(projectRepository.findChangedSince(LATER, second, until, Limit.of(10))));
+        assertEquals(List.of(first),
+                projectIds(projectRepository.findChangedSince(Instant.EPOCH, MIN_ID, until, Limit.of(1))));
+    }
+
+    @Test
+    void findChangedSince_shouldHoldBackRowsAfterCutoff() {
+        assertEquals(List.of(first),
+                projectIds(projectRepository.findChangedSince(Instant.EPOCH, MIN_ID, LONG_AGO, Limit.of(10))));
+    }
+
+    @Test
+    void save_shouldMoveProjectPastWatermark() {
+        Project project = projectRepository.findProjectById(first).orElseThrow();
+        project.setName("Renamed");
+        projectRepository.saveAndFlush(project);
+        testEntityManager.clear();
+
+        List<Project> changes = projectRepository.findChangedSince(LATER, third,
+                Instant.now().plusSeconds(60), Limit.of(10));
+        assertEquals(List.of(first), projectIds(changes));
+        assertEquals("Renamed", changes.get(0).getName());
+    }
+
+    @Test
+    void deleteProject_shouldLeaveTombstoneInFeed() {
+        projectRepository.deleteProject(first);
+        testEntityManager.clear();
+
+        List<Project> changes = projectRepository.findChangedSince(LATER, third,
+                Instant.now().plusSeconds(60), Limit.of(10));
+        assertEquals(List.of(first), projectIds(changes));
+        assertTrue(changes.get(0).isDeleted());
+    }
+
+    @Test
+    void membershipChange_shouldMoveOnlyAffectedUsersPastWatermark() {
+        User member = persistUser("member");
+        User outsider = persistUser("outsider");
+        testEntityManager.flush();
+        backdate("pm_users", member.getId(), LONG_AGO);
+        backdate("pm_users", outsider.getId(), LONG_AGO);
+        projectRepository.addMember(second, member.getId());
+        userRepository.incrementVersions(List.of(member.getId()));
+        testEntityManager.clear();
+
+        List<UserChange> changes = userRepository.findChangedSince(LATER, MIN_ID,
+                Instant.now().plusSeconds(60), Limit.of(10));
+        assertEquals(List.of(member.getId()), changes.stream().map(UserChange::getId).toList());
+    }
+
+    @Test
+    void deleteEmployee_shouldLeaveTombstoneInFeed() {
+        User user = persistUser("leaver");
+        testEntityManager.flush();
+        backdate("pm_users", user.getId(), LONG_AGO);
+        userRepository.deleteEmployee(user.getId());
+        testEntityManager.clear();
+
+        List<UserChange> changes = userRepository.findChangedSince(LATER, MIN_ID,
+                Instant.now().plusSeconds(60), Limit.of(10));
+        assertEquals(1, changes.size());
+        assertEquals(user.getId(), changes.get(0).getId());
+        assertTrue(changes.get(0).isDeleted());
+        assertTrue(changes.get(0).getUpdatedAt().isAfter(LATER));
+    }
+
+    private void backdate(String table, UUID id, Instant updatedAt) {
+        jdbcTemplate.update("UPDATE " + table + " SET updated_at = ? WHERE id = ?", Timestamp.from(updatedAt), id);
+    }
+
+    private User persistUser(String name) {
+        return testEntityManager.persist(User.builder()
+                .email(name + "@i2i.com")
+                .password("hash")
+                .firstName(name)
+                .lastName("User")
+                .roles(new HashSet<>())
+                .build());
+    }
+
+    private static List<UUID> projectIds(List<Project> projects) {
+        return projects.stream().map(Project::getId).toList();
+    }
+}
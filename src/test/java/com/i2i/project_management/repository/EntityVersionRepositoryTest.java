@@ -0,0 +1,130 @@
+package com.i2i.project_management.repository;
+
+import com.i2i.project_management.model.Project;
+import com.i2i.project_management.model.Role;
+import com.i2i.project_management.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The version lookups behind If-None-Match, and the bumps that keep a
+ * user's ETag in step with rows outside pm_users.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class EntityVersionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Role role;
+
+    private User member;
+
+    private User outsider;
+
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        role = testEntityManager.persist(Role.builder().name("EMPLOYEE").isDeleted(false).build());
+        member = persistUser("member", Set.of(role));
+        outsider = persistUser("outsider", Set.of());
+        project = testEntityManager.persist(Project.builder()
+                .name("Project")
+                .isActive(true)
+                .users(new HashSet<>(Set.of(member)))
+                .build());
+        testEntityManager.flush();
+    }
+
+    @Test
+    void save_shouldIncrementVersion_whenEntityChanges() {
+        project.setName("Renamed");
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        assertEquals(Optional.of(1L), projectRepository.findVersionById(project.getId()));
+    }
+
+    @Test
+    void findVersionById_shouldSkipSoftDeletedRows() {
+        projectRepository.deleteProject(project.getId());
+        testEntityManager.clear();
+
+        assertEquals(Optional.empty(), projectRepository.findVersionById(project.getId()));
+    }
+
+    @Test
+    void deleteProject_shouldOnlyTouchRowOnce() {
+        assertEquals(1, projectRepository.deleteProject(project.getId()));
+        assertEquals(0, projectRepository.deleteProject(project.getId()));
+        testEntityManager.clear();
+
+        assertEquals(1L, testEntityManager.find(Project.class, project.getId()).getVersion());
+    }
+
+    @Test
+    void deleteEmployee_shouldOnlyTouchRowOnce() {
+        assertEquals(1, userRepository.deleteEmployee(member.getId()));
+        assertEquals(0, userRepository.deleteEmployee(member.getId()));
+        testEntityManager.clear();
+
+        User deleted = testEntityManager.find(User.class, member.getId());
+        assertEquals(1L, deleted.getVersion());
+        assertEquals(1, deleted.getTokenVersion());
+    }
+
+    @Test
+    void incrementVersionsOfProjectMembers_shouldOnlyTouchMembers() {
+        assertEquals(1, userRepository.incrementVersionsOfProjectMembers(project.getId()));
+        testEntityManager.clear();
+
+        assertEquals(Optional.of(1L), userRepository.findVersionById(member.getId()));
+        assertEquals(Optional.of(0L), userRepository.findVersionById(outsider.getId()));
+    }
+
+    @Test
+    void findIdsOfProjectMembers_shouldListMembersOnly() {
+        assertEquals(List.of(member.getId()), userRepository.findIdsOfProjectMembers(project.getId()));
+    }
+
+    @Test
+    void incrementVersions_shouldBumpEachGivenUser() {
+        userRepository.incrementVersions(List.of(member.getId(), outsider.getId()));
+        userRepository.incrementVersions(List.of(outsider.getId()));
+        testEntityManager.clear();
+
+        assertEquals(Optional.of(1L), userRepository.findVersionById(member.getId()));
+        assertEquals(Optional.of(2L), userRepository.findVersionById(outsider.getId()));
+    }
+
+    private User persistUser(String name, Set<Role> roles) {
+        return testEntityManager.persist(User.builder()
+                .email(name + "@i2i.com")
+                .password("hash")
+                .firstName(name)
+                .lastName("User")
+                .roles(new HashSet<>(roles))
+                .build());
+    }
+}
@@ -0,0 +1,112 @@
+package com.i2i.project_management.repository;
+
+import com.i2i.project_management.event.DomainEventType;
+import com.i2i.project_management.event.OutboxRecorder;
+import com.i2i.project_management.model.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The outbox write that rides on a mutation's transaction, and the ordered
+ * batch read the relay drains it with.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(OutboxRecorder.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class OutboxEventRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxRecorder outboxRecorder;
+
+    @Test
+    void record_shouldStoreTypeAggregateAndJsonPayload() {
+        UUID projectId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+
+        outboxRecorder.record(DomainEventType.PROJECT_MEMBERS_ADDED, projectId, Map.of("userIds", List.of(userId)));
+        outboxRecorder.record(DomainEventType.PROJECT_DELETED, projectId, null);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        List<OutboxEvent> events = outboxEventRepository.findNextBatch(later(), Limit.of(10));
+        assertEquals(2, events.size());
+        OutboxEvent added = events.get(0);
+        assertEquals("project", added.getAggregateType());
+        assertEquals(projectId, added.getAggregateId());
+        assertEquals("PROJECT_MEMBERS_ADDED", added.getEventType());
+        assertEquals("{\"userIds\":[\"" + userId + "\"]}", added.getPayload());
+        assertNotNull(added.getCreatedAt());
+        assertEquals("PROJECT_DELETED", events.get(1).getEventType());
+        assertNull(events.get(1).getPayload());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void record_shouldRefuse_whenNoTransactionIsActive() {
+        assertThrows(IllegalTransactionStateException.class,
+                () -> outboxRecorder.record(DomainEventType.ROLE_DELETED, UUID.randomUUID(), null));
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void findNextBatch_shouldReturnOldestFirst_andShrinkAfterDelete() {
+        for (int i = 0; i < 5; i++) {
+            outboxRecorder.record(DomainEventType.USER_DELETED, UUID.randomUUID(), null);
+        }
+        testEntityManager.flush();
+
+        List<Long> first = ids(outboxEventRepository.findNextBatch(later(), Limit.of(3)));
+        assertEquals(first.stream().sorted().toList(), first);
+        outboxEventRepository.deleteAllByIdInBatch(first);
+
+        List<Long> rest = ids(outboxEventRepository.findNextBatch(later(), Limit.of(3)));
+        assertEquals(2, rest.size());
+        assertEquals(first.get(2) + 1, rest.get(0));
+    }
+
+    @Test
+    void findNextBatch_shouldHoldBackEventsCreatedAfterTheCutoff() {
+        outboxRecorder.record(DomainEventType.USER_DELETED, UUID.randomUUID(), null);
+        testEntityManager.flush();
+
+        assertEquals(List.of(), outboxEventRepository.findNextBatch(Instant.now().minusSeconds(60), Limit.of(10)));
+        assertEquals(1, outboxEventRepository.findNextBatch(later(), Limit.of(10)).size());
+    }
+
+    private static Instant later() {
+        return Instant.now().plusSeconds(60);
+    }
+
+    private static List<Long> ids(List<OutboxEvent> events) {
+        return events.stream().map(OutboxEvent::getId).toList();
+    }
+}
@@ -0,0 +1,130 @@
+package com.i2i.project_management.repository;
+
+import com.i2i.project_management.model.Project;
+import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.projection.MemberSummary;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * The member listing queries, which page on the membership table itself
+ * and so run native SQL against PostgreSQL migrated by Flyway.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DirtiesContext
+class ProjectMembersRepositoryTest {
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private Project project;
+
+    private List<UUID> activeMemberIds;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        assumeFalse("root".equals(System.getProperty("user.name")), "PostgreSQL refuses to run as root");
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @BeforeEach
+    void setUp() {
+        project = testEntityManager.persist(Project.builder().name("Apollo").isActive(true).build());
+        activeMemberIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            activeMemberIds.add(persistUser("member-" + i, false).getId());
+        }
+        User deleted = persistUser("deleted", true);
+        User outsider = persistUser("outsider", false);
+        Project other = testEntityManager.persist(Project.builder().name("Gemini").isActive(true).build());
+        testEntityManager.flush();
+        activeMemberIds.forEach(userId -> projectRepository.addMember(project.getId(), userId));
+        projectRepository.addMember(project.getId(), deleted.getId());
+        projectRepository.addMember(other.getId(), outsider.getId());
+        activeMemberIds.sort(Comparator.comparing(UUID::toString));
+    }
+
+    @Test
+    void membersPages_shouldWalkActiveMembersInIdOrder() {
+        List<UUID> walked = new ArrayList<>();
+        List<MemberSummary> page = projectRepository.findFirstMembersPage(project.getId(), Limit.of(2));
+        assertEquals("First", page.get(0).getFirstName());
+        assertTrue(page.get(0).getEmail().startsWith("member-"));
+        while (!page.isEmpty()) {
+            page.forEach(member -> walked.add(member.getId()));
+            page = projectRepository.findMembersPageAfter(project.getId(), page.getLast().getId(), Limit.of(2));
+        }
+
+        assertEquals(activeMemberIds, walked);
+    }
+
+    @Test
+    void countActiveMembers_shouldSkipDeletedUsers_andMissingOrDeletedProjects() {
+        assertEquals(Optional.of(5L), projectRepository.countActiveMembers(project.getId()));
+        assertEquals(Optional.empty(), projectRepository.countActiveMembers(UUID.randomUUID()));
+
+        projectRepository.deleteProject(project.getId());
+        testEntityManager.clear();
+
+        assertEquals(Optional.empty(), projectRepository.countActiveMembers(project.getId()));
+        assertTrue(projectRepository.findFirstMembersPage(project.getId(), Limit.of(2)).isEmpty());
+    }
+
+    private User persistUser(String name, boolean isDeleted) {
+        return testEntityManager.persist(User.builder()
+                .email(name + "@i2i.com")
+                .password("hash")
+                .firstName("First")
+                .lastName("Last")
+                .isDeleted(isDeleted)
+                .build());
+    }
+}
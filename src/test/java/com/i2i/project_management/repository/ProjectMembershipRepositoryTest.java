@@ -0,0 +1,137 @@
+package com.i2i.project_management.repository;
+
+import com.i2i.project_management.model.Project;
+import com.i2i.project_management.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class ProjectMembershipRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private Project project;
+
+    private User member;
+
+    private User nonMember;
+
+    private User deletedUser;
+
+    @BeforeEach
+    void setUp() {
+        member = persistUser("member", false);
+        nonMember = persistUser("non-member", false);
+        deletedUser = persistUser("deleted", true);
+        project = testEntityManager.persist(Project.builder()
+                .name("Project")
+                .isActive(true)
+                .users(new HashSet<>(Set.of(member)))
+                .build());
+        testEntityManager.flush();
+    }
+
+    @Test
+    void findMembershipCandidates_shouldFlagMembersAndSkipInactiveUsers() {
+        Map<UUID, Boolean> candidates = projectRepository.findMembershipCandidates(project.getId(),
+                List.of(member.getId(), nonMember.getId(), deletedUser.getId(), UUID.randomUUID()));
+
+        assertEquals(Map.of(member.getId(), true, nonMember.getId(), false), candidates);
+    }
+
+    @Test
+    void batchAddMembers_shouldInsertAcrossBatchesAndIgnoreExistingRows() {
+        List<UUID> userIds = new ArrayList<>(List.of(member.getId()));
+        for (int i = 0; i < 250; i++) {
+            userIds.add(persistUser("bulk-" + i, false).getId());
+        }
+        testEntityManager.flush();
+
+        int[] counts = projectRepository.batchAddMembers(project.getId(), userIds);
+
+        assertEquals(userIds.size(), counts.length);
+        assertEquals(0, counts[0]);
+        assertEquals(251, countMembers());
+    }
+
+    @Test
+    void batchRemoveMembers_shouldDeleteOnlyExistingRows() {
+        int[] counts = projectRepository.batchRemoveMembers(project.getId(), List.of(member.getId(), nonMember.getId()));
+
+        assertArrayEquals(new int[]{1, 0}, counts);
+        assertEquals(0, countMembers());
+    }
+
+    @Test
+    void memberProjectsPages_shouldWalkTheMembersActiveProjectsInIdOrder() {
+        List<UUID> expected = new ArrayList<>(List.of(project.getId()));
+        for (int i = 0; i < 4; i++) {
+            expected.add(testEntityManager.persist(Project.builder()
+                    .name("Member project " + i)
+                    .users(new HashSet<>(Set.of(member, nonMember)))
+                    .build()).getId());
+        }
+        testEntityManager.persist(Project.builder()
+                .name("Deleted project")
+                .isDeleted(true)
+                .users(new HashSet<>(Set.of(member)))
+                .build());
+        testEntityManager.persist(Project.builder()
+                .name("Other project")
+                .users(new HashSet<>(Set.of(nonMember)))
+                .build());
+        testEntityManager.flush();
+        expected.sort(Comparator.comparing(UUID::toString));
+
+        List<UUID> walked = new ArrayList<>();
+        List<Project> page = projectRepository.findFirstMemberProjectsPage(member.getId(), Limit.of(2));
+        while (!page.isEmpty()) {
+            page.forEach(found -> walked.add(found.getId()));
+            page = projectRepository.findMemberProjectsPageAfter(member.getId(), page.getLast().getId(), Limit.of(2));
+        }
+
+        assertEquals(expected, walked);
+    }
+
+    private long countMembers() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM project_employee WHERE project_id = ?",
+                Long.class, project.getId());
+    }
+
+    private User persistUser(String name, boolean isDeleted) {
+        return testEntityManager.persist(User.builder()
+                .email(name + "@i2i.com")
+                .password("hash")
+                .firstName("First")
+                .lastName("Last")
+                .isDeleted(isDeleted)
+                .build());
+    }
+}
@@ -0,0 +1,300 @@
+package com.i2i.project_management.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.i2i.project_management.model.Project;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Runs the filtered project query against an embedded PostgreSQL migrated
+ * by Flyway, once for every combination of filters, ordering and cursor,
+ * and checks the SQL Hibernate generated: a single statement carrying
+ * exactly the predicates asked for, whose plan reads no large table with a
+ * sequential scan. The results are checked against the same filters
+ * applied in memory, page by page.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DirtiesContext
+class ProjectQueryRepositoryTest {
+
+    private static final List<String> LARGE_TABLES = List.of("projects", "project_employee", "pm_users");
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    private static final int PAGE_SIZE = 50;
+
+    private static EmbeddedPostgres postgres;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private static boolean seeded;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        assumeFalse("root".equals(System.getProperty("user.name")), "PostgreSQL refuses to run as root");
+        postgres = EmbeddedPostgres.start();
+        // Simple query protocol, so EXPLAIN (GENERIC_PLAN) accepts unbound $n placeholders.
+        jdbcTemplate = new JdbcTemplate(postgres.getDatabase("postgres", "postgres", Map.of("preferQueryMode", "simple")));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    /**
+     * 20k projects, a third of them inactive and a tenth deleted, with names
+     * in mixed case and shared prefixes, and 20k users in one project each.
+     */
+    @BeforeEach
+    void seedOnce() {
+        STATEMENTS.clear();
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.execute("""
+                INSERT INTO projects (id, name, is_deleted, is_active, updated_at)
+                SELECT gen_random_uuid(),
+                       (ARRAY['Apollo', 'apollonia', 'Gemini', 'mercury', 'Zeta'])[g % 5 + 1] || ' ' || g,
+                       g % 10 = 0, g % 3 <> 0, timestamptz '2026-01-01' + (g % 997) * interval '1 minute'
+                FROM generate_series(1, 20000) g""");
+        jdbcTemplate.execute("""
+                INSERT INTO pm_users (id, email, password, first_name, last_name, is_deleted)
+                SELECT gen_random_uuid(), 'user' || g || '@i2i.com', 'hash', 'First', 'Last', FALSE
+                FROM generate_series(1, 20000) g""");
+        jdbcTemplate.execute("""
+                WITH u AS (SELECT id, row_number() OVER (ORDER BY id) AS rn FROM pm_users),
+                     p AS (SELECT id, row_number() OVER (ORDER BY id) AS rn FROM projects)
+                INSERT INTO project_employee (project_id, employee_id)
+                SELECT p.id, u.id FROM u JOIN p ON p.rn = u.rn % 400 + 1""");
+        jdbcTemplate.execute("ANALYZE projects, pm_users, project_employee");
+        seeded = true;
+    }
+
+    @Test
+    void everyFilterCombination_shouldRunOneIndexedStatement() {
+        UUID memberId = jdbcTemplate.queryForObject("SELECT employee_id FROM project_employee LIMIT 1", UUID.class);
+        Project last = projectRepository.findAll().getLast();
+        for (Boolean active : new Boolean[] {null, true, false}) {
+            for (UUID member : new UUID[] {null, memberId}) {
+                for (String prefix : new String[] {null, "APOL"}) {
+                    for (Ordering ordering : Ordering.values()) {
+                        for (Project after : new Project[] {null, last}) {
+                            STATEMENTS.clear();
+                            projectRepository.findBy(filters(active, member, prefix).and(ordering.after(after)),
+                                    query -> query.limit(PAGE_SIZE + 1).all());
+
+                            assertEquals(1, STATEMENTS.size(), "Expected one statement, got " + STATEMENTS);
+                            String sql = STATEMENTS.get(0);
+                            assertContains(sql, "is_deleted", true);
+                            assertContains(sql, "is_active=?", active != null);
+                            assertContains(sql, "join project_employee", member != null);
+                            assertContains(sql, "collate \"C\")>=?", prefix != null);
+                            assertContains(sql, ordering.orderBy, true);
+                            assertContains(sql, "(lower(?) collate \"C\")", after != null
+                                    && (ordering == Ordering.NAME || ordering == Ordering.NAME_DESC));
+                            assertContains(sql, "'", false);
+                            assertContains(sql, "fetch first ? rows only", true);
+                            assertNoSeqScans(sql);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void paging_shouldReturnEveryMatch_inOrder() {
+        UUID memberId = jdbcTemplate.queryForObject("SELECT employee_id FROM project_employee LIMIT 1", UUID.class);
+        List<Object[]> rows = jdbcTemplate.query("""
+                        SELECT p.id, p.name, p.is_active, p.is_deleted, p.updated_at, pe.employee_id IS NOT NULL
+                        FROM projects p LEFT JOIN project_employee pe ON pe.project_id = p.id AND pe.employee_id = ?""",
+                (rs, i) -> new Object[] {rs.getObject(1, UUID.class), rs.getString(2), rs.getBoolean(3),
+                        rs.getBoolean(4), rs.getTimestamp(5).toInstant(), rs.getBoolean(6)},
+                memberId);
+        for (Boolean active : new Boolean[] {null, true, false}) {
+            for (UUID member : new UUID[] {null, memberId}) {
+                for (String prefix : new String[] {null, "APOLLO", "gem", "zeta 1"}) {
+                    for (Ordering ordering : Ordering.values()) {
+                        List<UUID> expected = rows.stream()
+                                .filter(row -> !(Boolean) row[3])
+                                .filter(row -> active == null || active.equals(row[2]))
+                                .filter(row -> member == null || (Boolean) row[5])
+                                .filter(row -> prefix == null || ((String) row[1]).toLowerCase(Locale.ROOT)
+                                        .startsWith(prefix.toLowerCase(Locale.ROOT)))
+                                .sorted(ordering.comparator)
+                                .map(row -> (UUID) row[0])
+                                .toList();
+
+                        List<UUID> actual = new ArrayList<>();
+                        Project after = null;
+                        List<Project> page;
+                        do {
+                            page = projectRepository.findBy(filters(active, member, prefix).and(ordering.after(after)),
+                                    query -> query.limit(PAGE_SIZE).all());
+                            page.forEach(project -> actual.add(project.getId()));
+                            after = page.isEmpty() ? null : page.getLast();
+                        } while (page.size() == PAGE_SIZE);
+
+                        assertEquals(expected, actual, "active=" + active + ", member=" + member
+                                + ", prefix=" + prefix + ", " + ordering);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Specification<Project> filters(Boolean active, UUID member, String prefix) {
+        Specification<Project> specification = ProjectSpecifications.notDeleted();
+        if (active != null) {
+            specification = specification.and(ProjectSpecifications.isActive(active));
+        }
+        if (member != null) {
+            specification = specification.and(ProjectSpecifications.hasMember(member));
+        }
+        if (prefix != null) {
+            specification = specification.and(ProjectSpecifications.nameStartsWith(prefix));
+        }
+        return specification;
+    }
+
+    private static void assertContains(String sql, String fragment, boolean expected) {
+        assertEquals(expected, sql.contains(fragment), (expected ? "Missing " : "Unexpected ") + fragment + " in: " + sql);
+    }
+
+    private void assertNoSeqScans(String sql) {
+        JsonNode plan = explain(sql);
+        List<String> seqScans = new ArrayList<>();
+        collectSeqScans(plan, seqScans);
+        if (!seqScans.isEmpty()) {
+            fail("Sequential scan on " + seqScans + " for: " + sql + System.lineSeparator() + plan.toPrettyString());
+        }
+    }
+
+    private JsonNode explain(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        String json = jdbcTemplate.queryForObject("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numbered, String.class);
+        try {
+            return objectMapper.readTree(json).get(0).get("Plan");
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable plan for: " + sql, e);
+        }
+    }
+
+    private void collectSeqScans(JsonNode node, List<String> seqScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && LARGE_TABLES.contains(node.path("Relation Name").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, seqScans);
+        }
+    }
+
+    /**
+     * The orderings the service offers, with the SQL and the row order each
+     * should produce. PostgreSQL orders uuids as unsigned bytes, which is
+     * the order of their string form.
+     */
+    private enum Ordering {
+        NAME("order by (lower(p1_0.name) collate \"C\") fetch",
+                Comparator.comparing(row -> ((String) row[1]).toLowerCase(Locale.ROOT))),
+        NAME_DESC("order by (lower(p1_0.name) collate \"C\") desc",
+                Comparator.comparing((Object[] row) -> ((String) row[1]).toLowerCase(Locale.ROOT)).reversed()),
+        UPDATED_AT("order by p1_0.updated_at,p1_0.id",
+                Comparator.comparing((Object[] row) -> (Instant) row[4]).thenComparing(row -> row[0].toString())),
+        UPDATED_AT_DESC("order by p1_0.updated_at desc,p1_0.id desc",
+                Comparator.comparing((Object[] row) -> (Instant) row[4]).thenComparing(row -> row[0].toString()).reversed());
+
+        private final String orderBy;
+
+        private final Comparator<Object[]> comparator;
+
+        Ordering(String orderBy, Comparator<Object[]> comparator) {
+            this.orderBy = orderBy;
+            this.comparator = comparator;
+        }
+
+        private Specification<Project> after(Project last) {
+            return switch (this) {
+                case NAME, NAME_DESC -> ProjectSpecifications.orderedByName(this == NAME_DESC,
+                        last == null ? null : last.getName());
+                case UPDATED_AT, UPDATED_AT_DESC -> ProjectSpecifications.orderedByUpdatedAt(this == UPDATED_AT_DESC,
+                        last == null ? null : last.getUpdatedAt(), last == null ? null : last.getId());
+            };
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            StatementInspector inspector = sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+}
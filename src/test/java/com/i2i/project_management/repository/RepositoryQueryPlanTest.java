@@ -0,0 +1,233 @@
+package com.i2i.project_management.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Runs the lookup queries of every repository against an embedded
+ * PostgreSQL migrated by Flyway and seeded once with large tables, then EXPLAINs each statement Hibernate
+ * issued and fails if the plan reads one of the large tables with a
+ * sequential scan. Listings that return every active row are not covered.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DirtiesContext
+class RepositoryQueryPlanTest {
+
+    private static final Set<String> LARGE_TABLES =
+            Set.of("pm_users", "projects", "roles", "user_roles", "project_employee");
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    private static EmbeddedPostgres postgres;
+
+    private static JdbcTemplate jdbcTemplate;
+
+    private static boolean seeded;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        assumeFalse("root".equals(System.getProperty("user.name")), "PostgreSQL refuses to run as root");
+        postgres = EmbeddedPostgres.start();
+        // Simple query protocol, so EXPLAIN (GENERIC_PLAN) accepts unbound $n placeholders.
+        jdbcTemplate = new JdbcTemplate(postgres.getDatabase("postgres", "postgres", Map.of("preferQueryMode", "simple")));
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @BeforeEach
+    void seedOnce() {
+        STATEMENTS.clear();
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.execute("""
+                INSERT INTO pm_users (id, email, password, first_name, last_name, is_deleted)
+                SELECT gen_random_uuid(), 'user' || g || '@i2i.com', 'hash', 'First', 'Last', g % 10 = 0
+                FROM generate_series(1, 20000) g""");
+        jdbcTemplate.execute("""
+                INSERT INTO projects (id, name, is_deleted, is_active)
+                SELECT gen_random_uuid(), 'Project ' || g, g % 10 = 0, TRUE
+                FROM generate_series(1, 5000) g""");
+        jdbcTemplate.execute("""
+                INSERT INTO roles (id, name, is_deleted)
+                SELECT gen_random_uuid(), 'ROLE_' || g, g % 10 = 0
+                FROM generate_series(1, 5000) g""");
+        jdbcTemplate.execute("""
+                WITH u AS (SELECT id, row_number() OVER (ORDER BY id) AS rn FROM pm_users),
+                     p AS (SELECT id, row_number() OVER (ORDER BY id) AS rn FROM projects)
+                INSERT INTO project_employee (project_id, employee_id)
+                SELECT p.id, u.id FROM u JOIN p ON p.rn = u.rn % 5000 + 1""");
+        jdbcTemplate.execute("""
+                WITH u AS (SELECT id, row_number() OVER (ORDER BY id) AS rn FROM pm_users),
+                     r AS (SELECT id, row_number() OVER (ORDER BY id) AS rn FROM roles)
+                INSERT INTO user_roles (user_id, role_id)
+                SELECT u.id, r.id FROM u JOIN r ON r.rn = u.rn % 5000 + 1""");
+        jdbcTemplate.execute("ANALYZE pm_users, projects, roles, user_roles, project_employee");
+        seeded = true;
+    }
+
+    @Test
+    void userRepositoryLookups_shouldNotSeqScan() {
+        UUID id = UUID.randomUUID();
+        userRepository.findUserById(id);
+        userRepository.existsActiveById(id);
+        userRepository.findActiveByEmail("user42@i2i.com");
+        userRepository.findByEmailWithRoles("user42@i2i.com");
+        userRepository.updatePassword("user42@i2i.com", "hash");
+        userRepository.deleteEmployee(id);
+        userRepository.findChangedSince(Instant.now().minusSeconds(60), id, Instant.now(), Limit.of(51));
+
+        assertNoSeqScans();
+    }
+
+    @Test
+    void projectRepositoryLookups_shouldNotSeqScan() {
+        UUID id = UUID.randomUUID();
+        projectRepository.findProjectById(id);
+        projectRepository.findProjectSummaryById(id);
+        projectRepository.existsActiveById(id);
+        UUID projectId = jdbcTemplate.queryForObject("SELECT id FROM projects LIMIT 1", UUID.class);
+        UUID userId = jdbcTemplate.queryForObject("SELECT id FROM pm_users LIMIT 1", UUID.class);
+        projectRepository.addMember(projectId, userId);
+        projectRepository.removeMember(projectId, userId);
+        projectRepository.findProjectByName("Project 42");
+        projectRepository.findFirstProjectsPage(Limit.of(51));
+        projectRepository.findProjectsPageAfter(id, Limit.of(51));
+        projectRepository.findFirstMemberProjectsPage(userId, Limit.of(51));
+        projectRepository.findMemberProjectsPageAfter(userId, id, Limit.of(51));
+        projectRepository.findFirstMembersPage(projectId, Limit.of(51));
+        projectRepository.findMembersPageAfter(projectId, id, Limit.of(51));
+        projectRepository.countActiveMembers(projectId);
+        projectRepository.deleteProject(id);
+        projectRepository.findChangedSince(Instant.now().minusSeconds(60), id, Instant.now(), Limit.of(51));
+
+        assertNoSeqScans();
+    }
+
+    @Test
+    void roleRepositoryLookups_shouldNotSeqScan() {
+        roleRepository.findRoleById(UUID.randomUUID());
+        roleRepository.findRoleByName("ROLE_42");
+
+        assertNoSeqScans();
+    }
+
+    private void assertNoSeqScans() {
+        testEntityManager.flush();
+        assertFalse(STATEMENTS.isEmpty(), "No statements were captured");
+        for (String sql : STATEMENTS) {
+            JsonNode plan = explain(sql);
+            List<String> seqScans = new ArrayList<>();
+            collectSeqScans(plan, seqScans);
+            if (!seqScans.isEmpty()) {
+                fail("Sequential scan on " + seqScans + " for: " + sql + System.lineSeparator() + plan.toPrettyString());
+            }
+        }
+    }
+
+    private JsonNode explain(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        String json = jdbcTemplate.queryForObject("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numbered, String.class);
+        try {
+            return objectMapper.readTree(json).get(0).get("Plan");
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable plan for: " + sql, e);
+        }
+    }
+
+    private void collectSeqScans(JsonNode node, List<String> seqScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && LARGE_TABLES.contains(node.path("Relation Name").asText())) {
+            seqScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, seqScans);
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            StatementInspector inspector = sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+}
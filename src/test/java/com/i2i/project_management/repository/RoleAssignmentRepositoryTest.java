@@ -0,0 +1,121 @@
+package com.i2i.project_management.repository;
+
+import com.i2i.project_management.model.Role;
+import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.RoleAssignmentRepository.RoleAssignmentCandidate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class RoleAssignmentRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Role employee;
+
+    private Role manager;
+
+    private User holder;
+
+    private User newcomer;
+
+    private User deleted;
+
+    @BeforeEach
+    void setUp() {
+        employee = testEntityManager.persist(Role.builder().name("EMPLOYEE").isDeleted(false).build());
+        manager = testEntityManager.persist(Role.builder().name("PROJECT_MANAGER").isDeleted(false).build());
+        holder = persistUser("holder@i2i.com", false, employee, manager);
+        newcomer = persistUser("newcomer@i2i.com", false, employee);
+        deleted = persistUser("deleted@i2i.com", true, employee);
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void findGrantCandidates_shouldFlagUsersMissingARole_andIgnoreDeletedUsers() {
+        Map<UUID, Boolean> affected = roleRepository.findGrantCandidates(
+                        List.of(holder.getId(), newcomer.getId(), deleted.getId(), UUID.randomUUID()),
+                        List.of(manager.getId())).stream()
+                .collect(Collectors.toMap(RoleAssignmentCandidate::userId, RoleAssignmentCandidate::affected));
+
+        assertEquals(Map.of(holder.getId(), false, newcomer.getId(), true), affected);
+    }
+
+    @Test
+    void grantRoles_shouldInsertOnlyMissingAssignments() {
+        int granted = roleRepository.grantRoles(
+                List.of(holder.getId(), newcomer.getId(), deleted.getId()), List.of(employee.getId(), manager.getId()));
+
+        assertEquals(1, granted);
+        assertEquals(Set.of(employee, manager), rolesOf(newcomer));
+        assertEquals(Set.of(employee), rolesOf(deleted));
+    }
+
+    @Test
+    void revokeRoles_shouldDeleteAssignments_andBumpTokenVersions() {
+        List<RoleAssignmentCandidate> candidates = roleRepository.findRevokeCandidates(
+                List.of(holder.getId(), newcomer.getId()), List.of(manager.getId()));
+        assertTrue(candidates.stream().anyMatch(candidate -> candidate.userId().equals(holder.getId()) && candidate.affected()));
+        assertFalse(candidates.stream().anyMatch(candidate -> candidate.userId().equals(newcomer.getId()) && candidate.affected()));
+
+        assertEquals(1, roleRepository.incrementTokenVersions(List.of(holder.getId())));
+        assertEquals(1, roleRepository.revokeRoles(List.of(holder.getId()), List.of(manager.getId())));
+
+        assertEquals(Set.of(employee), rolesOf(holder));
+        assertEquals(1, userRepository.findUserById(holder.getId()).orElseThrow().getTokenVersion());
+    }
+
+    @Test
+    void findRoleHolders_shouldReturnActiveHoldersOnly() {
+        Map<UUID, Boolean> holders = roleRepository.findRoleHolders(manager.getId()).stream()
+                .collect(Collectors.toMap(RoleAssignmentCandidate::userId, RoleAssignmentCandidate::affected));
+        Set<UUID> employees = roleRepository.findRoleHolders(employee.getId()).stream()
+                .map(RoleAssignmentCandidate::userId)
+                .collect(Collectors.toSet());
+
+        assertEquals(Map.of(holder.getId(), true), holders);
+        assertEquals(Set.of(holder.getId(), newcomer.getId()), employees);
+    }
+
+    private User persistUser(String email, boolean isDeleted, Role... roles) {
+        return testEntityManager.persist(User.builder()
+                .email(email)
+                .password("hash")
+                .firstName("First")
+                .lastName("Last")
+                .isDeleted(isDeleted)
+                .roles(new HashSet<>(List.of(roles)))
+                .build());
+    }
+
+    private Set<Role> rolesOf(User user) {
+        testEntityManager.clear();
+        return testEntityManager.find(User.class, user.getId()).getRoles();
+    }
+}
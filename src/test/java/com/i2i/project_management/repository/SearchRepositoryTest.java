@@ -0,0 +1,155 @@
+package com.i2i.project_management.repository;
+
+import com.i2i.project_management.model.Project;
+import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.projection.ProjectSummary;
+import com.i2i.project_management.repository.projection.UserSummary;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * The search queries, which rely on tsvector columns and pg_trgm and so
+ * only run against PostgreSQL migrated by Flyway.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@DirtiesContext
+class SearchRepositoryTest {
+
+    private static final int CANDIDATES = 1_000;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Project apollo;
+
+    private Project gemini;
+
+    private User jane;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        assumeFalse("root".equals(System.getProperty("user.name")), "PostgreSQL refuses to run as root");
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "");
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.flyway.enabled", () -> "true");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jane = persistUser("Jane", "Doe", "jane.doe@i2i.com");
+        persistUser("Janet", "Moon", "jmoon@i2i.com");
+        persistUser("Gone", "Doe", "gone.doe@i2i.com").setDeleted(true);
+        apollo = persistProject("Apollo Launch", "Crewed lunar missions", Set.of(jane));
+        gemini = persistProject("Gemini", "Rendezvous practice before apollo", Set.of());
+        persistProject("Apollo Archive", "Retired", Set.of()).setDeleted(true);
+        testEntityManager.flush();
+    }
+
+    @Test
+    void searchProjects_shouldRankNameMatchesFirst_andSkipDeletedProjects() {
+        List<ProjectSummary> found = projectRepository.searchProjects("apol:*", CANDIDATES, 0, 10);
+
+        assertEquals(List.of(apollo.getId(), gemini.getId()), found.stream().map(ProjectSummary::getId).toList());
+        assertEquals("Apollo Launch", found.get(0).getName());
+        assertEquals(1L, found.get(0).getMemberCount());
+    }
+
+    @Test
+    void searchProjects_shouldRequireEveryWord_andPage() {
+        assertEquals(List.of(apollo.getId()), projectRepository.searchProjects("apollo:* & lunar:*", CANDIDATES, 0, 10)
+                .stream().map(ProjectSummary::getId).toList());
+        assertEquals(List.of(gemini.getId()), projectRepository.searchProjects("apollo:*", CANDIDATES, 1, 10)
+                .stream().map(ProjectSummary::getId).toList());
+        assertTrue(projectRepository.searchProjects("mars:*", CANDIDATES, 0, 10).isEmpty());
+    }
+
+    @Test
+    void searchProjectsBySimilarity_shouldToleratePlainTypos() {
+        List<ProjectSummary> found = projectRepository.searchProjectsBySimilarity("geminy", 0, 10);
+
+        assertEquals(List.of(gemini.getId()), found.stream().map(ProjectSummary::getId).toList());
+    }
+
+    @Test
+    void searchUsers_shouldMatchNamesAndEmailLocalPart_andSkipDeletedUsers() {
+        List<UserSummary> byName = userRepository.searchUsers("jan:*", CANDIDATES, 0, 10);
+        List<UserSummary> byEmail = userRepository.searchUsers("doe:*", CANDIDATES, 0, 10);
+
+        assertEquals(2, byName.size());
+        assertEquals(List.of(jane.getId()), byEmail.stream().map(UserSummary::getId).toList());
+        assertEquals("Jane", byEmail.get(0).getFirstName());
+        assertEquals("jane.doe@i2i.com", byEmail.get(0).getEmail());
+    }
+
+    @Test
+    void searchUsersBySimilarity_shouldToleratePlainTypos() {
+        List<UserSummary> found = userRepository.searchUsersBySimilarity("jane deo", 0, 10);
+
+        assertEquals(jane.getId(), found.get(0).getId());
+    }
+
+    private User persistUser(String firstName, String lastName, String email) {
+        return testEntityManager.persist(User.builder()
+                .email(email)
+                .password("hash")
+                .firstName(firstName)
+                .lastName(lastName)
+                .roles(new HashSet<>())
+                .build());
+    }
+
+    private Project persistProject(String name, String description, Set<User> members) {
+        return testEntityManager.persist(Project.builder()
+                .name(name)
+                .description(description)
+                .isActive(true)
+                .users(new HashSet<>(members))
+                .build());
+    }
+}
@@ -0,0 +1,66 @@
+package com.i2i.project_management.repository;
+
+import com.i2i.project_management.model.Role;
+import com.i2i.project_management.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class UserImportRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void batchInsert_shouldWriteUsersAndRoles() {
+        Role role = testEntityManager.persistAndFlush(Role.builder().name("EMPLOYEE").isDeleted(false).build());
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            users.add(User.builder()
+                    .id(UUID.randomUUID())
+                    .email("import" + i + "@i2i.com")
+                    .password("hash")
+                    .firstName("First")
+                    .lastName("Last")
+                    .roles(Set.of(role))
+                    .build());
+        }
+
+        userRepository.batchInsertUsers(users);
+        userRepository.batchInsertUserRoles(users);
+        testEntityManager.clear();
+
+        User loaded = userRepository.findByEmailWithRoles("import42@i2i.com").orElseThrow();
+        assertEquals(Set.of(role), loaded.getRoles());
+        assertEquals(250, userRepository.findAllUserRoles().size());
+    }
+
+    @Test
+    void findActiveEmails_shouldMatchCaseInsensitively_andIgnoreDeletedUsers() {
+        testEntityManager.persist(User.builder().email("Active@i2i.com").password("hash")
+                .firstName("A").lastName("B").build());
+        testEntityManager.persist(User.builder().email("deleted@i2i.com").password("hash")
+                .firstName("A").lastName("B").isDeleted(true).build());
+        testEntityManager.flush();
+
+        Set<String> emails = userRepository.findActiveEmails(List.of("ACTIVE@i2i.com", "deleted@i2i.com", "new@i2i.com"));
+
+        assertEquals(Set.of("active@i2i.com"), emails);
+    }
+}
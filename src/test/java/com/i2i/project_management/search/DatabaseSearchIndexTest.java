@@ -0,0 +1,122 @@
+package com.i2i.project_management.search;
+
+import com.i2i.project_management.Dto.ProjectDto;
+import com.i2i.project_management.Dto.UserDto;
+import com.i2i.project_management.exception.ValidationException;
+import com.i2i.project_management.repository.ProjectRepository;
+import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.repository.projection.ProjectSummary;
+import com.i2i.project_management.repository.projection.UserRoleRow;
+import com.i2i.project_management.repository.projection.UserSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseSearchIndexTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private DatabaseSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new DatabaseSearchIndex(projectRepository, userRepository);
+    }
+
+    @Test
+    void searchProjects_shouldPassPrefixQuery_andMapSummaries() throws ValidationException {
+        UUID projectId = UUID.randomUUID();
+        ProjectSummary found = mock(ProjectSummary.class);
+        when(found.getId()).thenReturn(projectId);
+        when(found.getMemberCount()).thenReturn(2L);
+        when(projectRepository.searchProjects("proj:* & al", SearchQuery.MAX_RESULTS, 20, 11))
+                .thenReturn(List.of(found));
+
+        List<ProjectDto> projects = searchIndex.searchProjects(SearchQuery.parse("proj al"), 20, 11);
+
+        assertEquals(projectId, projects.get(0).getId());
+        assertEquals(2L, projects.get(0).getMemberCount());
+        verify(projectRepository, never()).searchProjectsBySimilarity(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchProjects_shouldFallBackToSimilarity_whenNoPrefixMatches() throws ValidationException {
+        UUID projectId = UUID.randomUUID();
+        ProjectSummary misspelt = mock(ProjectSummary.class);
+        when(misspelt.getId()).thenReturn(projectId);
+        when(projectRepository.searchProjects("aplha:*", SearchQuery.MAX_RESULTS, 0, 51)).thenReturn(List.of());
+        when(projectRepository.searchProjectsBySimilarity("aplha", 0, 51)).thenReturn(List.of(misspelt));
+
+        List<ProjectDto> projects = searchIndex.searchProjects(SearchQuery.parse("aplha"), 0, 51);
+
+        assertEquals(List.of(projectId), projects.stream().map(ProjectDto::getId).toList());
+    }
+
+    @Test
+    void searchProjects_shouldNotFallBack_whenPastLastPrefixMatch() throws ValidationException {
+        when(projectRepository.searchProjects("alpha:*", SearchQuery.MAX_RESULTS, 50, 51)).thenReturn(List.of());
+        when(projectRepository.searchProjects("alpha:*", 1, 0, 1)).thenReturn(List.of(mock(ProjectSummary.class)));
+
+        assertTrue(searchIndex.searchProjects(SearchQuery.parse("alpha"), 50, 51).isEmpty());
+        verify(projectRepository, never()).searchProjectsBySimilarity(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchProjects_shouldNotFallBack_forShortText() throws ValidationException {
+        when(projectRepository.searchProjects("ab", SearchQuery.MAX_RESULTS, 0, 51)).thenReturn(List.of());
+
+        assertTrue(searchIndex.searchProjects(SearchQuery.parse("ab"), 0, 51).isEmpty());
+        verify(projectRepository, never()).searchProjectsBySimilarity(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchUsers_shouldKeepRankOrder_andLoadRolesForFoundUsersOnly() throws ValidationException {
+        UUID firstId = UUID.randomUUID();
+        UUID secondId = UUID.randomUUID();
+        UserSummary first = mock(UserSummary.class);
+        when(first.getId()).thenReturn(firstId);
+        UserSummary second = mock(UserSummary.class);
+        when(second.getId()).thenReturn(secondId);
+        UserRoleRow role = mock(UserRoleRow.class);
+        when(role.getUserId()).thenReturn(secondId);
+        when(role.getName()).thenReturn("EMPLOYEE");
+        when(userRepository.searchUsers("jane:* & doe:*", SearchQuery.MAX_RESULTS, 0, 3))
+                .thenReturn(List.of(first, second));
+        when(userRepository.findUserRoles(List.of(firstId, secondId))).thenReturn(List.of(role));
+        when(userRepository.findUserProjects(List.of(firstId, secondId))).thenReturn(List.of());
+
+        List<UserDto> users = searchIndex.searchUsers(SearchQuery.parse("jane.doe"), 0, 3);
+
+        assertEquals(List.of(firstId, secondId), users.stream().map(UserDto::getId).toList());
+        assertEquals("EMPLOYEE", users.get(1).getRoles().get(0).getName());
+    }
+
+    @Test
+    void searchUsers_shouldSkipRoleAndProjectQueries_whenNothingMatches() throws ValidationException {
+        when(userRepository.searchUsers("jnae:*", SearchQuery.MAX_RESULTS, 0, 51)).thenReturn(List.of());
+        when(userRepository.searchUsersBySimilarity("jnae", 0, 51)).thenReturn(List.of());
+
+        assertEquals(List.of(), searchIndex.searchUsers(SearchQuery.parse("jnae"), 0, 51));
+        verify(userRepository, never()).findUserRoles(any());
+        verify(userRepository, never()).findUserProjects(any());
+    }
+}
@@ -0,0 +1,140 @@
+package com.i2i.project_management.search;
+
+import com.i2i.project_management.Dto.ProjectDto;
+import com.i2i.project_management.Dto.UserDto;
+import com.i2i.project_management.event.DomainEvent;
+import com.i2i.project_management.event.DomainEventType;
+import com.i2i.project_management.exception.ValidationException;
+import com.i2i.project_management.model.Project;
+import com.i2i.project_management.repository.ProjectRepository;
+import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.repository.projection.UserSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemorySearchIndexTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private InMemorySearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new InMemorySearchIndex(projectRepository, userRepository);
+    }
+
+    @Test
+    void fill_shouldScanKeysetBatches_andServeStoredFields() throws ValidationException {
+        List<Project> firstBatch = new ArrayList<>();
+        for (int i = 0; i < InMemorySearchIndex.SCAN_BATCH_SIZE; i++) {
+            firstBatch.add(project(UUID.randomUUID(), "Project " + i, null));
+        }
+        Project apollo = project(UUID.randomUUID(), "Apollo Launch", "Crewed lunar missions");
+        when(projectRepository.findFirstProjectsPage(any(Limit.class))).thenReturn(firstBatch);
+        when(projectRepository.findProjectsPageAfter(firstBatch.getLast().getId(),
+                Limit.of(InMemorySearchIndex.SCAN_BATCH_SIZE))).thenReturn(List.of(apollo));
+        UserSummary jane = userSummary(UUID.randomUUID(), "Jane", "Doe", "jane.doe@i2i.com");
+        when(userRepository.findFirstUserSummariesPage(any(Limit.class))).thenReturn(List.of(jane));
+
+        searchIndex.fill();
+
+        List<ProjectDto> projects = searchIndex.searchProjects(SearchQuery.parse("lunar apol"), 0, 10);
+        assertEquals(apollo.getId(), projects.get(0).getId());
+        assertEquals("Apollo Launch", projects.get(0).getName());
+        assertEquals("Crewed lunar missions", projects.get(0).getDescription());
+        assertEquals(InMemorySearchIndex.SCAN_BATCH_SIZE,
+                searchIndex.searchProjects(SearchQuery.parse("project"), 0, 2_000).size());
+        List<UserDto> users = searchIndex.searchUsers(SearchQuery.parse("jane.doe"), 0, 10);
+        assertEquals(jane.getId(), users.get(0).getId());
+        assertEquals("jane.doe@i2i.com", users.get(0).getEmail());
+        assertNull(users.get(0).getRoles());
+        assertTrue(searchIndex.searchUsers(SearchQuery.parse("i2i"), 0, 10).isEmpty());
+    }
+
+    @Test
+    void fill_shouldNotRestoreRows_deletedOrUpdatedDuringScan() throws ValidationException {
+        Project deleted = project(UUID.randomUUID(), "Apollo", null);
+        Project renamed = project(UUID.randomUUID(), "Gemini", null);
+        when(projectRepository.findFirstProjectsPage(any(Limit.class))).thenAnswer(invocation -> {
+            searchIndex.apply(new DomainEvent(DomainEventType.PROJECT_DELETED, deleted.getId(), null));
+            searchIndex.apply(new DomainEvent(DomainEventType.PROJECT_UPDATED, renamed.getId(),
+                    projectDto(renamed.getId(), "Mercury")));
+            return List.of(deleted, renamed);
+        });
+        when(userRepository.findFirstUserSummariesPage(any(Limit.class))).thenReturn(List.of());
+
+        searchIndex.fill();
+
+        assertTrue(searchIndex.searchProjects(SearchQuery.parse("apollo"), 0, 10).isEmpty());
+        assertTrue(searchIndex.searchProjects(SearchQuery.parse("gemini"), 0, 10).isEmpty());
+        assertEquals(renamed.getId(), searchIndex.searchProjects(SearchQuery.parse("mercury"), 0, 10).get(0).getId());
+    }
+
+    @Test
+    void apply_shouldIndexCommittedWrites_andIgnoreUnindexedEvents() throws ValidationException {
+        UUID projectId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        searchIndex.apply(new DomainEvent(DomainEventType.PROJECT_CREATED, projectId, projectDto(projectId, "Apollo")));
+        searchIndex.apply(new DomainEvent(DomainEventType.USERS_IMPORTED, null,
+                List.of(userDto(userId, "Janet", "Moon", "jmoon@i2i.com"))));
+        searchIndex.apply(new DomainEvent(DomainEventType.PROJECT_MEMBERS_ADDED, projectId,
+                Map.of("userIds", List.of(userId))));
+
+        assertEquals(projectId, searchIndex.searchProjects(SearchQuery.parse("apolo"), 0, 10).get(0).getId());
+        assertEquals(userId, searchIndex.searchUsers(SearchQuery.parse("jan moon"), 0, 10).get(0).getId());
+
+        searchIndex.apply(new DomainEvent(DomainEventType.USER_DELETED, userId, null));
+
+        assertTrue(searchIndex.searchUsers(SearchQuery.parse("moon"), 0, 10).isEmpty());
+    }
+
+    private Project project(UUID id, String name, String description) {
+        return Project.builder().id(id).name(name).description(description).build();
+    }
+
+    private ProjectDto projectDto(UUID id, String name) {
+        ProjectDto projectDto = new ProjectDto();
+        projectDto.setId(id);
+        projectDto.setName(name);
+        return projectDto;
+    }
+
+    private UserDto userDto(UUID id, String firstName, String lastName, String email) {
+        UserDto userDto = new UserDto();
+        userDto.setId(id);
+        userDto.setFirstName(firstName);
+        userDto.setLastName(lastName);
+        userDto.setEmail(email);
+        return userDto;
+    }
+
+    private UserSummary userSummary(UUID id, String firstName, String lastName, String email) {
+        UserSummary user = mock(UserSummary.class);
+        when(user.getId()).thenReturn(id);
+        when(user.getFirstName()).thenReturn(firstName);
+        when(user.getLastName()).thenReturn(lastName);
+        when(user.getEmail()).thenReturn(email);
+        return user;
+    }
+}
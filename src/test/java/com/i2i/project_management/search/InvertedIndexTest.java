@@ -0,0 +1,89 @@
+package com.i2i.project_management.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    @Test
+    void search_shouldMatchLongWordsAsPrefixes_andShortWordsWhole() {
+        UUID apollo = put("Apollo Launch", "Crewed lunar missions");
+        put("Ap", "Two letters");
+
+        assertEquals(List.of(apollo), ids(List.of("apol"), false, 0, 10));
+        assertTrue(ids(List.of("ap", "launch"), false, 0, 10).isEmpty());
+        assertEquals(List.of(apollo), ids(List.of("lunar", "apollo"), false, 0, 10));
+    }
+
+    @Test
+    void search_shouldRankNameAboveDescription_andExactAbovePrefix() {
+        UUID inDescription = put("Gemini", "Rendezvous practice for apollonian crews");
+        UUID prefixOfName = put("Apollonia", null);
+        UUID exactName = put("Apollo", null);
+
+        assertEquals(List.of(exactName, prefixOfName, inDescription), ids(List.of("apollo"), false, 0, 10));
+        assertEquals(List.of(prefixOfName), ids(List.of("apollo"), false, 1, 1));
+    }
+
+    @Test
+    void search_shouldTolerateOneEdit_onlyWhenAskedAndNothingMatches() {
+        UUID gemini = put("Gemini", null);
+
+        assertTrue(ids(List.of("gemnii"), false, 0, 10).isEmpty());
+        assertEquals(List.of(gemini), ids(List.of("gemnii"), true, 0, 10));
+        assertEquals(List.of(gemini), ids(List.of("geminy"), true, 0, 10));
+        assertEquals(List.of(gemini), ids(List.of("gmini"), true, 0, 10));
+    }
+
+    @Test
+    void put_shouldReplaceDocument_andPutIfAbsentShouldKeepIt() {
+        UUID id = UUID.randomUUID();
+        index.put(id, new String[] {"Old", null}, "Old", null);
+        index.put(id, new String[] {"Renamed", null}, "Renamed", null);
+        index.putIfAbsent(id, new String[] {"Stale", null}, "Stale", null);
+
+        assertTrue(ids(List.of("old"), false, 0, 10).isEmpty());
+        assertTrue(ids(List.of("stale"), false, 0, 10).isEmpty());
+        List<InvertedIndex.Hit> hits = index.search(List.of("renamed"), false, 0, 10);
+        assertEquals(id, hits.get(0).id());
+        assertArrayEquals(new String[] {"Renamed", null}, hits.get(0).fields());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void remove_shouldCompact_onceDeadDocumentsOutnumberLiveOnes() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            ids.add(put("Project " + i, i % 2 == 0 ? "even" : "odd"));
+        }
+        for (int i = 0; i < 2_000; i++) {
+            index.remove(ids.get(i));
+        }
+
+        assertEquals(1_000, index.size());
+        assertEquals(500, ids(List.of("even"), false, 0, 1_000).size());
+        assertEquals(List.of(ids.get(2_999)), ids(List.of("project", "2999"), false, 0, 10));
+        assertTrue(ids(List.of("1999"), false, 0, 10).isEmpty());
+        UUID added = put("Project late", "even");
+        assertEquals(List.of(added), ids(List.of("late"), false, 0, 10));
+    }
+
+    private UUID put(String name, String description) {
+        UUID id = UUID.randomUUID();
+        index.put(id, new String[] {name, description}, name, description);
+        return id;
+    }
+
+    private List<UUID> ids(List<String> words, boolean fuzzy, int offset, int limit) {
+        return index.search(words, fuzzy, offset, limit).stream().map(InvertedIndex.Hit::id).toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.i2i.project_management.security;
+
+import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserDetailsCache userDetailsCache;
+
+    private CustomUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsCache = new UserDetailsCache(new SimpleMeterRegistry(), 60_000, 100);
+        userDetailsService = new CustomUserDetailsService(userRepository, userDetailsCache);
+    }
+
+    @Test
+    void loadUserByUsername_shouldHitDatabaseOnce_whenCached() {
+        User user = User.builder().id(UUID.randomUUID()).email("user@i2i.com").build();
+        when(userRepository.findByEmailWithRoles("user@i2i.com")).thenReturn(Optional.of(user));
+
+        userDetailsService.loadUserByUsername("user@i2i.com");
+        userDetailsService.loadUserByUsername("user@i2i.com");
+
+        verify(userRepository, times(1)).findByEmailWithRoles("user@i2i.com");
+    }
+
+    @Test
+    void loadUserByUsername_shouldReload_afterEvictUser() {
+        UUID userId = UUID.randomUUID();
+        User user = User.builder().id(userId).email("user@i2i.com").build();
+        when(userRepository.findByEmailWithRoles("user@i2i.com")).thenReturn(Optional.of(user));
+
+        userDetailsService.loadUserByUsername("user@i2i.com");
+        userDetailsCache.evictUser(userId);
+        userDetailsService.loadUserByUsername("user@i2i.com");
+
+        verify(userRepository, times(2)).findByEmailWithRoles("user@i2i.com");
+    }
+
+    @Test
+    void loadUserByUsername_shouldThrow_whenUserMissing() {
+        when(userRepository.findByEmailWithRoles("missing@i2i.com")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class,
+                () -> userDetailsService.loadUserByUsername("missing@i2i.com"));
+        assertNull(userDetailsCache.get("missing@i2i.com"));
+    }
+}
@@ -0,0 +1,239 @@
+package com.i2i.project_management.security;
+
+import com.i2i.project_management.model.RevokedToken;
+import com.i2i.project_management.model.Role;
+import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.RevokedTokenRepository;
+import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.repository.projection.TokenState;
+import com.i2i.project_management.service.impl.JwtService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "dGhpcy1pcy1hLXRlc3Qtc2VjcmV0LXRoYXQtaXMtbG9uZy1lbm91Z2gtZm9yLWhzMjU2";
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final List<Object> publishedEvents = new ArrayList<>();
+
+    private JwtService jwtService;
+
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    private JwtAuthenticationFilter filter;
+
+    private User user;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 60_000);
+        tokenRevocationRegistry = newRegistry(new UserDetailsCache(new SimpleMeterRegistry(), 60_000, 100));
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, tokenRevocationRegistry,
+                new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), true, 100));
+        ReflectionTestUtils.setField(filter, "statelessAuth", true);
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("user@i2i.com")
+                .tokenVersion(3)
+                .roles(Set.of(Role.builder().name("EMPLOYEE").build()))
+                .build();
+        token = jwtService.generateToken(new CustomUserDetails(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_shouldAuthenticateFromClaims_whenTokenIsCurrent() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), chain);
+
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest());
+        verify(userDetailsService, never()).loadUserByUsername(any());
+    }
+
+    @Test
+    void doFilter_shouldRejectToken_afterLogout() throws Exception {
+        Claims claims = jwtService.extractAllClaims(token);
+        tokenRevocationRegistry.revokeToken(claims.getId(), claims.getExpiration());
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest());
+        verify(revokedTokenRepository, times(1)).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void doFilter_shouldRejectToken_revokedByAnotherInstance() throws Exception {
+        Claims claims = jwtService.extractAllClaims(token);
+        when(revokedTokenRepository.findRevokedSince(any(), any())).thenReturn(List.of(RevokedToken.builder()
+                .tokenId(claims.getId())
+                .expiresAt(claims.getExpiration().toInstant())
+                .build()));
+        tokenRevocationRegistry.refresh();
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService, never()).loadUserByUsername(any());
+    }
+
+    @Test
+    void doFilter_shouldLookUpUser_whenTokenVersionRaisedByAnotherInstance() throws Exception {
+        TokenState tokenState = mock(TokenState.class);
+        when(tokenState.getId()).thenReturn(user.getId());
+        when(tokenState.getTokenVersion()).thenReturn(4);
+        when(userRepository.findTokenStatesChangedSince(any())).thenReturn(List.of(tokenState));
+        tokenRevocationRegistry.refresh();
+        User current = User.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .tokenVersion(4)
+                .roles(Set.of())
+                .build();
+        when(userDetailsService.loadUserByUsername("user@i2i.com")).thenReturn(new CustomUserDetails(current));
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userDetailsService, times(1)).loadUserByUsername("user@i2i.com");
+    }
+
+    @Test
+    void doFilter_shouldRejectToken_whenAnotherInstanceRaisedTokenVersionOfCachedUser() throws Exception {
+        UserDetailsCache userDetailsCache = new UserDetailsCache(new SimpleMeterRegistry(), 300_000, 100);
+        TokenRevocationRegistry otherInstance = newRegistry(new UserDetailsCache(new SimpleMeterRegistry(), 300_000, 100));
+        TokenRevocationRegistry thisInstance = newRegistry(userDetailsCache);
+        JwtAuthenticationFilter thisFilter = new JwtAuthenticationFilter(jwtService,
+                new CustomUserDetailsService(userRepository, userDetailsCache), thisInstance,
+                new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), true, 100));
+        ReflectionTestUtils.setField(thisFilter, "statelessAuth", true);
+        userDetailsCache.put(user.getEmail(), new CustomUserDetails(user));
+
+        User current = User.builder()
+                .id(user.getId())
+                .email(user.getEmail())
+                .tokenVersion(4)
+                .roles(Set.of())
+                .build();
+        otherInstance.recordTokenVersion(user.getId(), 4);
+        TokenState tokenState = mock(TokenState.class);
+        when(tokenState.getId()).thenReturn(user.getId());
+        when(tokenState.getTokenVersion()).thenReturn(4);
+        when(userRepository.findTokenStatesChangedSince(any())).thenReturn(List.of(tokenState));
+        when(userRepository.findByEmailWithRoles(user.getEmail())).thenReturn(Optional.of(current));
+        thisInstance.refresh();
+
+        thisFilter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(userRepository, times(1)).findByEmailWithRoles(user.getEmail());
+    }
+
+    @Test
+    void doFilter_shouldRejectToken_ofDeletedUser() throws Exception {
+        tokenRevocationRegistry.recordTokenVersion(user.getId(), 4);
+        user.setDeleted(true);
+        when(userDetailsService.loadUserByUsername("user@i2i.com")).thenReturn(new CustomUserDetails(user));
+
+        filter.doFilter(bearer(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void refresh_shouldPublishOnlyWhatNewlyRevokesTokens() {
+        TokenState tokenState = mock(TokenState.class);
+        when(tokenState.getId()).thenReturn(user.getId());
+        when(tokenState.getTokenVersion()).thenReturn(4);
+        when(userRepository.findTokenStatesChangedSince(any())).thenReturn(List.of(tokenState));
+        when(revokedTokenRepository.findRevokedSince(any(), any())).thenReturn(List.of(RevokedToken.builder()
+                .tokenId("logged-out")
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build()));
+
+        tokenRevocationRegistry.refresh();
+        tokenRevocationRegistry.refresh();
+        tokenRevocationRegistry.recordTokenVersion(user.getId(), 4);
+
+        assertEquals(List.of(new TokenRevocationEvent(Map.of(user.getId(), 4), Set.of("logged-out"))),
+                publishedEvents);
+    }
+
+    @Test
+    void refresh_shouldRetryFromSamePoint_whenReadFails() {
+        when(userRepository.findTokenStatesChangedSince(any()))
+                .thenThrow(new RuntimeException("db"))
+                .thenReturn(List.of());
+        ArgumentCaptor<Instant> since = ArgumentCaptor.forClass(Instant.class);
+
+        tokenRevocationRegistry.refresh();
+        tokenRevocationRegistry.refresh();
+
+        verify(userRepository, times(2)).findTokenStatesChangedSince(since.capture());
+        assertTrue(since.getAllValues().get(1).isBefore(Instant.now().minusSeconds(60)));
+        verify(revokedTokenRepository, times(1)).deleteExpired(any());
+    }
+
+    private TokenRevocationRegistry newRegistry(UserDetailsCache userDetailsCache) {
+        return new TokenRevocationRegistry(revokedTokenRepository, userRepository, userDetailsCache,
+                publishedEvents::add, 60_000, Duration.ofSeconds(30));
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,100 @@
+package com.i2i.project_management.security;
+
+import com.i2i.project_management.model.Role;
+import com.i2i.project_management.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoleCatalogueTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    private RoleCatalogue roleCatalogue;
+
+    private final Role employee = Role.builder().id(UUID.randomUUID()).name("EMPLOYEE").isDeleted(false).build();
+
+    private final Role admin = Role.builder().id(UUID.randomUUID()).name("ADMIN").isDeleted(false).build();
+
+    @BeforeEach
+    void setUp() {
+        when(roleRepository.findAllRoles()).thenReturn(List.of(employee, admin));
+        roleCatalogue = new RoleCatalogue(roleRepository);
+        roleCatalogue.reload();
+    }
+
+    @Test
+    void lookups_shouldBeServedFromTheSnapshot() {
+        assertEquals(List.of(admin, employee), roleCatalogue.findAll());
+        assertEquals(admin, roleCatalogue.findByName("Admin").orElseThrow());
+        assertEquals(employee, roleCatalogue.findById(employee.getId()).orElseThrow());
+        assertEquals(List.of(employee), roleCatalogue.findAllById(List.of(employee.getId(), UUID.randomUUID(), employee.getId())));
+        verify(roleRepository, times(1)).findAllRoles();
+    }
+
+    @Test
+    void put_shouldSwapInNewSnapshot_withoutChangingThePreviousOne() {
+        List<Role> before = roleCatalogue.findAll();
+
+        roleCatalogue.put(Role.builder().id(admin.getId()).name("SUPER_ADMIN").isDeleted(false).build());
+
+        assertEquals(List.of(admin, employee), before);
+        assertTrue(roleCatalogue.findByName("ADMIN").isEmpty());
+        assertEquals(admin.getId(), roleCatalogue.findByName("super_admin").orElseThrow().getId());
+    }
+
+    @Test
+    void put_shouldDropDeletedRole() {
+        roleCatalogue.put(Role.builder().id(employee.getId()).name("EMPLOYEE").isDeleted(true).build());
+
+        assertEquals(List.of(admin), roleCatalogue.findAll());
+        assertTrue(roleCatalogue.findById(employee.getId()).isEmpty());
+    }
+
+    @Test
+    void refresh_shouldPickUpRolesChangedByAnotherInstance() {
+        Role manager = Role.builder().id(UUID.randomUUID()).name("MANAGER").isDeleted(false).build();
+        when(roleRepository.findAllRoles()).thenReturn(List.of(manager, admin));
+
+        roleCatalogue.refresh();
+
+        assertEquals(List.of(admin, manager), roleCatalogue.findAll());
+        assertTrue(roleCatalogue.findById(employee.getId()).isEmpty());
+    }
+
+    @Test
+    void refresh_shouldKeepSnapshot_whenReloadFails() {
+        when(roleRepository.findAllRoles()).thenThrow(new RuntimeException("db"));
+
+        roleCatalogue.refresh();
+
+        assertEquals(List.of(admin, employee), roleCatalogue.findAll());
+    }
+
+    @Test
+    void findByName_shouldNotDependOnDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            roleCatalogue.reload();
+
+            assertEquals(admin, roleCatalogue.findByName("admin").orElseThrow());
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.i2i.project_management.security;
+
+import com.i2i.project_management.service.impl.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    @Test
+    void verify_shouldParseTokenOnce_whenReplayed() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), true, 100);
+        Claims claims = claimsExpiringIn(60_000);
+        when(jwtService.extractAllClaims("token")).thenReturn(claims);
+
+        assertSame(claims, cache.verify("token"));
+        assertSame(claims, cache.verify("token"));
+
+        verify(jwtService, times(1)).extractAllClaims("token");
+    }
+
+    @Test
+    void verify_shouldParseAgain_afterInvalidate() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), true, 100);
+        when(jwtService.extractAllClaims("token")).thenReturn(claimsExpiringIn(60_000));
+
+        cache.verify("token");
+        cache.invalidate("token");
+        cache.verify("token");
+
+        verify(jwtService, times(2)).extractAllClaims("token");
+    }
+
+    @Test
+    void verify_shouldNotCacheInvalidTokens() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), true, 100);
+        when(jwtService.extractAllClaims("bad")).thenThrow(new MalformedJwtException("bad"));
+
+        assertThrows(MalformedJwtException.class, () -> cache.verify("bad"));
+        assertThrows(MalformedJwtException.class, () -> cache.verify("bad"));
+
+        verify(jwtService, times(2)).extractAllClaims("bad");
+    }
+
+    @Test
+    void verify_shouldBypassCache_whenDisabled() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), false, 100);
+        when(jwtService.extractAllClaims("token")).thenReturn(claimsExpiringIn(60_000));
+
+        assertNotNull(cache.verify("token"));
+        cache.verify("token");
+
+        verify(jwtService, times(2)).extractAllClaims("token");
+    }
+
+    private Claims claimsExpiringIn(long millis) {
+        Claims claims = Jwts.claims();
+        claims.setSubject("user@i2i.com");
+        claims.setExpiration(new Date(System.currentTimeMillis() + millis));
+        return claims;
+    }
+}
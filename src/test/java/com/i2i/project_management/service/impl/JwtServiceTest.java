@@ -0,0 +1,80 @@
+package com.i2i.project_management.service.impl;
+
+import com.i2i.project_management.model.Role;
+import com.i2i.project_management.model.User;
+import com.i2i.project_management.security.CustomUserDetails;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "dGhpcy1pcy1hLXRlc3Qtc2VjcmV0LXRoYXQtaXMtbG9uZy1lbm91Z2gtZm9yLWhzMjU2";
+
+    private JwtService jwtService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 60_000);
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .email("user@i2i.com")
+                .tokenVersion(3)
+                .roles(Set.of(Role.builder().name("EMPLOYEE").build()))
+                .build();
+    }
+
+    @Test
+    void generateToken_shouldEmbedStatelessClaims() {
+        String token = jwtService.generateToken(new CustomUserDetails(user));
+
+        Claims claims = jwtService.extractAllClaims(token);
+
+        assertEquals("user@i2i.com", claims.getSubject());
+        assertNotNull(claims.getId());
+        assertTrue(jwtService.hasStatelessClaims(claims));
+        assertEquals(user.getId(), jwtService.extractUserId(claims));
+        assertEquals(3, jwtService.extractTokenVersion(claims));
+        assertEquals(Set.of("EMPLOYEE"), jwtService.extractRoles(claims));
+    }
+
+    @Test
+    void isTokenValid_shouldCompareSubjectWithUserDetails() {
+        String token = jwtService.generateToken(new CustomUserDetails(user));
+        Claims claims = jwtService.extractAllClaims(token);
+        User otherUser = User.builder().id(UUID.randomUUID()).email("other@i2i.com").build();
+
+        assertTrue(jwtService.isTokenValid(claims, new CustomUserDetails(user)));
+        assertFalse(jwtService.isTokenValid(claims, new CustomUserDetails(otherUser)));
+    }
+
+    @Test
+    void extractAllClaims_shouldRejectTokenSignedWithAnotherKey() {
+        JwtService otherService = new JwtService(
+                "YW5vdGhlci10ZXN0LXNlY3JldC10aGF0LWlzLWxvbmctZW5vdWdoLWZvci1oczI1Ng==", 60_000);
+        String token = otherService.generateToken(new CustomUserDetails(user));
+
+        assertThrows(JwtException.class, () -> jwtService.extractAllClaims(token));
+    }
+
+    @Test
+    void extractAllClaims_shouldRejectExpiredToken() {
+        JwtService expiredService = new JwtService(SECRET, -1_000);
+        String token = expiredService.generateToken(new CustomUserDetails(user));
+
+        assertThrows(ExpiredJwtException.class, () -> jwtService.extractAllClaims(token));
+    }
+}
@@ -1,29 +1,59 @@
 package com.i2i.project_management.service.impl;
 
+import com.i2i.project_management.Dto.BulkMembershipResultDto;
+import com.i2i.project_management.Dto.ChangeFeedDto;
+import com.i2i.project_management.Dto.MembershipOutcomeDto;
+import com.i2i.project_management.Dto.MembershipOutcomeDto.Outcome;
 import com.i2i.project_management.Dto.ProjectDto;
+import com.i2i.project_management.Dto.SearchPageDto;
+import com.i2i.project_management.Dto.TombstoneDto;
 import com.i2i.project_management.Dto.UpdateProjectDto;
+import com.i2i.project_management.event.ChangeEvent;
+import com.i2i.project_management.event.DomainEventType;
+import com.i2i.project_management.event.OutboxRecorder;
 import com.i2i.project_management.exception.DatabaseException;
 import com.i2i.project_management.exception.NotFoundException;
+import com.i2i.project_management.exception.PreconditionFailedException;
 import com.i2i.project_management.exception.ValidationException;
 import com.i2i.project_management.model.Project;
-import com.i2i.project_management.model.User;
 import com.i2i.project_management.repository.ProjectRepository;
 import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.repository.projection.MemberSummary;
+import com.i2i.project_management.repository.projection.ProjectSummary;
+import com.i2i.project_management.repository.projection.UserRoleRow;
+import com.i2i.project_management.search.SearchIndex;
+import com.i2i.project_management.search.SearchQuery;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
-import java.util.HashSet;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -37,11 +67,21 @@ class ProjectServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private OutboxRecorder outboxRecorder;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private SearchIndex searchIndex;
+
     private ProjectServiceImpl projectService;
 
     @BeforeEach
     void setUp() {
-        projectService = new ProjectServiceImpl(projectRepository, userRepository);
+        projectService = new ProjectServiceImpl(projectRepository, userRepository, new SyncCutoff(Duration.ZERO), outboxRecorder,
+                eventPublisher, searchIndex);
     }
 
     @Test
@@ -68,6 +108,21 @@ class ProjectServiceImplTest {
         assertEquals(persistedProject.getId(), result.getId());
         assertEquals(request.getName(), result.getName());
         assertEquals(request.getDescription(), result.getDescription());
+        verify(outboxRecorder, times(1)).record(DomainEventType.PROJECT_CREATED, persistedProject.getId(), result);
+    }
+
+    @Test
+    void createProject_shouldStartActive_whenActiveNotGiven() throws ValidationException, DatabaseException {
+        ProjectDto request = new ProjectDto();
+        request.setName("New Project");
+        when(projectRepository.save(any(Project.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ProjectDto result = projectService.createProject(request);
+
+        ArgumentCaptor<Project> saved = ArgumentCaptor.forClass(Project.class);
+        verify(projectRepository, times(1)).save(saved.capture());
+        assertTrue(saved.getValue().isActive());
+        assertEquals(Boolean.TRUE, result.getActive());
     }
 
     @Test
@@ -93,7 +148,8 @@ class ProjectServiceImplTest {
     }
 
     @Test
-    void updateProject_shouldPersistChanges_whenValidPayload() throws ValidationException, NotFoundException, DatabaseException {
+    void updateProject_shouldPersistChanges_whenValidPayload()
+            throws ValidationException, NotFoundException, DatabaseException, PreconditionFailedException {
         //arrange
         UUID projectId = UUID.randomUUID();
         UpdateProjectDto updateDto = new UpdateProjectDto();
@@ -106,17 +162,94 @@ class ProjectServiceImplTest {
                 .description("Old desc")
                 .build();
 
+        UUID memberId = UUID.randomUUID();
         when(projectRepository.findProjectById(projectId)).thenReturn(java.util.Optional.of(existing));
-        when(projectRepository.save(existing)).thenReturn(existing);
+        when(projectRepository.saveAndFlush(existing)).thenReturn(existing);
+        when(userRepository.findIdsOfProjectMembers(projectId)).thenReturn(List.of(memberId));
 
         //act
-        ProjectDto result = projectService.updateProject(projectId, updateDto);
+        ProjectDto result = projectService.updateProject(projectId, updateDto, null);
 
         //assert
         verify(projectRepository, times(1)).findProjectById(projectId);
-        verify(projectRepository, times(1)).save(existing);
+        verify(projectRepository, times(1)).saveAndFlush(existing);
         assertEquals("Updated", result.getName());
         assertEquals("New desc", result.getDescription());
+        verify(userRepository, times(1)).incrementVersionsOfProjectMembers(projectId);
+        verify(eventPublisher, times(1)).publishEvent(ChangeEvent.projectUpdated(projectId, List.of(memberId)));
+    }
+
+    @Test
+    void updateProject_shouldDeactivate_whenOnlyActiveGiven()
+            throws ValidationException, NotFoundException, DatabaseException, PreconditionFailedException {
+        UUID projectId = UUID.randomUUID();
+        UpdateProjectDto updateDto = new UpdateProjectDto();
+        updateDto.setActive(false);
+        Project existing = Project.builder()
+                .id(projectId)
+                .name("Old")
+                .isActive(true)
+                .build();
+        when(projectRepository.findProjectById(projectId)).thenReturn(java.util.Optional.of(existing));
+        when(projectRepository.saveAndFlush(existing)).thenReturn(existing);
+
+        ProjectDto result = projectService.updateProject(projectId, updateDto, null);
+
+        assertFalse(existing.isActive());
+        assertEquals(Boolean.FALSE, result.getActive());
+        assertEquals("Old", result.getName());
+    }
+
+    @Test
+    void updateProject_shouldThrowPreconditionFailed_whenVersionDiffers() {
+        UUID projectId = UUID.randomUUID();
+        UpdateProjectDto updateDto = new UpdateProjectDto();
+        updateDto.setName("Name");
+        Project existing = Project.builder().id(projectId).version(3).build();
+        when(projectRepository.findProjectById(projectId)).thenReturn(Optional.of(existing));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> projectService.updateProject(projectId, updateDto, List.of(2L)));
+        verify(projectRepository, times(0)).saveAndFlush(any());
+        verify(userRepository, times(0)).incrementVersionsOfProjectMembers(any());
+    }
+
+    @Test
+    void updateProject_shouldSave_whenAnyExpectedVersionMatches()
+            throws ValidationException, NotFoundException, DatabaseException, PreconditionFailedException {
+        UUID projectId = UUID.randomUUID();
+        UpdateProjectDto updateDto = new UpdateProjectDto();
+        updateDto.setName("Name");
+        Project existing = Project.builder().id(projectId).version(3).build();
+        when(projectRepository.findProjectById(projectId)).thenReturn(Optional.of(existing));
+        when(projectRepository.saveAndFlush(existing)).thenReturn(existing);
+
+        projectService.updateProject(projectId, updateDto, List.of(2L, 3L));
+
+        verify(projectRepository, times(1)).saveAndFlush(existing);
+    }
+
+    @Test
+    void updateProject_shouldRethrowOptimisticLockFailure_whenConcurrentWriteWins() {
+        UUID projectId = UUID.randomUUID();
+        UpdateProjectDto updateDto = new UpdateProjectDto();
+        updateDto.setName("Name");
+        Project existing = Project.builder().id(projectId).build();
+        when(projectRepository.findProjectById(projectId)).thenReturn(Optional.of(existing));
+        when(projectRepository.saveAndFlush(existing))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Project.class, projectId));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> projectService.updateProject(projectId, updateDto, null));
+    }
+
+    @Test
+    void findVersionById_shouldThrowNotFound_whenProjectMissing() {
+        UUID projectId = UUID.randomUUID();
+        when(projectRepository.findVersionById(projectId)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> projectService.findVersionById(projectId));
+        verify(projectRepository, times(0)).findProjectById(any());
     }
 
     @Test
@@ -124,7 +257,7 @@ class ProjectServiceImplTest {
         UUID projectId = UUID.randomUUID();
         UpdateProjectDto updateDto = new UpdateProjectDto();
 
-        assertThrows(ValidationException.class, () -> projectService.updateProject(projectId, updateDto));
+        assertThrows(ValidationException.class, () -> projectService.updateProject(projectId, updateDto, null));
         verify(projectRepository, times(0)).findProjectById(projectId);
     }
 
@@ -135,7 +268,7 @@ class ProjectServiceImplTest {
         updateDto.setName("Name");
         when(projectRepository.findProjectById(projectId)).thenReturn(java.util.Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> projectService.updateProject(projectId, updateDto));
+        assertThrows(NotFoundException.class, () -> projectService.updateProject(projectId, updateDto, null));
         verify(projectRepository, times(1)).findProjectById(projectId);
     }
 
@@ -147,10 +280,10 @@ class ProjectServiceImplTest {
 
         Project existing = Project.builder().id(projectId).build();
         when(projectRepository.findProjectById(projectId)).thenReturn(Optional.of(existing));
-        when(projectRepository.save(existing)).thenThrow(new RuntimeException("db down"));
+        when(projectRepository.saveAndFlush(existing)).thenThrow(new RuntimeException("db down"));
 
-        assertThrows(DatabaseException.class, () -> projectService.updateProject(projectId, updateDto));
-        verify(projectRepository, times(1)).save(existing);
+        assertThrows(DatabaseException.class, () -> projectService.updateProject(projectId, updateDto, null));
+        verify(projectRepository, times(1)).saveAndFlush(existing);
     }
 
     @Test
@@ -194,27 +327,302 @@ class ProjectServiceImplTest {
     }
 
     @Test
-    void findAllProjects_shouldReturnList() throws DatabaseException {
+    void findAllProjects_shouldReturnFirstPage_whenCursorMissing() throws ValidationException, DatabaseException {
         Project project = Project.builder()
                 .id(UUID.randomUUID())
                 .name("Project")
                 .description("Desc")
                 .build();
-        when(projectRepository.findAllProjects()).thenReturn(java.util.List.of(project));
+        when(projectRepository.findFirstProjectsPage(any())).thenReturn(List.of(project));
+
+        var result = projectService.findAllProjects(null, null);
+
+        assertEquals(1, result.getItems().size());
+        assertEquals(project.getId(), result.getItems().get(0).getId());
+        assertNull(result.getNextCursor());
+        verify(projectRepository, times(1)).findFirstProjectsPage(any());
+    }
 
-        var result = projectService.findAllProjects();
+    @Test
+    void findAllProjects_shouldReturnNextCursor_whenMoreRowsExist() throws ValidationException, DatabaseException {
+        UUID cursor = UUID.randomUUID();
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            projects.add(Project.builder().id(UUID.randomUUID()).name("Project " + i).build());
+        }
+        when(projectRepository.findProjectsPageAfter(eq(cursor), any())).thenReturn(projects);
+
+        var result = projectService.findAllProjects(cursor, 2);
+
+        assertEquals(2, result.getItems().size());
+        assertEquals(projects.get(1).getId(), result.getNextCursor());
+    }
 
-        assertEquals(1, result.size());
-        assertEquals(project.getId(), result.get(0).getId());
-        verify(projectRepository, times(1)).findAllProjects();
+    @Test
+    void findAllProjects_shouldThrowValidation_whenSizeNotPositive() {
+        assertThrows(ValidationException.class, () -> projectService.findAllProjects(null, 0));
+        verify(projectRepository, times(0)).findFirstProjectsPage(any());
     }
 
     @Test
     void findAllProjects_shouldWrapDatabaseException_whenRepositoryFails() {
-        when(projectRepository.findAllProjects()).thenThrow(new RuntimeException("db"));
+        when(projectRepository.findFirstProjectsPage(any())).thenThrow(new RuntimeException("db"));
+
+        assertThrows(DatabaseException.class, () -> projectService.findAllProjects(null, null));
+        verify(projectRepository, times(1)).findFirstProjectsPage(any());
+    }
+
+    @Test
+    void findMembers_shouldCountOnFirstPage_andAttachRolesOfPageOnly()
+            throws ValidationException, NotFoundException, DatabaseException {
+        UUID projectId = UUID.randomUUID();
+        List<UUID> memberIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        // The third row only signals that another page exists.
+        List<MemberSummary> members = List.of(memberSummary(memberIds.get(0)), memberSummary(memberIds.get(1)),
+                mock(MemberSummary.class));
+        UserRoleRow role = mock(UserRoleRow.class);
+        when(role.getUserId()).thenReturn(memberIds.get(1));
+        when(role.getName()).thenReturn("EMPLOYEE");
+        when(projectRepository.countActiveMembers(projectId)).thenReturn(Optional.of(7L));
+        when(projectRepository.findFirstMembersPage(projectId, Limit.of(3))).thenReturn(members);
+        when(userRepository.findUserRoles(memberIds)).thenReturn(List.of(role));
+
+        var result = projectService.findMembers(projectId, null, 2);
+
+        assertEquals(7L, result.getMemberCount());
+        assertEquals(memberIds.get(1), result.getNextCursor());
+        assertEquals(List.of(), result.getItems().get(0).getRoles());
+        assertEquals("EMPLOYEE", result.getItems().get(1).getRoles().get(0).getName());
+    }
+
+    @Test
+    void findMembers_shouldSkipCountAndRoles_onEmptyLaterPage()
+            throws ValidationException, NotFoundException, DatabaseException {
+        UUID projectId = UUID.randomUUID();
+        UUID cursor = UUID.randomUUID();
+        when(projectRepository.findMembersPageAfter(eq(projectId), eq(cursor), any())).thenReturn(List.of());
+
+        var result = projectService.findMembers(projectId, cursor, null);
+
+        assertTrue(result.getItems().isEmpty());
+        assertNull(result.getNextCursor());
+        assertNull(result.getMemberCount());
+        verify(projectRepository, never()).countActiveMembers(any());
+        verify(userRepository, never()).findUserRoles(any());
+    }
+
+    @Test
+    void findMembers_shouldThrowNotFound_whenProjectMissing() {
+        UUID projectId = UUID.randomUUID();
+        when(projectRepository.countActiveMembers(projectId)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> projectService.findMembers(projectId, null, null));
+        verify(projectRepository, never()).findFirstMembersPage(any(), any());
+    }
+
+    @Test
+    void findMembers_shouldWrapDatabaseException_whenRepositoryFails() {
+        when(projectRepository.countActiveMembers(any())).thenThrow(new RuntimeException("db"));
+
+        assertThrows(DatabaseException.class, () -> projectService.findMembers(UUID.randomUUID(), null, null));
+    }
+
+    @Test
+    void findProjectsOfMember_shouldPageThroughMembership() throws ValidationException, DatabaseException {
+        UUID userId = UUID.randomUUID();
+        UUID cursor = UUID.randomUUID();
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            projects.add(Project.builder().id(UUID.randomUUID()).name("Project " + i).build());
+        }
+        when(projectRepository.findFirstMemberProjectsPage(userId, Limit.of(3))).thenReturn(projects.subList(0, 1));
+        when(projectRepository.findMemberProjectsPageAfter(userId, cursor, Limit.of(3))).thenReturn(projects);
+
+        var first = projectService.findProjectsOfMember(userId, null, 2);
+        var next = projectService.findProjectsOfMember(userId, cursor, 2);
+
+        assertEquals(1, first.getItems().size());
+        assertNull(first.getNextCursor());
+        assertEquals(2, next.getItems().size());
+        assertEquals(projects.get(1).getId(), next.getNextCursor());
+    }
+
+    @Test
+    void findProjectsOfMember_shouldThrowValidation_whenUserMissingOrSizeNotPositive() {
+        assertThrows(ValidationException.class, () -> projectService.findProjectsOfMember(null, null, null));
+        assertThrows(ValidationException.class,
+                () -> projectService.findProjectsOfMember(UUID.randomUUID(), null, 0));
+        verify(projectRepository, never()).findFirstMemberProjectsPage(any(), any());
+    }
+
+    @Test
+    void findProjectsOfMember_shouldWrapDatabaseException_whenRepositoryFails() {
+        when(projectRepository.findFirstMemberProjectsPage(any(), any())).thenThrow(new RuntimeException("db"));
+
+        assertThrows(DatabaseException.class,
+                () -> projectService.findProjectsOfMember(UUID.randomUUID(), null, null));
+    }
+
+    @Test
+    void queryProjects_shouldReturnCursor_thatOnlyResumesTheSameSort() throws ValidationException, DatabaseException {
+        List<Project> projects = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            projects.add(Project.builder().id(UUID.randomUUID()).name("Project " + i)
+                    .updatedAt(Instant.parse("2026-01-01T00:00:00Z").plusSeconds(i)).build());
+        }
+        when(projectRepository.findBy(any(Specification.class), any())).thenReturn(projects);
+
+        var result = projectService.queryProjects(true, UUID.randomUUID(), "proj", "-updatedAt", null, 2);
+
+        assertEquals(List.of(projects.get(0).getId(), projects.get(1).getId()),
+                result.getItems().stream().map(ProjectDto::getId).toList());
+        assertNotNull(result.getNextCursor());
+        assertEquals(2, projectService.queryProjects(null, null, null, "-updatedAt", result.getNextCursor(), 2)
+                .getItems().size());
+        assertThrows(ValidationException.class,
+                () -> projectService.queryProjects(null, null, null, "name", result.getNextCursor(), 2));
+    }
+
+    @Test
+    void queryProjects_shouldOmitCursor_onLastPage() throws ValidationException, DatabaseException {
+        Project project = Project.builder().id(UUID.randomUUID()).name("Project").build();
+        when(projectRepository.findBy(any(Specification.class), any())).thenReturn(List.of(project));
+
+        var result = projectService.queryProjects(null, null, "  ", null, null, null);
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void queryProjects_shouldThrowValidation_forUnknownSortMalformedCursorOrBadSize() {
+        assertThrows(ValidationException.class,
+                () -> projectService.queryProjects(null, null, null, "description", null, null));
+        assertThrows(ValidationException.class,
+                () -> projectService.queryProjects(null, null, null, "name", "not-a-cursor", null));
+        assertThrows(ValidationException.class,
+                () -> projectService.queryProjects(null, null, null, null, null, 0));
+        verify(projectRepository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void queryProjects_shouldWrapDatabaseException_whenRepositoryFails() {
+        when(projectRepository.findBy(any(Specification.class), any())).thenThrow(new RuntimeException("db"));
+
+        assertThrows(DatabaseException.class,
+                () -> projectService.queryProjects(false, null, null, "name", null, null));
+    }
+
+    @Test
+    void searchProjects_shouldMatchLongWordsAsPrefixes_andReportNextPage()
+            throws ValidationException, DatabaseException {
+        List<ProjectDto> found = List.of(projectDto(UUID.randomUUID()), projectDto(UUID.randomUUID()),
+                projectDto(UUID.randomUUID()));
+        when(searchIndex.searchProjects(new SearchQuery("proj:* & al & pha:*", "proj al pha"), 2, 3))
+                .thenReturn(found);
+
+        SearchPageDto<ProjectDto> page = projectService.searchProjects(" Proj al-PHA! proj ", 1, 2);
+
+        assertEquals(found.subList(0, 2), page.getItems());
+        assertEquals(1, page.getPage());
+        assertTrue(page.isHasNext());
+    }
+
+    @Test
+    void searchProjects_shouldStopAtMaxResults() throws ValidationException, DatabaseException {
+        int lastPage = SearchQuery.MAX_RESULTS / ProjectServiceImpl.MAX_PAGE_SIZE - 1;
+        when(searchIndex.searchProjects(SearchQuery.parse("alpha"), lastPage * ProjectServiceImpl.MAX_PAGE_SIZE,
+                ProjectServiceImpl.MAX_PAGE_SIZE)).thenReturn(List.of());
+
+        assertFalse(projectService.searchProjects("alpha", lastPage, 1_000).isHasNext());
+        assertThrows(ValidationException.class, () -> projectService.searchProjects("alpha", lastPage + 1, 1_000));
+    }
 
-        assertThrows(DatabaseException.class, () -> projectService.findAllProjects());
-        verify(projectRepository, times(1)).findAllProjects();
+    @Test
+    void searchProjects_shouldThrowValidation_whenTextHasNoWords() {
+        assertThrows(ValidationException.class, () -> projectService.searchProjects(null, null, null));
+        assertThrows(ValidationException.class, () -> projectService.searchProjects(" -*& ", null, null));
+        assertThrows(ValidationException.class, () -> projectService.searchProjects("alpha", -1, null));
+        verify(searchIndex, never()).searchProjects(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void searchProjects_shouldWrapDatabaseException_whenIndexFails() throws ValidationException {
+        when(searchIndex.searchProjects(SearchQuery.parse("alpha"), 0, 51)).thenThrow(new RuntimeException("db"));
+
+        assertThrows(DatabaseException.class, () -> projectService.searchProjects("alpha", null, null));
+    }
+
+    @Test
+    void streamAllProjects_shouldWalkKeysetBatches_untilShortBatch() throws DatabaseException {
+        List<Project> firstBatch = new ArrayList<>();
+        for (int i = 0; i < ProjectServiceImpl.STREAM_BATCH_SIZE; i++) {
+            firstBatch.add(Project.builder().id(UUID.randomUUID()).name("Project " + i).build());
+        }
+        Project last = Project.builder().id(UUID.randomUUID()).name("Last").build();
+        UUID cursor = firstBatch.get(firstBatch.size() - 1).getId();
+        when(projectRepository.findFirstProjectsPage(any())).thenReturn(firstBatch);
+        when(projectRepository.findProjectsPageAfter(eq(cursor), any())).thenReturn(List.of(last));
+        List<ProjectDto> emitted = new ArrayList<>();
+
+        projectService.streamAllProjects(emitted::add);
+
+        assertEquals(ProjectServiceImpl.STREAM_BATCH_SIZE + 1, emitted.size());
+        assertEquals(firstBatch.get(0).getId(), emitted.get(0).getId());
+        assertEquals(last.getId(), emitted.get(emitted.size() - 1).getId());
+        verify(projectRepository, times(1)).findProjectsPageAfter(any(), any());
+    }
+
+    @Test
+    void streamAllProjects_shouldStopAfterFirstQuery_whenBatchIsShort() throws DatabaseException {
+        Project only = Project.builder().id(UUID.randomUUID()).name("Only").build();
+        when(projectRepository.findFirstProjectsPage(any())).thenReturn(List.of(only));
+        List<ProjectDto> emitted = new ArrayList<>();
+
+        projectService.streamAllProjects(emitted::add);
+
+        assertEquals(1, emitted.size());
+        verify(projectRepository, times(0)).findProjectsPageAfter(any(), any());
+    }
+
+    @Test
+    void findProjectChanges_shouldSplitOffTombstones_andAdvanceWatermark()
+            throws ValidationException, DatabaseException {
+        Instant updatedAt = Instant.parse("2026-01-01T00:00:00Z");
+        Project live = Project.builder().id(UUID.randomUUID()).name("Live").updatedAt(updatedAt).build();
+        Project gone = Project.builder().id(UUID.randomUUID()).name("Gone").isDeleted(true)
+                .updatedAt(updatedAt.plusSeconds(1)).build();
+        Project nextPage = Project.builder().id(UUID.randomUUID()).name("Next").updatedAt(updatedAt.plusSeconds(2)).build();
+        when(projectRepository.findChangedSince(eq(Instant.EPOCH), eq(new UUID(0, 0)), any(), eq(Limit.of(3))))
+                .thenReturn(List.of(live, gone, nextPage));
+
+        ChangeFeedDto<ProjectDto> page = projectService.findProjectChanges(null, 2);
+
+        assertEquals(List.of(live.getId()), page.getUpdated().stream().map(ProjectDto::getId).toList());
+        assertEquals(List.of(new TombstoneDto(gone.getId(), gone.getUpdatedAt())), page.getDeleted());
+        assertTrue(page.isHasMore());
+        assertEquals(new SyncWatermark(gone.getUpdatedAt(), gone.getId()), SyncWatermark.parse(page.getWatermark()));
+    }
+
+    @Test
+    void findProjectChanges_shouldResumeFromWatermark_andKeepIt_whenNothingChanged()
+            throws ValidationException, DatabaseException {
+        SyncWatermark watermark = new SyncWatermark(Instant.parse("2026-01-01T00:00:00Z"), UUID.randomUUID());
+        when(projectRepository.findChangedSince(eq(watermark.updatedAt()), eq(watermark.id()), any(), any()))
+                .thenReturn(List.of());
+
+        ChangeFeedDto<ProjectDto> page = projectService.findProjectChanges(watermark.encode(), null);
+
+        assertTrue(page.getUpdated().isEmpty());
+        assertTrue(page.getDeleted().isEmpty());
+        assertFalse(page.isHasMore());
+        assertEquals(watermark.encode(), page.getWatermark());
+    }
+
+    @Test
+    void findProjectChanges_shouldThrowValidation_whenWatermarkMalformed() {
+        assertThrows(ValidationException.class, () -> projectService.findProjectChanges("not a watermark", null));
+        verify(projectRepository, times(0)).findChangedSince(any(), any(), any(), any());
     }
 
     @Test
@@ -226,40 +634,54 @@ class ProjectServiceImplTest {
     @Test
     void delete_shouldDelegateToRepository() throws ValidationException, DatabaseException {
         UUID projectId = UUID.randomUUID();
+        UUID memberId = UUID.randomUUID();
+        when(projectRepository.deleteProject(projectId)).thenReturn(1);
+        when(userRepository.findIdsOfProjectMembers(projectId)).thenReturn(List.of(memberId));
 
         projectService.delete(projectId);
 
         verify(projectRepository, times(1)).deleteProject(projectId);
+        verify(eventPublisher, times(1)).publishEvent(ChangeEvent.projectDeleted(projectId, List.of(memberId)));
+    }
+
+    @Test
+    void delete_shouldDoNothing_whenAlreadyDeleted() throws ValidationException, DatabaseException {
+        UUID projectId = UUID.randomUUID();
+        when(projectRepository.deleteProject(projectId)).thenReturn(0);
+
+        projectService.delete(projectId);
+
+        verify(userRepository, never()).incrementVersionsOfProjectMembers(projectId);
+        verify(outboxRecorder, never()).record(any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
     }
 
     @Test
     void delete_shouldWrapDatabaseException_whenRepositoryFails() {
         UUID projectId = UUID.randomUUID();
-        doThrow(new RuntimeException("db")).when(projectRepository).deleteProject(projectId);
+        when(projectRepository.deleteProject(projectId)).thenThrow(new RuntimeException("db"));
 
         assertThrows(DatabaseException.class, () -> projectService.delete(projectId));
         verify(projectRepository, times(1)).deleteProject(projectId);
     }
 
     @Test
-    void assignProjectToEmployee_shouldAddUser_whenNotPresent() throws ValidationException, NotFoundException, DatabaseException {
+    void assignProjectToEmployee_shouldInsertMembership_whenNotPresent() throws ValidationException, NotFoundException, DatabaseException {
         UUID projectId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
+        ProjectSummary summary = projectSummary(projectId, 3L);
 
-        Project project = Project.builder()
-                .id(projectId)
-                .users(new HashSet<>())
-                .build();
-        User user = User.builder().id(userId).build();
-
-        when(projectRepository.findProjectById(projectId)).thenReturn(Optional.of(project));
-        when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
-        when(projectRepository.save(project)).thenReturn(project);
+        when(projectRepository.existsActiveById(projectId)).thenReturn(true);
+        when(userRepository.existsActiveById(userId)).thenReturn(true);
+        when(projectRepository.addMember(projectId, userId)).thenReturn(1);
+        when(projectRepository.findProjectSummaryById(projectId)).thenReturn(Optional.of(summary));
 
         ProjectDto result = projectService.assignProjectToEmployee(projectId, userId);
 
         assertEquals(projectId, result.getId());
-        verify(projectRepository, times(1)).save(project);
+        assertEquals(3L, result.getMemberCount());
+        verify(projectRepository, times(1)).addMember(projectId, userId);
+        verify(projectRepository, times(0)).save(any(Project.class));
     }
 
     @Test
@@ -267,62 +689,72 @@ class ProjectServiceImplTest {
         UUID projectId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
 
-        User user = User.builder().id(userId).build();
-        Project project = Project.builder()
-                .id(projectId)
-                .users(new HashSet<>(java.util.List.of(user)))
-                .build();
-
-        when(projectRepository.findProjectById(projectId)).thenReturn(Optional.of(project));
-        when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
+        when(projectRepository.existsActiveById(projectId)).thenReturn(true);
+        when(userRepository.existsActiveById(userId)).thenReturn(true);
+        when(projectRepository.addMember(projectId, userId)).thenReturn(0);
 
         assertThrows(ValidationException.class, () -> projectService.assignProjectToEmployee(projectId, userId));
-        verify(projectRepository, times(0)).save(any(Project.class));
+        verify(projectRepository, times(0)).findProjectSummaryById(any());
+    }
+
+    @Test
+    void assignProjectToEmployee_shouldThrowNotFound_whenProjectMissing() {
+        UUID projectId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+
+        when(projectRepository.existsActiveById(projectId)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> projectService.assignProjectToEmployee(projectId, userId));
+        verify(projectRepository, times(0)).addMember(any(), any());
+    }
+
+    @Test
+    void assignProjectToEmployee_shouldThrowNotFound_whenUserMissing() {
+        UUID projectId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+
+        when(projectRepository.existsActiveById(projectId)).thenReturn(true);
+        when(userRepository.existsActiveById(userId)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> projectService.assignProjectToEmployee(projectId, userId));
+        verify(projectRepository, times(0)).addMember(any(), any());
     }
 
     @Test
     void assignProjectToEmployee_shouldThrowValidation_whenIdsNull() {
         assertThrows(ValidationException.class, () -> projectService.assignProjectToEmployee(null, null));
-        verify(projectRepository, times(0)).findProjectById(any());
+        verify(projectRepository, times(0)).existsActiveById(any());
     }
 
     @Test
-    void assignProjectToEmployee_shouldWrapDatabaseException_whenSaveFails() {
+    void assignProjectToEmployee_shouldWrapDatabaseException_whenInsertFails() {
         UUID projectId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
-        Project project = Project.builder()
-                .id(projectId)
-                .users(new HashSet<>())
-                .build();
-        User user = User.builder().id(userId).build();
 
-        when(projectRepository.findProjectById(projectId)).thenReturn(Optional.of(project));
-        when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
-        when(projectRepository.save(project)).thenThrow(new RuntimeException("db"));
+        when(projectRepository.existsActiveById(projectId)).thenReturn(true);
+        when(userRepository.existsActiveById(userId)).thenReturn(true);
+        when(projectRepository.addMember(projectId, userId)).thenThrow(new RuntimeException("db"));
 
         assertThrows(DatabaseException.class, () -> projectService.assignProjectToEmployee(projectId, userId));
-        verify(projectRepository, times(1)).save(project);
+        verify(projectRepository, times(1)).addMember(projectId, userId);
     }
 
     @Test
-    void removeProjectFromEmployee_shouldRemoveUser_whenPresent() throws ValidationException, NotFoundException, DatabaseException {
+    void removeProjectFromEmployee_shouldDeleteMembership_whenPresent() throws ValidationException, NotFoundException, DatabaseException {
         UUID projectId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
+        ProjectSummary summary = projectSummary(projectId, 0L);
 
-        User user = User.builder().id(userId).build();
-        Project project = Project.builder()
-                .id(projectId)
-                .users(new HashSet<>(java.util.List.of(user)))
-                .build();
-
-        when(projectRepository.findProjectById(projectId)).thenReturn(Optional.of(project));
-        when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
-        when(projectRepository.save(project)).thenReturn(project);
+        when(projectRepository.existsActiveById(projectId)).thenReturn(true);
+        when(userRepository.existsActiveById(userId)).thenReturn(true);
+        when(projectRepository.removeMember(projectId, userId)).thenReturn(1);
+        when(projectRepository.findProjectSummaryById(projectId)).thenReturn(Optional.of(summary));
 
         ProjectDto result = projectService.removeProjectFromEmployee(projectId, userId);
 
         assertEquals(projectId, result.getId());
-        verify(projectRepository, times(1)).save(project);
+        assertEquals(0L, result.getMemberCount());
+        verify(projectRepository, times(1)).removeMember(projectId, userId);
     }
 
     @Test
@@ -330,44 +762,141 @@ class ProjectServiceImplTest {
         UUID projectId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
 
-        Project project = Project.builder()
-                .id(projectId)
-                .users(new HashSet<>())
-                .build();
-
-        when(projectRepository.findProjectById(projectId)).thenReturn(Optional.of(project));
-        when(userRepository.findUserById(userId)).thenReturn(Optional.of(User.builder().id(userId).build()));
+        when(projectRepository.existsActiveById(projectId)).thenReturn(true);
+        when(userRepository.existsActiveById(userId)).thenReturn(true);
+        when(projectRepository.removeMember(projectId, userId)).thenReturn(0);
 
         assertThrows(ValidationException.class, () -> projectService.removeProjectFromEmployee(projectId, userId));
-        verify(projectRepository, times(0)).save(any(Project.class));
+        verify(projectRepository, times(0)).findProjectSummaryById(any());
     }
 
     @Test
     void removeProjectFromEmployee_shouldThrowValidation_whenIdsNull() {
         assertThrows(ValidationException.class, () -> projectService.removeProjectFromEmployee(null, null));
-        verify(projectRepository, times(0)).findProjectById(any());
+        verify(projectRepository, times(0)).existsActiveById(any());
     }
 
     @Test
-    void removeProjectFromEmployee_shouldWrapDatabaseException_whenSaveFails() {
+    void removeProjectFromEmployee_shouldWrapDatabaseException_whenDeleteFails() {
         UUID projectId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
 
-        User user = User.builder().id(userId).build();
-        Project project = Project.builder()
-                .id(projectId)
-                .users(new HashSet<>(java.util.List.of(user)))
-                .build();
-
-        when(projectRepository.findProjectById(projectId)).thenReturn(Optional.of(project));
-        when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
-        when(projectRepository.save(project)).thenThrow(new RuntimeException("db"));
+        when(projectRepository.existsActiveById(projectId)).thenReturn(true);
+        when(userRepository.existsActiveById(userId)).thenReturn(true);
+        when(projectRepository.removeMember(projectId, userId)).thenThrow(new RuntimeException("db"));
 
         assertThrows(DatabaseException.class, () -> projectService.removeProjectFromEmployee(projectId, userId));
-        verify(projectRepository, times(1)).save(project);
+        verify(projectRepository, times(1)).removeMember(projectId, userId);
+    }
+
+    @Test
+    void assignUsersToProject_shouldBatchInsertAndReportOutcomes() throws ValidationException, NotFoundException, DatabaseException {
+        UUID projectId = UUID.randomUUID();
+        UUID newMember = UUID.randomUUID();
+        UUID existingMember = UUID.randomUUID();
+        UUID unknownUser = UUID.randomUUID();
+        List<UUID> userIds = List.of(newMember, existingMember, unknownUser, newMember);
+
+        when(projectRepository.existsActiveById(projectId)).thenReturn(true);
+        when(projectRepository.findMembershipCandidates(projectId, List.of(newMember, existingMember, unknownUser)))
+                .thenReturn(Map.of(newMember, false, existingMember, true));
+        when(projectRepository.batchAddMembers(projectId, List.of(newMember))).thenReturn(new int[]{1});
+
+        BulkMembershipResultDto result = projectService.assignUsersToProject(projectId, userIds);
+
+        assertEquals(1, result.getChanged());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(1, result.getNotFound());
+        assertEquals(List.of(
+                new MembershipOutcomeDto(newMember, Outcome.ASSIGNED),
+                new MembershipOutcomeDto(existingMember, Outcome.ALREADY_MEMBER),
+                new MembershipOutcomeDto(unknownUser, Outcome.USER_NOT_FOUND)
+        ), result.getOutcomes());
+        verify(outboxRecorder, times(1)).record(DomainEventType.PROJECT_MEMBERS_ADDED, projectId,
+                Map.of("userIds", Set.of(newMember)));
+        verify(eventPublisher, times(1)).publishEvent(ChangeEvent.membersAdded(projectId, List.of(newMember)));
     }
 
+    @Test
+    void assignUsersToProject_shouldReportAlreadyMember_whenConcurrentInsertWon() throws ValidationException, NotFoundException, DatabaseException {
+        UUID projectId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
 
+        when(projectRepository.existsActiveById(projectId)).thenReturn(true);
+        when(projectRepository.findMembershipCandidates(projectId, List.of(userId))).thenReturn(Map.of(userId, false));
+        when(projectRepository.batchAddMembers(projectId, List.of(userId))).thenReturn(new int[]{0});
 
-}
+        BulkMembershipResultDto result = projectService.assignUsersToProject(projectId, List.of(userId));
+
+        assertEquals(0, result.getChanged());
+        assertEquals(Outcome.ALREADY_MEMBER, result.getOutcomes().get(0).getOutcome());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        verify(outboxRecorder, never()).record(any(), any(), any());
+    }
 
+    @Test
+    void assignUsersToProject_shouldThrowNotFound_whenProjectMissing() {
+        UUID projectId = UUID.randomUUID();
+        when(projectRepository.existsActiveById(projectId)).thenReturn(false);
+
+        assertThrows(NotFoundException.class,
+                () -> projectService.assignUsersToProject(projectId, List.of(UUID.randomUUID())));
+        verify(projectRepository, times(0)).batchAddMembers(any(), any());
+    }
+
+    @Test
+    void assignUsersToProject_shouldThrowValidation_whenEmpty() {
+        assertThrows(ValidationException.class,
+                () -> projectService.assignUsersToProject(UUID.randomUUID(), List.of()));
+        verify(projectRepository, times(0)).existsActiveById(any());
+    }
+
+    @Test
+    void removeUsersFromProject_shouldBatchDeleteMembersOnly() throws ValidationException, NotFoundException, DatabaseException {
+        UUID projectId = UUID.randomUUID();
+        UUID member = UUID.randomUUID();
+        UUID nonMember = UUID.randomUUID();
+
+        when(projectRepository.existsActiveById(projectId)).thenReturn(true);
+        when(projectRepository.findMembershipCandidates(projectId, List.of(member, nonMember)))
+                .thenReturn(Map.of(member, true, nonMember, false));
+        when(projectRepository.batchRemoveMembers(projectId, List.of(member))).thenReturn(new int[]{1});
+
+        BulkMembershipResultDto result = projectService.removeUsersFromProject(projectId, List.of(member, nonMember));
+
+        assertEquals(1, result.getChanged());
+        assertEquals(Outcome.REMOVED, result.getOutcomes().get(0).getOutcome());
+        assertEquals(Outcome.NOT_MEMBER, result.getOutcomes().get(1).getOutcome());
+    }
+
+    @Test
+    void removeUsersFromProject_shouldWrapDatabaseException_whenBatchFails() {
+        UUID projectId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+
+        when(projectRepository.existsActiveById(projectId)).thenReturn(true);
+        when(projectRepository.findMembershipCandidates(projectId, List.of(userId))).thenReturn(Map.of(userId, true));
+        when(projectRepository.batchRemoveMembers(projectId, List.of(userId))).thenThrow(new RuntimeException("db"));
+
+        assertThrows(DatabaseException.class, () -> projectService.removeUsersFromProject(projectId, List.of(userId)));
+    }
+
+    private ProjectDto projectDto(UUID projectId) {
+        ProjectDto projectDto = new ProjectDto();
+        projectDto.setId(projectId);
+        return projectDto;
+    }
+
+    private ProjectSummary projectSummary(UUID projectId, long memberCount) {
+        ProjectSummary summary = mock(ProjectSummary.class);
+        when(summary.getId()).thenReturn(projectId);
+        when(summary.getMemberCount()).thenReturn(memberCount);
+        return summary;
+    }
+
+    private MemberSummary memberSummary(UUID id) {
+        MemberSummary member = mock(MemberSummary.class);
+        when(member.getId()).thenReturn(id);
+        return member;
+    }
+}
@@ -1,29 +1,45 @@
 package com.i2i.project_management.service.impl;
 
+import com.i2i.project_management.Dto.BulkRoleResultDto;
 import com.i2i.project_management.Dto.RoleDto;
 import com.i2i.project_management.Dto.UserDto;
+import com.i2i.project_management.event.ChangeEvent;
+import com.i2i.project_management.event.DomainEventType;
+import com.i2i.project_management.event.OutboxRecorder;
 import com.i2i.project_management.exception.DatabaseException;
 import com.i2i.project_management.exception.NotFoundException;
 import com.i2i.project_management.exception.ValidationException;
 import com.i2i.project_management.model.Role;
 import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.RoleAssignmentRepository.RoleAssignmentCandidate;
 import com.i2i.project_management.repository.RoleRepository;
 import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.security.RoleCatalogue;
+import com.i2i.project_management.security.TokenRevocationRegistry;
+import com.i2i.project_management.security.UserDetailsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -37,11 +53,27 @@ class RoleServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
+    @Mock
+    private OutboxRecorder outboxRecorder;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private RoleCatalogue roleCatalogue;
+
     private RoleServiceImpl roleService;
 
     @BeforeEach
     void setUp() {
-        roleService = new RoleServiceImpl(roleRepository, userRepository);
+        roleCatalogue = new RoleCatalogue(roleRepository);
+        roleService = new RoleServiceImpl(roleRepository, userRepository, tokenRevocationRegistry, userDetailsCache,
+                roleCatalogue, outboxRecorder, eventPublisher);
     }
 
     @Test
@@ -62,6 +94,31 @@ class RoleServiceImplTest {
         assertNotNull(result);
         assertEquals(saved.getId(), result.getId());
         verify(roleRepository, times(1)).save(any(Role.class));
+        verify(outboxRecorder, times(1)).record(DomainEventType.ROLE_CREATED, saved.getId(), result);
+        assertTrue(roleCatalogue.findByName("admin").isPresent());
+    }
+
+    @Test
+    void createRole_shouldPublishToCatalogueOnlyAfterCommit() throws ValidationException, DatabaseException {
+        RoleDto request = new RoleDto();
+        request.setName("AUDITOR");
+        Role saved = Role.builder()
+                .id(UUID.randomUUID())
+                .name("AUDITOR")
+                .build();
+        when(roleRepository.save(any(Role.class))).thenReturn(saved);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            roleService.createRole(request);
+            assertFalse(roleCatalogue.findByName("auditor").isPresent());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertTrue(roleCatalogue.findByName("auditor").isPresent());
     }
 
     @Test
@@ -95,13 +152,21 @@ class RoleServiceImplTest {
                 .isDeleted(false)
                 .build();
 
+        UUID holderId = UUID.randomUUID();
         when(roleRepository.findRoleById(roleId)).thenReturn(Optional.of(existing));
-        when(roleRepository.save(existing)).thenReturn(existing);
+        when(roleRepository.saveAndFlush(existing)).thenReturn(existing);
+        when(roleRepository.findRoleHolders(roleId))
+                .thenReturn(List.of(new RoleAssignmentCandidate(holderId, "h@i2i.com", 2, true)));
 
         RoleDto result = roleService.updateRole(request);
 
         assertEquals(roleId, result.getId());
-        verify(roleRepository, times(1)).save(existing);
+        verify(roleRepository, times(1)).saveAndFlush(existing);
+        verify(roleRepository, times(1)).incrementTokenVersions(List.of(holderId));
+        verify(tokenRevocationRegistry, times(1)).recordTokenVersion(holderId, 3);
+        verify(userDetailsCache, times(1)).evict("h@i2i.com");
+        assertEquals("EMP", roleCatalogue.findById(roleId).orElseThrow().getName());
+        verify(eventPublisher, times(1)).publishEvent(ChangeEvent.roleUpdated(roleId, List.of(holderId)));
     }
 
     @Test
@@ -132,22 +197,21 @@ class RoleServiceImplTest {
 
         Role existing = Role.builder().id(roleId).build();
         when(roleRepository.findRoleById(roleId)).thenReturn(Optional.of(existing));
-        when(roleRepository.save(existing)).thenThrow(new RuntimeException("db"));
+        when(roleRepository.saveAndFlush(existing)).thenThrow(new RuntimeException("db"));
 
         assertThrows(DatabaseException.class, () -> roleService.updateRole(request));
-        verify(roleRepository, times(1)).save(existing);
+        verify(roleRepository, times(1)).saveAndFlush(existing);
     }
 
     @Test
     void findRoleById_shouldReturnDto_whenFound() throws ValidationException, DatabaseException, NotFoundException {
         UUID roleId = UUID.randomUUID();
-        Role role = Role.builder().id(roleId).build();
-        when(roleRepository.findRoleById(roleId)).thenReturn(Optional.of(role));
+        roleCatalogue.put(Role.builder().id(roleId).name("ADMIN").build());
 
         RoleDto result = roleService.findRoleById(roleId);
 
         assertEquals(roleId, result.getId());
-        verify(roleRepository, times(1)).findRoleById(roleId);
+        verify(roleRepository, times(0)).findRoleById(any());
     }
 
     @Test
@@ -159,55 +223,44 @@ class RoleServiceImplTest {
     @Test
     void findRoleById_shouldThrowValidation_whenNotFoundExceptionReturns() {
         UUID roleId = UUID.randomUUID();
-        when(roleRepository.findRoleById(any())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> roleService.findRoleById(roleId));
-        verify(roleRepository, times(1)).findRoleById(any());
-    }
-
-    @Test
-    void findRoleById_shouldWrapDatabaseException_whenRepositoryFails() {
-        UUID roleId = UUID.randomUUID();
-        when(roleRepository.findRoleById(roleId)).thenThrow(new RuntimeException("db"));
-
-        assertThrows(DatabaseException.class, () -> roleService.findRoleById(roleId));
-        verify(roleRepository, times(1)).findRoleById(roleId);
+        verify(roleRepository, times(0)).findRoleById(any());
     }
 
     @Test
     void findAllRoles_shouldReturnList_whenExists() throws DatabaseException, NotFoundException {
-        Role role = Role.builder().id(UUID.randomUUID()).build();
-        when(roleRepository.findAllRoles()).thenReturn(List.of(role));
+        roleCatalogue.put(Role.builder().id(UUID.randomUUID()).name("ADMIN").build());
 
         List<Role> result = roleService.findAllRoles();
 
         assertEquals(1, result.size());
-        verify(roleRepository, times(1)).findAllRoles();
+        verify(roleRepository, times(0)).findAllRoles();
     }
 
     @Test
     void findAllRoles_shouldThrowNotFound_whenEmpty() {
-        when(roleRepository.findAllRoles()).thenReturn(List.of());
-
         assertThrows(NotFoundException.class, () -> roleService.findAllRoles());
     }
 
-    @Test
-    void findAllRoles_shouldWrapDatabaseException_whenRepositoryFails() {
-        when(roleRepository.findAllRoles()).thenThrow(new RuntimeException("db"));
-
-        assertThrows(DatabaseException.class, () -> roleService.findAllRoles());
-    }
-
     @Test
     void deleteRole_shouldMarkDeleted_whenValid() throws ValidationException, NotFoundException, DatabaseException {
         UUID roleId = UUID.randomUUID();
-        Role role = Role.builder().id(roleId).build();
+        Role role = Role.builder().id(roleId).name("ADMIN").build();
+        UUID holderId = UUID.randomUUID();
+        roleCatalogue.put(role);
         when(roleRepository.findRoleById(roleId)).thenReturn(Optional.of(role));
+        when(roleRepository.findRoleHolders(roleId))
+                .thenReturn(List.of(new RoleAssignmentCandidate(holderId, "h@i2i.com", 0, true)));
 
         roleService.deleteRole(roleId);
 
         verify(roleRepository, times(1)).save(role);
+        verify(roleRepository, times(1)).incrementTokenVersions(List.of(holderId));
+        verify(tokenRevocationRegistry, times(1)).recordTokenVersion(holderId, 1);
+        verify(userDetailsCache, times(1)).evict("h@i2i.com");
+        verify(eventPublisher, times(1)).publishEvent(ChangeEvent.roleDeleted(roleId, List.of(holderId)));
+        assertTrue(roleCatalogue.findById(roleId).isEmpty());
     }
 
     @Test
@@ -242,16 +295,19 @@ class RoleServiceImplTest {
         UUID roleId = UUID.randomUUID();
 
         Role activeRole = Role.builder().id(roleId).isDeleted(false).build();
-        User user = User.builder().id(userId).roles(new HashSet<>()).build();
+        User user = User.builder().id(userId).email("user@i2i.com").roles(new HashSet<>()).build();
 
         when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
-        when(roleRepository.findAllById(List.of(roleId))).thenReturn(List.of(activeRole));
+        roleCatalogue.put(activeRole);
         when(userRepository.save(user)).thenReturn(user);
 
         UserDto result = roleService.assignRolesToUser(List.of(roleId), userId);
 
         assertNotNull(result);
+        assertEquals(1, user.getTokenVersion());
         verify(userRepository, times(1)).save(user);
+        verify(tokenRevocationRegistry, times(1)).recordTokenVersion(userId, 1);
+        verify(userDetailsCache, times(1)).evict("user@i2i.com");
     }
 
     @Test
@@ -267,7 +323,7 @@ class RoleServiceImplTest {
         Role deletedRole = Role.builder().id(roleId).isDeleted(true).build();
 
         when(userRepository.findUserById(userId)).thenReturn(Optional.of(User.builder().id(userId).build()));
-        when(roleRepository.findAllById(List.of(roleId))).thenReturn(List.of(deletedRole));
+        roleCatalogue.put(deletedRole);
 
         assertThrows(ValidationException.class, () -> roleService.assignRolesToUser(List.of(roleId), userId));
     }
@@ -280,11 +336,86 @@ class RoleServiceImplTest {
         User user = User.builder().id(userId).roles(new HashSet<>()).build();
 
         when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
-        when(roleRepository.findAllById(List.of(roleId))).thenReturn(List.of(activeRole));
+        roleCatalogue.put(activeRole);
         when(userRepository.save(user)).thenThrow(new RuntimeException("db"));
 
         assertThrows(DatabaseException.class, () -> roleService.assignRolesToUser(List.of(roleId), userId));
         verify(userRepository, times(1)).save(user);
     }
-}
 
+    @Test
+    void grantRoles_shouldOnlyTouchUsersMissingARole() throws ValidationException, DatabaseException {
+        UUID roleId = UUID.randomUUID();
+        UUID affectedId = UUID.randomUUID();
+        UUID unchangedId = UUID.randomUUID();
+        UUID missingId = UUID.randomUUID();
+        List<UUID> userIds = List.of(affectedId, unchangedId, missingId, affectedId);
+
+        roleCatalogue.put(Role.builder().id(roleId).isDeleted(false).build());
+        when(roleRepository.findGrantCandidates(List.of(affectedId, unchangedId, missingId), List.of(roleId)))
+                .thenReturn(List.of(
+                        new RoleAssignmentCandidate(affectedId, "a@i2i.com", 3, true),
+                        new RoleAssignmentCandidate(unchangedId, "u@i2i.com", 0, false)));
+        when(roleRepository.grantRoles(List.of(affectedId), List.of(roleId))).thenReturn(1);
+
+        BulkRoleResultDto result = roleService.grantRoles(userIds, List.of(roleId));
+
+        assertEquals(1, result.getAffectedUsers());
+        assertEquals(1, result.getUnchangedUsers());
+        assertEquals(1, result.getNotFound());
+        assertEquals(1, result.getAssignmentsChanged());
+        verify(roleRepository, times(1)).incrementTokenVersions(List.of(affectedId));
+        verify(tokenRevocationRegistry, times(1)).recordTokenVersion(affectedId, 4);
+        verify(userDetailsCache, times(1)).evict("a@i2i.com");
+        verify(userDetailsCache, never()).evict("u@i2i.com");
+        verify(outboxRecorder, times(1)).record(DomainEventType.USER_ROLES_GRANTED, null,
+                Map.of("userIds", List.of(affectedId), "roleIds", List.of(roleId)));
+        verify(eventPublisher, times(1)).publishEvent(ChangeEvent.rolesChanged(List.of(affectedId)));
+    }
+
+    @Test
+    void grantRoles_shouldThrowValidation_whenRoleDeleted() {
+        UUID roleId = UUID.randomUUID();
+        roleCatalogue.put(Role.builder().id(roleId).isDeleted(true).build());
+
+        assertThrows(ValidationException.class,
+                () -> roleService.grantRoles(List.of(UUID.randomUUID()), List.of(roleId)));
+        verify(roleRepository, never()).grantRoles(anyCollection(), anyCollection());
+    }
+
+    @Test
+    void revokeRoles_shouldDeleteForAffectedUsersOnly() throws ValidationException, DatabaseException {
+        UUID roleId = UUID.randomUUID();
+        UUID affectedId = UUID.randomUUID();
+        UUID unchangedId = UUID.randomUUID();
+
+        when(roleRepository.findRevokeCandidates(List.of(affectedId, unchangedId), List.of(roleId)))
+                .thenReturn(List.of(
+                        new RoleAssignmentCandidate(affectedId, "a@i2i.com", 0, true),
+                        new RoleAssignmentCandidate(unchangedId, "u@i2i.com", 0, false)));
+        when(roleRepository.revokeRoles(List.of(affectedId), List.of(roleId))).thenReturn(1);
+
+        BulkRoleResultDto result = roleService.revokeRoles(List.of(affectedId, unchangedId), List.of(roleId));
+
+        assertEquals(1, result.getAffectedUsers());
+        assertEquals(1, result.getAssignmentsChanged());
+        verify(userDetailsCache, times(1)).evict("a@i2i.com");
+    }
+
+    @Test
+    void revokeRoles_shouldThrowValidation_whenUserIdsMissing() {
+        assertThrows(ValidationException.class, () -> roleService.revokeRoles(List.of(), List.of(UUID.randomUUID())));
+    }
+
+    @Test
+    void revokeRoles_shouldWrapDatabaseException_whenDeleteFails() {
+        UUID roleId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        when(roleRepository.findRevokeCandidates(List.of(userId), List.of(roleId)))
+                .thenReturn(List.of(new RoleAssignmentCandidate(userId, "a@i2i.com", 0, true)));
+        when(roleRepository.revokeRoles(List.of(userId), List.of(roleId))).thenThrow(new RuntimeException("db"));
+
+        assertThrows(DatabaseException.class, () -> roleService.revokeRoles(List.of(userId), List.of(roleId)));
+        verify(userDetailsCache, never()).evict("a@i2i.com");
+    }
+}
@@ -0,0 +1,32 @@
+package com.i2i.project_management.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyncCutoffTest {
+
+    @Test
+    void current_shouldTrailNowBySettleDelay() {
+        SyncCutoff syncCutoff = new SyncCutoff(35_000, Duration.ofSeconds(30));
+
+        Instant cutoff = syncCutoff.current();
+
+        assertTrue(cutoff.isBefore(Instant.now().minusSeconds(34)));
+        assertTrue(cutoff.isAfter(Instant.now().minusSeconds(36)));
+    }
+
+    @Test
+    void constructor_shouldReject_whenSettleDelayShorterThanTransactionTimeout() {
+        assertThrows(IllegalStateException.class, () -> new SyncCutoff(5_000, Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void constructor_shouldReject_whenTransactionTimeoutUnbounded() {
+        assertThrows(IllegalStateException.class, () -> new SyncCutoff(5_000, Duration.ZERO));
+    }
+}
@@ -0,0 +1,32 @@
+package com.i2i.project_management.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The services throw checked exceptions, which Spring commits on by
+ * default; every write transaction has to opt in to rolling them back.
+ */
+class TransactionalRollbackTest {
+
+    @Test
+    void writeTransactions_shouldRollBackOnCheckedExceptions() {
+        List<String> missing = List.of(ProjectServiceImpl.class, RoleServiceImpl.class, UserServiceImpl.class)
+                .stream()
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods()))
+                .filter(method -> method.isAnnotationPresent(Transactional.class))
+                .filter(method -> !method.getAnnotation(Transactional.class).readOnly())
+                .filter(method -> !Arrays.asList(method.getAnnotation(Transactional.class).rollbackFor())
+                        .contains(Exception.class))
+                .map(Method::toString)
+                .toList();
+
+        assertEquals(List.of(), missing);
+    }
+}
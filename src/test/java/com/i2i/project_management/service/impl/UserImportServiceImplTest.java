@@ -0,0 +1,174 @@
+package com.i2i.project_management.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.i2i.project_management.Dto.UserImportReportDto;
+import com.i2i.project_management.event.DomainEventType;
+import com.i2i.project_management.event.OutboxRecorder;
+import com.i2i.project_management.exception.ValidationException;
+import com.i2i.project_management.model.Role;
+import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.security.RoleCatalogue;
+import com.i2i.project_management.service.UserImportService.Format;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceImplTest {
+
+    private static final String HEADER = "email,firstName,lastName,password,roles\n";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleCatalogue roleCatalogue;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private OutboxRecorder outboxRecorder;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserImportServiceImpl userImportService;
+
+    private final Role employeeRole = Role.builder().id(UUID.randomUUID()).name("EMPLOYEE").isDeleted(false).build();
+
+    private final Role adminRole = Role.builder().id(UUID.randomUUID()).name("ADMIN").isDeleted(false).build();
+
+    @BeforeEach
+    void setUp() {
+        userImportService = new UserImportServiceImpl(userRepository, roleCatalogue, passwordEncoder,
+                new ObjectMapper(), outboxRecorder, transactionManager, 2, 2);
+        when(roleCatalogue.findAll()).thenReturn(List.of(employeeRole, adminRole));
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed-" + invocation.getArgument(0));
+        lenient().when(userRepository.findActiveEmails(any())).thenReturn(Set.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.destroy();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importUsers_shouldWriteCsvInChunks_andResolveRolesOnce() throws ValidationException {
+        String csv = HEADER
+                + "a@i2i.com,A,One,pw-a,\n"
+                + "b@i2i.com,B,Two,pw-b,admin;EMPLOYEE\n"
+                + "c@i2i.com,\"C, Jr\",Three,pw-c,\n";
+
+        UserImportReportDto report = userImportService.importUsers(body(csv), Format.CSV, 0);
+
+        assertTrue(report.isCompleted());
+        assertEquals(3, report.getImported());
+        assertEquals(3, report.getResumeFrom());
+        verify(roleCatalogue, times(1)).findAll();
+        ArgumentCaptor<List<User>> users = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, times(2)).batchInsertUsers(users.capture());
+        verify(userRepository, times(2)).batchInsertUserRoles(anyList());
+        User second = users.getAllValues().get(0).get(1);
+        assertEquals("hashed-pw-b", second.getPassword());
+        assertEquals(Set.of(adminRole, employeeRole), second.getRoles());
+        assertEquals("C, Jr", users.getAllValues().get(1).get(0).getFirstName());
+        verify(outboxRecorder, times(2)).record(eq(DomainEventType.USERS_IMPORTED), isNull(), anyList());
+    }
+
+    @Test
+    void importUsers_shouldSkipExistingEmails() throws ValidationException {
+        when(userRepository.findActiveEmails(any())).thenReturn(Set.of("a@i2i.com"));
+
+        UserImportReportDto report = userImportService.importUsers(
+                body(HEADER + "A@i2i.com,A,One,pw,\nb@i2i.com,B,Two,pw,\n"), Format.CSV, 0);
+
+        assertEquals(1, report.getImported());
+        assertEquals(1, report.getSkipped());
+    }
+
+    @Test
+    void importUsers_shouldReportInvalidRecords_andContinue() throws ValidationException {
+        String ndjson = """
+                {"email":"a@i2i.com","firstName":"A","lastName":"One","password":"pw"}
+                {"email":"b@i2i.com","firstName":"B","lastName":"Two"}
+                {"email":"c@i2i.com","firstName":"C","lastName":"Three","password":"pw","roles":["AUDITOR"]}
+                {"email":"A@i2i.com","firstName":"A","lastName":"Again","password":"pw"}
+                not json
+                {"email":"d@i2i.com","firstName":"D","lastName":"Four","password":"pw","roles":["ADMIN"]}
+                """;
+
+        UserImportReportDto report = userImportService.importUsers(body(ndjson), Format.NDJSON, 0);
+
+        assertTrue(report.isCompleted());
+        assertEquals(6, report.getProcessed());
+        assertEquals(2, report.getImported());
+        assertEquals(4, report.getFailed());
+        assertEquals(List.of(2L, 3L, 4L, 5L), report.getErrors().stream().map(error -> error.getRecord()).toList());
+        assertEquals("Unknown role: AUDITOR", report.getErrors().get(1).getMessage());
+    }
+
+    @Test
+    void importUsers_shouldSkipRecordsUpToResumePoint() throws ValidationException {
+        UserImportReportDto report = userImportService.importUsers(
+                body(HEADER + "a@i2i.com,A,One,pw,\nb@i2i.com,B,Two,pw,\nc@i2i.com,C,Three,pw,\n"), Format.CSV, 2);
+
+        assertEquals(1, report.getProcessed());
+        assertEquals(1, report.getImported());
+        assertEquals(3, report.getResumeFrom());
+    }
+
+    @Test
+    void importUsers_shouldStopAtFailedChunk_andReportResumePoint() throws ValidationException {
+        doThrow(new RuntimeException("db")).doNothing().when(userRepository).batchInsertUsers(anyList());
+        when(userRepository.findActiveEmails(any())).thenReturn(Set.of());
+
+        UserImportReportDto report = userImportService.importUsers(
+                body(HEADER + "a@i2i.com,A,One,pw,\nb@i2i.com,B,Two,pw,\nc@i2i.com,C,Three,pw,\n"), Format.CSV, 0);
+
+        assertFalse(report.isCompleted());
+        assertEquals(0, report.getImported());
+        assertEquals(0, report.getResumeFrom());
+        verify(userRepository, times(1)).batchInsertUsers(anyList());
+    }
+
+    @Test
+    void importUsers_shouldRejectCsvWithoutRequiredColumns() {
+        assertThrows(ValidationException.class,
+                () -> userImportService.importUsers(body("email,firstName\n"), Format.CSV, 0));
+    }
+
+    private InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
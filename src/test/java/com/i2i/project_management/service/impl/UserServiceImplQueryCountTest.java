@@ -0,0 +1,161 @@
+package com.i2i.project_management.service.impl;
+
+import com.i2i.project_management.Dto.ChangeFeedDto;
+import com.i2i.project_management.Dto.UserDto;
+import com.i2i.project_management.event.OutboxRecorder;
+import com.i2i.project_management.exception.DatabaseException;
+import com.i2i.project_management.exception.NotFoundException;
+import com.i2i.project_management.exception.ValidationException;
+import com.i2i.project_management.model.Project;
+import com.i2i.project_management.model.Role;
+import com.i2i.project_management.model.User;
+import com.i2i.project_management.repository.RoleRepository;
+import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.search.SearchIndex;
+import com.i2i.project_management.security.RoleCatalogue;
+import com.i2i.project_management.security.TokenRevocationRegistry;
+import com.i2i.project_management.security.UserDetailsCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Guards the user listing against N+1 loading: the number of SQL
+ * statements must not depend on how many users are listed.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class UserServiceImplQueryCountTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private UserServiceImpl userService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserServiceImpl(userRepository, new RoleCatalogue(roleRepository), mock(PasswordEncoder.class),
+                mock(TokenRevocationRegistry.class), mock(UserDetailsCache.class), new SyncCutoff(Duration.ZERO),
+                mock(OutboxRecorder.class), mock(SearchIndex.class));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void findAllUser_shouldUseSameStatementCount_whenUserCountGrows() throws DatabaseException, NotFoundException {
+        seedUsers(5);
+        long statementsForFewUsers = countStatements();
+
+        seedUsers(50);
+        long statementsForManyUsers = countStatements();
+
+        assertEquals(3, statementsForFewUsers);
+        assertEquals(statementsForFewUsers, statementsForManyUsers);
+    }
+
+    @Test
+    void findAllUser_shouldMapRolesAndProjects() throws DatabaseException, NotFoundException {
+        seedUsers(2);
+        testEntityManager.clear();
+
+        List<UserDto> users = userService.findAllUser();
+
+        assertEquals(2, users.size());
+        users.forEach(user -> {
+            assertEquals(1, user.getRoles().size());
+            assertEquals(1, user.getProjects().size());
+        });
+    }
+
+    @Test
+    void streamAllUsers_shouldUseThreeStatementsPerBatch() throws DatabaseException {
+        seedUsers(UserServiceImpl.STREAM_BATCH_SIZE + 1);
+        testEntityManager.clear();
+        statistics.clear();
+        List<UserDto> users = new ArrayList<>();
+
+        userService.streamAllUsers(users::add);
+
+        assertEquals(UserServiceImpl.STREAM_BATCH_SIZE + 1, users.size());
+        assertEquals(6, statistics.getPrepareStatementCount());
+        users.forEach(user -> assertEquals(1, user.getRoles().size()));
+    }
+
+    @Test
+    void findUserChanges_shouldUseThreeStatementsPerPage_andPageThroughEqualTimestamps()
+            throws ValidationException, DatabaseException {
+        // Seeded in one transaction, so every user has the same updated_at.
+        seedUsers(UserServiceImpl.MAX_PAGE_SIZE + 1);
+        testEntityManager.clear();
+        statistics.clear();
+
+        ChangeFeedDto<UserDto> first = userService.findUserChanges(null, UserServiceImpl.MAX_PAGE_SIZE);
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(UserServiceImpl.MAX_PAGE_SIZE, first.getUpdated().size());
+        assertTrue(first.isHasMore());
+        first.getUpdated().forEach(user -> assertEquals(1, user.getProjects().size()));
+
+        ChangeFeedDto<UserDto> rest = userService.findUserChanges(first.getWatermark(), null);
+
+        assertEquals(1, rest.getUpdated().size());
+        assertFalse(rest.isHasMore());
+        Set<UUID> seen = new HashSet<>();
+        first.getUpdated().forEach(user -> seen.add(user.getId()));
+        assertTrue(seen.add(rest.getUpdated().get(0).getId()));
+    }
+
+    private long countStatements() throws DatabaseException, NotFoundException {
+        testEntityManager.clear();
+        statistics.clear();
+        userService.findAllUser();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seedUsers(int count) {
+        Role role = testEntityManager.persist(Role.builder().name("EMPLOYEE").isDeleted(false).build());
+        Set<User> members = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            members.add(testEntityManager.persist(User.builder()
+                    .email("user" + i + "-" + System.nanoTime() + "@i2i.com")
+                    .password("hash")
+                    .firstName("First")
+                    .lastName("Last")
+                    .roles(Set.of(role))
+                    .build()));
+        }
+        testEntityManager.persist(Project.builder().name("Project").isActive(true).users(members).build());
+        testEntityManager.flush();
+    }
+}
@@ -1,23 +1,41 @@
 package com.i2i.project_management.service.impl;
 
+import com.i2i.project_management.Dto.ChangeFeedDto;
 import com.i2i.project_management.Dto.RoleDto;
+import com.i2i.project_management.Dto.SearchPageDto;
+import com.i2i.project_management.Dto.TombstoneDto;
 import com.i2i.project_management.Dto.UserDto;
 import com.i2i.project_management.Dto.UserUpdateDto;
+import com.i2i.project_management.event.DomainEventType;
+import com.i2i.project_management.event.OutboxRecorder;
 import com.i2i.project_management.exception.DatabaseException;
 import com.i2i.project_management.exception.NotFoundException;
+import com.i2i.project_management.exception.PreconditionFailedException;
 import com.i2i.project_management.exception.ValidationException;
 import com.i2i.project_management.mapper.UserMapper;
 import com.i2i.project_management.model.Role;
 import com.i2i.project_management.model.User;
-import com.i2i.project_management.repository.RoleRepository;
 import com.i2i.project_management.repository.UserRepository;
+import com.i2i.project_management.repository.projection.UserChange;
+import com.i2i.project_management.repository.projection.UserRoleRow;
+import com.i2i.project_management.repository.projection.UserSummary;
+import com.i2i.project_management.search.SearchIndex;
+import com.i2i.project_management.search.SearchQuery;
+import com.i2i.project_management.security.RoleCatalogue;
+import com.i2i.project_management.security.TokenRevocationRegistry;
+import com.i2i.project_management.security.UserDetailsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -25,9 +43,11 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -38,15 +58,24 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private RoleRepository roleRepository;
+    private RoleCatalogue roleCatalogue;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private TokenRevocationRegistry tokenRevocationRegistry;
+    @Mock
+    private UserDetailsCache userDetailsCache;
+    @Mock
+    private OutboxRecorder outboxRecorder;
+    @Mock
+    private SearchIndex searchIndex;
 
     private UserServiceImpl userService;
 
     @BeforeEach
     void setUp() {
-        userService = new UserServiceImpl(userRepository, roleRepository, passwordEncoder);
+        userService = new UserServiceImpl(userRepository, roleCatalogue, passwordEncoder, tokenRevocationRegistry,
+                userDetailsCache, new SyncCutoff(Duration.ZERO), outboxRecorder, searchIndex);
     }
 
     @Test
@@ -62,7 +91,7 @@ class UserServiceImplTest {
         request.setRoles(List.of(roleDto));
 
         Role role = Role.builder().id(roleDto.getId()).isDeleted(false).build();
-        when(roleRepository.findAllById(List.of(roleDto.getId()))).thenReturn(List.of(role));
+        when(roleCatalogue.findAllById(List.of(roleDto.getId()))).thenReturn(List.of(role));
         when(passwordEncoder.encode("Secret1!")).thenReturn("hashed");
         when(userRepository.save(any(User.class))).thenReturn(User.builder().id(UUID.randomUUID()).build());
 
@@ -73,6 +102,7 @@ class UserServiceImplTest {
         assertNotNull(result);
         verify(passwordEncoder, times(1)).encode("Secret1!");
         verify(userRepository, times(1)).save(any(User.class));
+        verify(outboxRecorder, times(1)).record(DomainEventType.USER_CREATED, result.getId(), result);
     }
 
     @Test
@@ -84,14 +114,14 @@ class UserServiceImplTest {
         request.setPassword("Secret1!");
 
         Role defaultRole = Role.builder().id(UUID.randomUUID()).isDeleted(false).build();
-        when(roleRepository.findRoleByName("EMPLOYEE")).thenReturn(Optional.of(defaultRole));
+        when(roleCatalogue.findByName("EMPLOYEE")).thenReturn(Optional.of(defaultRole));
         when(passwordEncoder.encode("Secret1!")).thenReturn("hashed");
         when(userRepository.save(any(User.class))).thenReturn(User.builder().id(UUID.randomUUID()).build());
 
         UserDto result = userService.createUser(request);
 
         assertNotNull(result);
-        verify(roleRepository, times(1)).findRoleByName("EMPLOYEE");
+        verify(roleCatalogue, times(1)).findByName("EMPLOYEE");
     }
 
     @Test
@@ -109,24 +139,50 @@ class UserServiceImplTest {
     }
 
     @Test
-    void updateUser_shouldPersistChanges_whenValid() throws ValidationException, NotFoundException {
+    void updateUser_shouldPersistChanges_whenValid()
+            throws ValidationException, NotFoundException, PreconditionFailedException {
         UUID userId = UUID.randomUUID();
         UserUpdateDto updateDto = new UserUpdateDto();
         updateDto.setFirstName("New");
 
-        User user = User.builder().id(userId).build();
+        User user = User.builder().id(userId).email("user@i2i.com").build();
         when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
-        when(userRepository.save(user)).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
 
-        UserDto result = userService.updateUser(userId, updateDto);
+        UserDto result = userService.updateUser(userId, updateDto, null);
 
         assertEquals(userId, result.getId());
-        verify(userRepository, times(1)).save(user);
+        verify(userRepository, times(1)).saveAndFlush(user);
+        verify(userDetailsCache, times(1)).evict("user@i2i.com");
+    }
+
+    @Test
+    void updateUser_shouldEvictCachedDetailsOnlyAfterCommit()
+            throws ValidationException, NotFoundException, PreconditionFailedException {
+        UUID userId = UUID.randomUUID();
+        UserUpdateDto updateDto = new UserUpdateDto();
+        updateDto.setFirstName("New");
+
+        User user = User.builder().id(userId).email("user@i2i.com").build();
+        when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.updateUser(userId, updateDto, null);
+            verify(userDetailsCache, never()).evict("user@i2i.com");
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(userDetailsCache, times(1)).evict("user@i2i.com");
     }
 
     @Test
     void updateUser_shouldThrowValidation_whenPayloadNull() {
-        assertThrows(ValidationException.class, () -> userService.updateUser(UUID.randomUUID(), null));
+        assertThrows(ValidationException.class, () -> userService.updateUser(UUID.randomUUID(), null, null));
     }
 
     @Test
@@ -134,7 +190,30 @@ class UserServiceImplTest {
         UUID userId = UUID.randomUUID();
         when(userRepository.findUserById(userId)).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> userService.updateUser(userId, new UserUpdateDto()));
+        assertThrows(NotFoundException.class, () -> userService.updateUser(userId, new UserUpdateDto(), null));
+    }
+
+    @Test
+    void updateUser_shouldThrowPreconditionFailed_whenVersionDiffers() {
+        UUID userId = UUID.randomUUID();
+        UserUpdateDto updateDto = new UserUpdateDto();
+        updateDto.setFirstName("New");
+        User user = User.builder().id(userId).email("user@i2i.com").version(5).build();
+        when(userRepository.findUserById(userId)).thenReturn(Optional.of(user));
+
+        assertThrows(PreconditionFailedException.class, () -> userService.updateUser(userId, updateDto, List.of(4L)));
+        verify(userRepository, times(0)).saveAndFlush(any());
+        assertNull(user.getFirstName());
+    }
+
+    @Test
+    void findUserVersionById_shouldReturnVersion_withoutLoadingUser()
+            throws ValidationException, NotFoundException, DatabaseException {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.findVersionById(userId)).thenReturn(Optional.of(7L));
+
+        assertEquals(7L, userService.findUserVersionById(userId));
+        verify(userRepository, times(0)).findUserById(any());
     }
 
     @Test
@@ -164,44 +243,165 @@ class UserServiceImplTest {
 
     @Test
     void findAllUser_shouldReturnDtos_whenUsersPresent() throws DatabaseException, NotFoundException {
-        User user = User.builder().id(UUID.randomUUID()).build();
-        when(userRepository.findAllUsers()).thenReturn(List.of(user));
+        UUID userId = UUID.randomUUID();
+        UserSummary user = mock(UserSummary.class);
+        when(user.getId()).thenReturn(userId);
+        UserRoleRow role = mock(UserRoleRow.class);
+        when(role.getUserId()).thenReturn(userId);
+        when(role.getName()).thenReturn("EMPLOYEE");
+        when(userRepository.findAllUserSummaries()).thenReturn(List.of(user));
+        when(userRepository.findAllUserRoles()).thenReturn(List.of(role));
+        when(userRepository.findAllUserProjects()).thenReturn(List.of());
 
         List<UserDto> result = userService.findAllUser();
 
         assertEquals(1, result.size());
-        verify(userRepository, times(1)).findAllUsers();
+        assertEquals("EMPLOYEE", result.get(0).getRoles().get(0).getName());
+        assertEquals(List.of(), result.get(0).getProjects());
+        verify(userRepository, times(1)).findAllUserSummaries();
     }
 
     @Test
     void findAllUser_shouldThrowNotFound_whenEmpty() {
-        when(userRepository.findAllUsers()).thenReturn(List.of());
+        when(userRepository.findAllUserSummaries()).thenReturn(List.of());
 
         assertThrows(NotFoundException.class, () -> userService.findAllUser());
     }
 
     @Test
     void findAllUser_shouldWrapDatabaseException_whenRepositoryFails() {
-        when(userRepository.findAllUsers()).thenThrow(new RuntimeException("db"));
+        when(userRepository.findAllUserSummaries()).thenThrow(new RuntimeException("db"));
 
         assertThrows(DatabaseException.class, () -> userService.findAllUser());
     }
 
+    @Test
+    void searchUsers_shouldKeepRankOrder_andReportNextPage() throws ValidationException, DatabaseException {
+        List<UserDto> found = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            UserDto user = new UserDto();
+            user.setId(UUID.randomUUID());
+            found.add(user);
+        }
+        when(searchIndex.searchUsers(new SearchQuery("jane:* & doe:*", "jane doe"), 0, 3)).thenReturn(found);
+
+        SearchPageDto<UserDto> page = userService.searchUsers("jane.doe", null, 2);
+
+        assertEquals(found.subList(0, 2), page.getItems());
+        assertEquals(true, page.isHasNext());
+    }
+
+    @Test
+    void searchUsers_shouldWrapDatabaseException_whenIndexFails() throws ValidationException {
+        when(searchIndex.searchUsers(SearchQuery.parse("jane"), 0, 51)).thenThrow(new RuntimeException("db"));
+
+        assertThrows(DatabaseException.class, () -> userService.searchUsers("jane", null, null));
+    }
+
+    @Test
+    void searchUsers_shouldThrowValidation_whenTextBlank() {
+        assertThrows(ValidationException.class, () -> userService.searchUsers("  ", null, null));
+    }
+
+    @Test
+    void streamAllUsers_shouldLoadRolesAndProjectsPerBatch() throws DatabaseException {
+        UUID userId = UUID.randomUUID();
+        UserSummary user = mock(UserSummary.class);
+        when(user.getId()).thenReturn(userId);
+        UserRoleRow role = mock(UserRoleRow.class);
+        when(role.getUserId()).thenReturn(userId);
+        when(role.getName()).thenReturn("EMPLOYEE");
+        when(userRepository.findFirstUserSummariesPage(any())).thenReturn(List.of(user));
+        when(userRepository.findUserRoles(List.of(userId))).thenReturn(List.of(role));
+        when(userRepository.findUserProjects(List.of(userId))).thenReturn(List.of());
+        List<UserDto> emitted = new ArrayList<>();
+
+        userService.streamAllUsers(emitted::add);
+
+        assertEquals(1, emitted.size());
+        assertEquals("EMPLOYEE", emitted.get(0).getRoles().get(0).getName());
+        verify(userRepository, times(0)).findUserSummariesPageAfter(any(), any());
+        verify(userRepository, times(0)).findAllUserRoles();
+    }
+
+    @Test
+    void streamAllUsers_shouldWrapDatabaseException_whenRepositoryFails() {
+        when(userRepository.findFirstUserSummariesPage(any())).thenThrow(new RuntimeException("db"));
+
+        assertThrows(DatabaseException.class, () -> userService.streamAllUsers(user -> { }));
+    }
+
+    @Test
+    void findUserChanges_shouldSkipRoleAndProjectQueries_whenPageHoldsOnlyTombstones()
+            throws ValidationException, DatabaseException {
+        UUID userId = UUID.randomUUID();
+        Instant deletedAt = Instant.parse("2026-01-01T00:00:00Z");
+        UserChange change = mock(UserChange.class);
+        when(change.getId()).thenReturn(userId);
+        when(change.isDeleted()).thenReturn(true);
+        when(change.getUpdatedAt()).thenReturn(deletedAt);
+        when(userRepository.findChangedSince(any(), any(), any(), any())).thenReturn(List.of(change));
+
+        ChangeFeedDto<UserDto> page = userService.findUserChanges(null, null);
+
+        assertEquals(List.of(), page.getUpdated());
+        assertEquals(List.of(new TombstoneDto(userId, deletedAt)), page.getDeleted());
+        assertEquals(new SyncWatermark(deletedAt, userId).encode(), page.getWatermark());
+        verify(userRepository, times(0)).findUserRoles(any());
+        verify(userRepository, times(0)).findUserProjects(any());
+    }
+
     @Test
     void deleteUser_shouldInvokeRepository() throws DatabaseException {
         UUID userId = UUID.randomUUID();
+        when(userRepository.deleteEmployee(userId)).thenReturn(1);
 
         userService.deleteUser(userId);
 
         verify(userRepository, times(1)).deleteEmployee(userId);
+        verify(tokenRevocationRegistry, times(1)).revokeAllTokens(userId);
+        verify(userDetailsCache, times(1)).evictUser(userId);
+    }
+
+    @Test
+    void deleteUser_shouldRevokeTokensOnlyAfterCommit() throws DatabaseException {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.deleteEmployee(userId)).thenReturn(1);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.deleteUser(userId);
+            verify(tokenRevocationRegistry, never()).revokeAllTokens(userId);
+            verify(userDetailsCache, never()).evictUser(userId);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(tokenRevocationRegistry, times(1)).revokeAllTokens(userId);
+        verify(userDetailsCache, times(1)).evictUser(userId);
+    }
+
+    @Test
+    void deleteUser_shouldDoNothing_whenAlreadyDeleted() throws DatabaseException {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.deleteEmployee(userId)).thenReturn(0);
+
+        userService.deleteUser(userId);
+
+        verify(outboxRecorder, never()).record(any(), any(), any());
+        verify(tokenRevocationRegistry, never()).revokeAllTokens(userId);
+        verify(userDetailsCache, never()).evictUser(userId);
     }
 
     @Test
     void deleteUser_shouldWrapDatabaseException_whenRepositoryFails() {
         UUID userId = UUID.randomUUID();
-        doThrow(new RuntimeException("db")).when(userRepository).deleteEmployee(userId);
+        when(userRepository.deleteEmployee(userId)).thenThrow(new RuntimeException("db"));
 
         assertThrows(DatabaseException.class, () -> userService.deleteUser(userId));
+        verify(tokenRevocationRegistry, times(0)).revokeAllTokens(userId);
     }
 
     @Test
@@ -219,6 +419,7 @@ class UserServiceImplTest {
 
         assertNotNull(result);
         verify(userRepository, times(1)).save(user);
+        verify(userDetailsCache, times(1)).evict("user@i2i.com");
     }
 
     @Test